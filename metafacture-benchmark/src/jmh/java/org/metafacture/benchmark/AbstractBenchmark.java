@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class for the module benchmarks. Each benchmark processes the
+ * complete fixture data (see {@link Fixtures}) once per operation. The
+ * fixture data and the modules under test are prepared outside of the
+ * measurement; the output of the modules is consumed by a
+ * {@link BlackholeReceiver}.
+ */
+@Fork(2)
+@Warmup(iterations = 2)
+@Measurement(iterations = 4) // checkstyle-disable-line MagicNumber
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public abstract class AbstractBenchmark {
+
+    private Blackhole blackhole;
+
+    /**
+     * Creates an instance of {@link AbstractBenchmark}.
+     */
+    public AbstractBenchmark() {
+    }
+
+    /**
+     * Performs the setup.
+     *
+     * @param newBlackhole the blackhole consuming the output
+     */
+    @Setup
+    public void setup(final Blackhole newBlackhole) {
+        blackhole = newBlackhole;
+        prepare();
+    }
+
+    /**
+     * Performs the benchmark.
+     */
+    @Benchmark
+    public void benchmark() {
+        workload();
+    }
+
+    protected abstract void prepare();
+
+    protected abstract void workload();
+
+    protected <T> BlackholeReceiver<T> createReceiver() {
+        return new BlackholeReceiver<>(blackhole);
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.benchmark;
+
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.StreamReceiver;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Consumes objects and stream events so that the JIT compiler cannot
+ * eliminate the code producing them.
+ *
+ * @param <T> object type
+ */
+public final class BlackholeReceiver<T> implements ObjectReceiver<T>, StreamReceiver {
+
+    private final Blackhole blackhole;
+
+    /**
+     * Creates an instance of {@link BlackholeReceiver}.
+     *
+     * @param blackhole the blackhole consuming the output
+     */
+    public BlackholeReceiver(final Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void process(final T obj) {
+        blackhole.consume(obj);
+    }
+
+    @Override
+    public void startRecord(final String identifier) {
+        blackhole.consume(identifier);
+    }
+
+    @Override
+    public void endRecord() {
+        // Nothing to consume
+    }
+
+    @Override
+    public void startEntity(final String name) {
+        blackhole.consume(name);
+    }
+
+    @Override
+    public void endEntity() {
+        // Nothing to consume
+    }
+
+    @Override
+    public void literal(final String name, final String value) {
+        blackhole.consume(name);
+        blackhole.consume(value);
+    }
+
+    @Override
+    public void resetStream() {
+        // Nothing to reset
+    }
+
+    @Override
+    public void closeStream() {
+        // Nothing to close
+    }
+
+}
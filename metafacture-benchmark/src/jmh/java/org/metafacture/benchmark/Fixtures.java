@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.benchmark;
+
+import org.metafacture.biblio.marc21.Marc21Decoder;
+import org.metafacture.biblio.marc21.MarcXmlHandler;
+import org.metafacture.biblio.pica.PicaDecoder;
+import org.metafacture.csv.CsvEncoder;
+import org.metafacture.flowcontrol.StreamBuffer;
+import org.metafacture.formeta.FormetaEncoder;
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.StreamPipe;
+import org.metafacture.framework.helpers.DefaultObjectReceiver;
+import org.metafacture.framework.objects.Triple;
+import org.metafacture.json.JsonEncoder;
+import org.metafacture.triples.StreamToTriples;
+import org.metafacture.xml.XmlDecoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Provides the fixture data shared by the benchmarks. The raw records are
+ * read from the resources of this package; all other formats are derived
+ * from them with the encoders of the respective modules, so that every
+ * benchmark works on the same bibliographic records.
+ */
+public final class Fixtures {
+
+    /**
+     * The resource path of the morph definitions.
+     */
+    public static final String MORPH = "org/metafacture/benchmark/morph/%s.xml";
+
+    private static final String INPUT = "/org/metafacture/benchmark/input/records.";
+
+    private Fixtures() {
+        // no instances allowed
+    }
+
+    /**
+     * Gets the MARC 21 records, one record per string.
+     *
+     * @return the MARC 21 records
+     */
+    public static List<String> marc21Records() {
+        return lines("marc21");
+    }
+
+    /**
+     * Gets the PICA+ records, one record per string.
+     *
+     * @return the PICA+ records
+     */
+    public static List<String> picaRecords() {
+        return lines("pica");
+    }
+
+    /**
+     * Gets a MARCXML collection.
+     *
+     * @return the MARCXML document
+     */
+    public static String marcXml() {
+        return read("marcxml");
+    }
+
+    /**
+     * Gets the stream events of the MARC 21 records.
+     *
+     * @return a buffer for replaying the events
+     */
+    public static StreamBuffer marc21Events() {
+        final StreamBuffer buffer = new StreamBuffer();
+        final Marc21Decoder decoder = new Marc21Decoder();
+        decoder.setReceiver(buffer);
+        marc21Records().forEach(decoder::process);
+        return buffer;
+    }
+
+    /**
+     * Gets the stream events of the PICA+ records.
+     *
+     * @return a buffer for replaying the events
+     */
+    public static StreamBuffer picaEvents() {
+        final StreamBuffer buffer = new StreamBuffer();
+        final PicaDecoder decoder = new PicaDecoder();
+        decoder.setReceiver(buffer);
+        picaRecords().forEach(decoder::process);
+        return buffer;
+    }
+
+    /**
+     * Gets the stream events of the MARCXML records.
+     *
+     * @return a buffer for replaying the events
+     */
+    public static StreamBuffer marcXmlEvents() {
+        final StreamBuffer buffer = new StreamBuffer();
+        final XmlDecoder decoder = new XmlDecoder();
+        decoder
+            .setReceiver(new MarcXmlHandler())
+            .setReceiver(buffer);
+        decoder.process(new StringReader(marcXml()));
+        return buffer;
+    }
+
+    /**
+     * Gets the MARC 21 records encoded as JSON, one record per string.
+     *
+     * @return the JSON records
+     */
+    public static List<String> jsonRecords() {
+        return encode(marc21Events(), new JsonEncoder());
+    }
+
+    /**
+     * Gets the MARC 21 records encoded as Formeta, one record per string.
+     *
+     * @return the Formeta records
+     */
+    public static List<String> formetaRecords() {
+        return encode(marc21Events(), new FormetaEncoder());
+    }
+
+    /**
+     * Gets the values of the PICA+ records encoded as CSV, one record per
+     * string.
+     *
+     * @return the CSV records
+     */
+    public static List<String> csvRecords() {
+        return encode(picaEvents(), new CsvEncoder());
+    }
+
+    /**
+     * Gets the PICA+ records as triples.
+     *
+     * @return the triples
+     */
+    public static List<Triple> triples() {
+        final StreamBuffer buffer = picaEvents();
+        final List<Triple> triples = new ArrayList<>();
+        buffer
+            .setReceiver(new StreamToTriples())
+            .setReceiver(collector(triples));
+        buffer.replay();
+        return triples;
+    }
+
+    private static List<String> encode(final StreamBuffer buffer, final StreamPipe<ObjectReceiver<String>> encoder) {
+        final List<String> records = new ArrayList<>();
+        buffer
+            .setReceiver(encoder)
+            .setReceiver(collector(records));
+        buffer.replay();
+        encoder.closeStream();
+        return records;
+    }
+
+    private static <T> ObjectReceiver<T> collector(final List<T> list) {
+        return new DefaultObjectReceiver<T>() {
+            @Override
+            public void process(final T obj) {
+                list.add(obj);
+            }
+        };
+    }
+
+    private static List<String> lines(final String format) {
+        return Arrays.asList(read(format).split("\n"));
+    }
+
+    private static String read(final String format) {
+        try (InputStream stream = Fixtures.class.getResourceAsStream(INPUT + format)) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.benchmark;
+
+import org.metafacture.flowcontrol.StreamBuffer;
+import org.metafacture.json.JsonEncoder;
+
+/**
+ * Benchmarks {@link JsonEncoder}.
+ */
+public class JsonEncoderBenchmark extends AbstractBenchmark {
+
+    private StreamBuffer events;
+
+    /**
+     * Creates an instance of {@link JsonEncoderBenchmark}.
+     */
+    public JsonEncoderBenchmark() {
+    }
+
+    @Override
+    protected void prepare() {
+        events = Fixtures.marc21Events();
+        events
+            .setReceiver(new JsonEncoder())
+            .setReceiver(createReceiver());
+    }
+
+    @Override
+    protected void workload() {
+        events.replay();
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.benchmark;
+
+import org.metafacture.biblio.marc21.Marc21Decoder;
+
+import java.util.List;
+
+/**
+ * Benchmarks {@link Marc21Decoder}.
+ */
+public class Marc21DecoderBenchmark extends AbstractBenchmark {
+
+    private List<String> records;
+    private Marc21Decoder decoder;
+
+    /**
+     * Creates an instance of {@link Marc21DecoderBenchmark}.
+     */
+    public Marc21DecoderBenchmark() {
+    }
+
+    @Override
+    protected void prepare() {
+        records = Fixtures.marc21Records();
+
+        decoder = new Marc21Decoder();
+        decoder.setReceiver(createReceiver());
+    }
+
+    @Override
+    protected void workload() {
+        for (final String record : records) {
+            decoder.process(record);
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.benchmark;
+
+import org.metafacture.biblio.marc21.MarcXmlHandler;
+import org.metafacture.xml.XmlDecoder;
+
+import java.io.StringReader;
+
+/**
+ * Benchmarks {@link XmlDecoder} together with {@link MarcXmlHandler}.
+ */
+public class MarcXmlBenchmark extends AbstractBenchmark {
+
+    private String document;
+    private XmlDecoder decoder;
+
+    /**
+     * Creates an instance of {@link MarcXmlBenchmark}.
+     */
+    public MarcXmlBenchmark() {
+    }
+
+    @Override
+    protected void prepare() {
+        document = Fixtures.marcXml();
+
+        decoder = new XmlDecoder();
+        decoder
+            .setReceiver(new MarcXmlHandler())
+            .setReceiver(createReceiver());
+    }
+
+    @Override
+    protected void workload() {
+        decoder.process(new StringReader(document));
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.benchmark;
+
+import org.metafacture.flowcontrol.StreamBuffer;
+import org.metafacture.metamorph.Metamorph;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks {@link Metamorph} with representative morph definitions. The
+ * morph definitions for MARC 21 process the MARC 21 records, all others
+ * process the PICA+ records.
+ */
+public class MetamorphBenchmark extends AbstractBenchmark {
+
+    private static final String MARC21_PREFIX = "marc21-";
+
+    @Param({ // checkstyle-disable-line AnnotationUseStyle
+        "format-gnd",
+        "gnd-pref-label",
+        "marc21-title"
+    })
+    private String morph;
+
+    private StreamBuffer events;
+
+    /**
+     * Creates an instance of {@link MetamorphBenchmark}.
+     */
+    public MetamorphBenchmark() {
+    }
+
+    @Override
+    protected void prepare() {
+        events = morph.startsWith(MARC21_PREFIX) ? Fixtures.marc21Events() : Fixtures.picaEvents();
+        events
+            .setReceiver(new Metamorph(String.format(Fixtures.MORPH, morph)))
+            .setReceiver(createReceiver());
+    }
+
+    @Override
+    protected void workload() {
+        events.replay();
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.benchmark;
+
+import org.metafacture.biblio.pica.PicaDecoder;
+
+import java.util.List;
+
+/**
+ * Benchmarks {@link PicaDecoder}.
+ */
+public class PicaDecoderBenchmark extends AbstractBenchmark {
+
+    private List<String> records;
+    private PicaDecoder decoder;
+
+    /**
+     * Creates an instance of {@link PicaDecoderBenchmark}.
+     */
+    public PicaDecoderBenchmark() {
+    }
+
+    @Override
+    protected void prepare() {
+        records = Fixtures.picaRecords();
+
+        decoder = new PicaDecoder();
+        decoder.setReceiver(createReceiver());
+    }
+
+    @Override
+    protected void workload() {
+        for (final String record : records) {
+            decoder.process(record);
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.benchmark;
+
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.objects.Triple;
+import org.metafacture.triples.AbstractTripleSort;
+import org.metafacture.triples.AbstractTripleSort.Compare;
+import org.metafacture.triples.TripleSort;
+
+import org.openjdk.jmh.annotations.Param;
+
+import java.util.List;
+
+/**
+ * Benchmarks {@link AbstractTripleSort} by means of {@link TripleSort}. The
+ * triples are sorted in memory; each operation sorts all triples of the
+ * PICA+ records.
+ */
+public class TripleSortBenchmark extends AbstractBenchmark {
+
+    @Param({ // checkstyle-disable-line AnnotationUseStyle
+        "SUBJECT",
+        "OBJECT"
+    })
+    private Compare compare;
+
+    private List<Triple> triples;
+    private ObjectReceiver<Triple> receiver;
+
+    /**
+     * Creates an instance of {@link TripleSortBenchmark}.
+     */
+    public TripleSortBenchmark() {
+    }
+
+    @Override
+    protected void prepare() {
+        triples = Fixtures.triples();
+        receiver = createReceiver();
+    }
+
+    @Override
+    protected void workload() {
+        final TripleSort tripleSort = new TripleSort();
+        tripleSort.setBy(compare);
+        tripleSort.setReceiver(receiver);
+
+        for (final Triple triple : triples) {
+            tripleSort.process(triple);
+        }
+        tripleSort.closeStream();
+    }
+
+}
@@ -3,6 +3,7 @@
 
 package org.metafacture.biblio;
 
+import org.metafacture.commons.ResourceUtil;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.MetafactureException;
 import org.metafacture.framework.ObjectReceiver;
@@ -10,33 +11,72 @@
 import org.metafacture.framework.annotations.In;
 import org.metafacture.framework.annotations.Out;
 import org.metafacture.framework.helpers.DefaultObjectPipe;
+import org.metafacture.io.HttpOpener;
 
-import org.oclc.oai.harvester2.app.RawWrite;
-import org.xml.sax.SAXException;
-
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPathException;
+import java.io.StringReader;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
- * Opens an OAI-PMH stream and passes a reader to the receiver.
+ * Opens an OAI-PMH stream and passes a reader to the receiver. Harvests the
+ * records with {@code ListRecords} requests and passes each response on as
+ * soon as it has arrived. While the receiver processes a response, the next
+ * responses are retrieved in the background (see {@link #setPrefetch(int)}).
+ * <p>
+ * If a {@link #setCheckpointFile(String) checkpoint file} is set, the
+ * harvest can be resumed after an interruption and later harvests can be
+ * incremental.
  *
  * @author Pascal Christoph (dr0i)
  *
  */
-@Description("Opens an OAI-PMH stream and passes a reader to the receiver. Mandatory arguments are: BASE_URL, DATE_FROM, DATE_UNTIL, METADATA_PREFIX, SET_SPEC .")
+@Description(// checkstyle-disable-line ClassDataAbstractionCoupling|ClassFanOutComplexity
+        "Opens an OAI-PMH stream and passes a reader for each ListRecords response to the receiver. Mandatory arguments are: " +
+        "BASE_URL, METADATA_PREFIX. Optional arguments are: DATE_FROM, DATE_UNTIL, SET_SPEC, PREFETCH (number of responses " +
+        "retrieved ahead of the receiver, default: 1), RETRIES (default: 3) and CHECKPOINT_FILE (file to resume interrupted " +
+        "harvests from and to take the DATE_FROM of incremental harvests from).")
 @In(String.class)
 @Out(java.io.Reader.class)
 @FluxCommand("open-oaipmh")
 public final class OaiPmhOpener extends DefaultObjectPipe<String, ObjectReceiver<Reader>> {
 
-    private String encoding = "UTF-8";
+    public static final int DEFAULT_PREFETCH = 1;
+    public static final int DEFAULT_RETRIES = 3;
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    private static final String OAI_NAMESPACE = "http://www.openarchives.org/OAI/2.0/";
+
+    private static final String VERB_PARAMETER = "?verb=ListRecords";
+    private static final String NO_RECORDS_MATCH = "noRecordsMatch";
 
-    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private static final String FROM_PROPERTY = "from";
+    private static final String RESPONSE_DATE_PROPERTY = "responseDate";
+    private static final String RESUMPTION_TOKEN_PROPERTY = "resumptionToken";
+
+    private static final int DATE_LENGTH = "YYYY-MM-DD".length();
+
+    private final HttpOpener httpOpener = new HttpOpener();
 
     private String dateFrom;
 
@@ -46,19 +86,26 @@ public final class OaiPmhOpener extends DefaultObjectPipe<String, ObjectReceiver
 
     private String metadataPrefix;
 
+    private String checkpointFile;
+
+    private int prefetch = DEFAULT_PREFETCH;
+
     /**
      * Default constructor
      */
     public OaiPmhOpener() {
+        setRetries(DEFAULT_RETRIES);
     }
 
     /**
-     * Sets the encoding to use. The default setting is UTF-8.
+     * Sets the encoding to use. The default setting is UTF-8. The encoding
+     * is requested from the repository; the responses are decoded with the
+     * charset given by the repository.
      *
      * @param encoding new default encoding
      */
     public void setEncoding(final String encoding) {
-        this.encoding = encoding;
+        httpOpener.setAcceptCharset(encoding);
     }
 
     /**
@@ -98,33 +145,370 @@ public void setSetSpec(final String setSpec) {
         this.setSpec = setSpec;
     }
 
+    /**
+     * Sets the number of responses which are retrieved ahead of the receiver.
+     * With 0, each response is retrieved after the previous response has been
+     * processed. The default setting is {@value DEFAULT_PREFETCH}.
+     *
+     * @param prefetch the maximum number of responses waiting for the receiver
+     */
+    public void setPrefetch(final int prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Sets the number of times a request is repeated if the repository
+     * responds with status 503 (e.g. with a {@code Retry-After} header) or
+     * another server error. The default setting is {@value DEFAULT_RETRIES}.
+     *
+     * @param retries the maximum number of retries
+     */
+    public void setRetries(final int retries) {
+        httpOpener.setRetries(retries);
+    }
+
+    /**
+     * Sets the file which records the progress of the harvest. After each
+     * response has been processed by the receiver, the resumption token of
+     * the next response is saved, so that an interrupted harvest continues
+     * with this response. After the harvest has completed, the date of its
+     * first response is saved and used as the beginning of the next harvest
+     * unless {@link #setDateFrom(String) dateFrom} is set. The date has the
+     * form YYYY-MM-DD, which all repositories support; records changed on
+     * that day are harvested again.
+     *
+     * @param checkpointFile the path of the checkpoint file
+     */
+    public void setCheckpointFile(final String checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
     @Override
     public void process(final String baseUrl) {
+        final Properties checkpoint = readCheckpoint();
+        final String resumptionToken = checkpoint.getProperty(RESUMPTION_TOKEN_PROPERTY);
+
+        final String url = resumptionToken != null ? getResumptionUrl(baseUrl, resumptionToken) :
+            getListRecordsUrl(baseUrl, dateFrom != null ? dateFrom : checkpoint.getProperty(FROM_PROPERTY));
+
+        final Consumer<Response> consumer = new Consumer<Response>() {
+            private String harvestDate = resumptionToken != null ?
+                checkpoint.getProperty(RESPONSE_DATE_PROPERTY) : null;
+
+            @Override
+            public void accept(final Response response) {
+                if (harvestDate == null) {
+                    harvestDate = response.responseDate;
+                }
+                if (response.body != null) {
+                    passOn(response.body);
+                }
+                if (checkpointFile != null) {
+                    updateCheckpoint(checkpoint, harvestDate, response.resumptionToken);
+                }
+            }
+        };
+
+        if (prefetch > 0) {
+            harvestPrefetching(baseUrl, url, consumer);
+        }
+        else {
+            harvest(baseUrl, url, consumer);
+        }
+    }
+
+    private String getListRecordsUrl(final String baseUrl, final String from) {
+        final StringBuilder builder = new StringBuilder(baseUrl).append(VERB_PARAMETER);
+        appendParameter(builder, "metadataPrefix", metadataPrefix);
+        appendParameter(builder, FROM_PROPERTY, from);
+        appendParameter(builder, "until", dateUntil);
+        appendParameter(builder, "set", setSpec);
+        return builder.toString();
+    }
+
+    private String getResumptionUrl(final String baseUrl, final String resumptionToken) {
+        final StringBuilder builder = new StringBuilder(baseUrl).append(VERB_PARAMETER);
+        appendParameter(builder, RESUMPTION_TOKEN_PROPERTY, resumptionToken);
+        return builder.toString();
+    }
+
+    private void appendParameter(final StringBuilder builder, final String name, final String value) {
+        if (value != null) {
+            builder.append('&').append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void harvest(final String baseUrl, final String firstUrl, final Consumer<Response> consumer) {
+        String url = firstUrl;
+
+        while (url != null) {
+            final Response response = retrieve(url);
+            consumer.accept(response);
+
+            url = response.resumptionToken != null ? getResumptionUrl(baseUrl, response.resumptionToken) : null;
+        }
+    }
+
+    private void harvestPrefetching(final String baseUrl, final String firstUrl, final Consumer<Response> consumer) {
+        final BlockingQueue<Future<Response>> responses = new ArrayBlockingQueue<>(prefetch);
+
+        final Thread prefetcher = new Thread(() -> {
+            try {
+                harvest(baseUrl, firstUrl, r -> put(responses, CompletableFuture.completedFuture(r)));
+                // A null response marks the end of the harvest
+                responses.put(CompletableFuture.completedFuture(null));
+            }
+            catch (final InterruptedException e) {
+                // The receiver failed
+            }
+            catch (final RuntimeException e) { // checkstyle-disable-line IllegalCatch
+                final CompletableFuture<Response> failure = new CompletableFuture<>();
+                failure.completeExceptionally(e);
+                try {
+                    responses.put(failure);
+                }
+                catch (final InterruptedException ie) {
+                    // The receiver failed
+                }
+            }
+        }, "oaipmh-prefetch");
+
+        prefetcher.setDaemon(true);
+        prefetcher.start();
 
         try {
-            RawWrite.run(baseUrl, this.dateFrom, this.dateUntil, this.metadataPrefix, this.setSpec, outputStream);
+            Response response;
+            while ((response = take(responses)) != null) {
+                consumer.accept(response);
+            }
+        }
+        finally {
+            prefetcher.interrupt();
+        }
+    }
+
+    private Response retrieve(final String url) {
+        final AtomicReference<String> body = new AtomicReference<>();
+
+        final boolean successful = httpOpener.open(url, r -> {
+            try {
+                body.set(ResourceUtil.readAll(r));
+            }
+            catch (final IOException e) {
+                throw new MetafactureException(e);
+            }
+        });
+
+        if (!successful) {
+            throw new MetafactureException("OAI-PMH request failed: " + url + "\n" + body.get());
+        }
+
+        return scan(body.get());
+    }
+
+    /**
+     * Scans a response for the elements which are needed for harvesting,
+     * without building a document tree. Only protocol elements are
+     * considered: {@code responseDate} and {@code error} as children of
+     * {@code OAI-PMH}, and {@code resumptionToken} as child of
+     * {@code ListRecords}. Elements of the same name within records are
+     * ignored.
+     */
+    private Response scan(final String body) {
+        String responseDate = null;
+        String resumptionToken = null;
+        String errorCode = null;
+        String errorMessage = null;
+
+        try {
+            final XMLStreamReader xmlReader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(body));
+            try {
+                xmlReader.nextTag();
+                while (nextChild(xmlReader)) {
+                    switch (getProtocolName(xmlReader)) {
+                        case RESPONSE_DATE_PROPERTY:
+                            responseDate = xmlReader.getElementText().trim();
+                            break;
+                        case "error":
+                            errorCode = xmlReader.getAttributeValue(null, "code");
+                            errorMessage = xmlReader.getElementText().trim();
+                            break;
+                        case "ListRecords":
+                            resumptionToken = scanListRecords(xmlReader);
+                            break;
+                        default:
+                            skipElement(xmlReader);
+                            break;
+                    }
+                }
+            }
+            finally {
+                xmlReader.close();
+            }
+        }
+        catch (final XMLStreamException e) {
+            throw new MetafactureException(e);
+        }
+
+        if (errorCode != null) {
+            if (!NO_RECORDS_MATCH.equals(errorCode)) {
+                throw new MetafactureException("OAI-PMH error " + errorCode + ": " + errorMessage);
+            }
+            return new Response(null, responseDate, null);
+        }
+
+        return new Response(body, responseDate, resumptionToken == null || resumptionToken.isEmpty() ? null : resumptionToken);
+    }
+
+    private static String scanListRecords(final XMLStreamReader xmlReader) throws XMLStreamException {
+        String resumptionToken = null;
+
+        while (nextChild(xmlReader)) {
+            if (RESUMPTION_TOKEN_PROPERTY.equals(getProtocolName(xmlReader))) {
+                resumptionToken = xmlReader.getElementText().trim();
+            }
+            else {
+                skipElement(xmlReader);
+            }
+        }
+
+        return resumptionToken;
+    }
+
+    /**
+     * Moves to the next child of the current element.
+     *
+     * @return false if the end of the current element has been reached
+     */
+    private static boolean nextChild(final XMLStreamReader xmlReader) throws XMLStreamException {
+        while (xmlReader.hasNext()) {
+            final int event = xmlReader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static void skipElement(final XMLStreamReader xmlReader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = xmlReader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                ++depth;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                --depth;
+            }
+        }
+    }
+
+    private static String getProtocolName(final XMLStreamReader xmlReader) {
+        return OAI_NAMESPACE.equals(xmlReader.getNamespaceURI()) ? xmlReader.getLocalName() : "";
+    }
+
+    private void passOn(final String body) {
+        try (Reader reader = new StringReader(body)) {
+            getReceiver().process(reader);
         }
         catch (final IOException e) {
-            e.printStackTrace();
+            throw new MetafactureException(e);
+        }
+    }
+
+    private void put(final BlockingQueue<Future<Response>> responses, final Future<Response> response) {
+        try {
+            responses.put(response);
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
+        }
+    }
+
+    private Response take(final BlockingQueue<Future<Response>> responses) {
+        try {
+            return responses.take().get();
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
         }
-        catch (final ParserConfigurationException e) {
-            e.printStackTrace();
+        catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new MetafactureException(cause);
         }
-        catch (final SAXException e) {
-            e.printStackTrace();
+    }
+
+    private Properties readCheckpoint() {
+        final Properties checkpoint = new Properties();
+
+        if (checkpointFile != null) {
+            final Path path = Paths.get(checkpointFile);
+            if (Files.exists(path)) {
+                try (InputStream in = Files.newInputStream(path)) {
+                    checkpoint.load(in);
+                }
+                catch (final IOException e) {
+                    throw new MetafactureException(e);
+                }
+            }
         }
-        catch (final XPathException e) {
-            e.printStackTrace();
+
+        return checkpoint;
+    }
+
+    private void updateCheckpoint(final Properties checkpoint, final String harvestDate, final String resumptionToken) {
+        if (resumptionToken != null) {
+            checkpoint.setProperty(RESUMPTION_TOKEN_PROPERTY, resumptionToken);
+            if (harvestDate != null) {
+                checkpoint.setProperty(RESPONSE_DATE_PROPERTY, harvestDate);
+            }
         }
-        catch (final NoSuchFieldException e) {
-            e.printStackTrace();
+        else {
+            checkpoint.remove(RESUMPTION_TOKEN_PROPERTY);
+            checkpoint.remove(RESPONSE_DATE_PROPERTY);
+            if (harvestDate != null) {
+                checkpoint.setProperty(FROM_PROPERTY, harvestDate.substring(0, Math.min(DATE_LENGTH, harvestDate.length())));
+            }
         }
+
+        final Path path = Paths.get(checkpointFile).toAbsolutePath();
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
         try {
-            getReceiver().process(
-                    new InputStreamReader(new ByteArrayInputStream(outputStream.toByteArray()), encoding));
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                checkpoint.store(out, "OAI-PMH harvest checkpoint");
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         }
         catch (final IOException e) {
             throw new MetafactureException(e);
         }
     }
+
+    /**
+     * A ListRecords response together with the values needed for harvesting.
+     * The body is null if no records matched the request.
+     */
+    private static final class Response {
+
+        private final String body;
+        private final String responseDate;
+        private final String resumptionToken;
+
+        Response(final String body, final String responseDate, final String resumptionToken) {
+            this.body = body;
+            this.responseDate = responseDate;
+            this.resumptionToken = resumptionToken;
+        }
+
+    }
+
 }
@@ -35,6 +35,8 @@ final class Iso646ByteBuffer {
     private static final int RADIX = 10;
 
     private final byte[] byteArray;
+    private final int offset;
+    private final int length;
 
     private int writePosition;
 
@@ -43,24 +45,41 @@ final class Iso646ByteBuffer {
     }
 
     Iso646ByteBuffer(final byte[] byteArray) {
+        this(byteArray, 0, byteArray.length);
+    }
+
+    /**
+     * Creates a buffer which provides access to a part of a byte array. The
+     * array is not copied. All indices passed to the methods of the buffer are
+     * relative to {@code offset}.
+     *
+     * @param byteArray the array backing the buffer
+     * @param offset    index of the first byte of the buffer in the array
+     * @param length    number of bytes in the buffer
+     */
+    Iso646ByteBuffer(final byte[] byteArray, final int offset, final int length) {
         assert byteArray != null;
+        assert 0 <= offset && 0 <= length && offset + length <= byteArray.length;
         this.byteArray = byteArray;
+        this.offset = offset;
+        this.length = length;
     }
 
     byte[] getByteArray() {
+        assert offset == 0 && length == byteArray.length;
         return byteArray;
     }
 
     int getLength() {
-        return byteArray.length;
+        return length;
     }
 
     int getFreeSpace() {
-        return byteArray.length - writePosition;
+        return length - writePosition;
     }
 
     void setWritePosition(final int writePosition) {
-        assert 0 <= writePosition && writePosition <= byteArray.length;
+        assert 0 <= writePosition && writePosition <= length;
         this.writePosition = writePosition;
     }
 
@@ -81,14 +100,15 @@ int getWritePosition() {
      * none is found to the end of the buffer.
      */
     int distanceTo(final byte byteValue, final int fromIndex) {
-        assert 0 <= fromIndex && fromIndex < byteArray.length;
-        int index = fromIndex;
-        for (; index < byteArray.length; ++index) {
+        assert 0 <= fromIndex && fromIndex < length;
+        final int end = offset + length;
+        int index = offset + fromIndex;
+        for (; index < end; ++index) {
             if (byteValue == byteArray[index]) {
                 break;
             }
         }
-        return index - fromIndex;
+        return index - offset - fromIndex;
     }
 
     /**
@@ -104,14 +124,15 @@ int distanceTo(final byte byteValue, final int fromIndex) {
      * none is found to the end of the buffer.
      */
     int distanceTo(final byte[] bytes, final int fromIndex) {
-        assert 0 <= fromIndex && fromIndex < byteArray.length;
-        int index = fromIndex;
-        for (; index < byteArray.length; ++index) {
+        assert 0 <= fromIndex && fromIndex < length;
+        final int end = offset + length;
+        int index = offset + fromIndex;
+        for (; index < end; ++index) {
             if (containsByte(bytes, byteArray[index])) {
                 break;
             }
         }
-        return index - fromIndex;
+        return index - offset - fromIndex;
     }
 
     private boolean containsByte(final byte[] haystack, final byte needle) {
@@ -128,17 +149,17 @@ private boolean containsByte(final byte[] haystack, final byte needle) {
      * record.
      *
      * @param fromIndex index of the first byte of the string.
-     * @param length number of bytes to include in the string. If zero an empty
-     *               string is returned.
+     * @param stringLength number of bytes to include in the string. If zero an
+     *                     empty string is returned.
      * @param charset used for decoding the byte sequence into characters. It is
      *                callers responsibility to make sure that the selected byte
      *                range contains a valid byte sequence when working with
      *                multi-byte encodings such as UTF-8.
      * @return the string represented by the bytes in the given range
      */
-    String stringAt(final int fromIndex, final int length,
+    String stringAt(final int fromIndex, final int stringLength,
             final Charset charset) {
-        return new String(byteArray, fromIndex, length, charset);
+        return new String(byteArray, offset + fromIndex, stringLength, charset);
     }
 
     /**
@@ -151,18 +172,18 @@ char charAt(final int index) {
         return byteToChar(index);
     }
 
-    char[] charsAt(final int fromIndex, final int length) {
-        assert length >= 0;
-        assert 0 <= fromIndex && (fromIndex + length) <= byteArray.length;
-        final char[] chars = new char[length];
-        for (int i = 0; i < length; ++i) {
+    char[] charsAt(final int fromIndex, final int charsLength) {
+        assert charsLength >= 0;
+        assert 0 <= fromIndex && (fromIndex + charsLength) <= length;
+        final char[] chars = new char[charsLength];
+        for (int i = 0; i < charsLength; ++i) {
             chars[i] = byteToChar(fromIndex + i);
         }
         return chars;
     }
 
     private char byteToChar(final int index) {
-        final byte value = byteArray[index];
+        final byte value = byteArray[offset + index];
         if (value < 0) {
             throw new FormatException("Invalid character code found at index " +
                     index);
@@ -171,7 +192,7 @@ private char byteToChar(final int index) {
     }
 
     byte byteAt(final int index) {
-        return byteArray[index];
+        return byteArray[offset + index];
     }
 
     /**
@@ -193,18 +214,18 @@ int parseIntAt(final int index) {
      * a radix of 10.
      *
      * @param fromIndex position fo the byte range to convert into an integer
-     * @param length number of bytes to include in the range
+     * @param intLength number of bytes to include in the range
      * @return the integer value represented by the characters at the given
      * range in the buffer.
      * @throws NumberFormatException if a non-digit character was encountered or
      *                               an overflow occurred.
      */
-    int parseIntAt(final int fromIndex, final int length) {
-        assert length >= 0;
-        assert 0 <= fromIndex && (fromIndex + length) <= byteArray.length;
+    int parseIntAt(final int fromIndex, final int intLength) {
+        assert intLength >= 0;
+        assert 0 <= fromIndex && (fromIndex + intLength) <= length;
         final int multiplyMax = Integer.MAX_VALUE / RADIX;
         int result = 0;
-        for (int i = 0; i < length; ++i) {
+        for (int i = 0; i < intLength; ++i) {
             if (result > multiplyMax) {
                 throwNumberIsToLargeException(fromIndex);
             }
@@ -219,7 +240,7 @@ int parseIntAt(final int fromIndex, final int length) {
     }
 
     private int byteToDigit(final int index) {
-        final byte digit = byteArray[index];
+        final byte digit = byteArray[offset + index];
         if (digit < Iso646Constants.ZERO || Iso646Constants.NINE < digit) {
             throw new NumberFormatException("digit expected at index " + index +
                     " but got 0x" + Integer.toHexString(digit));
@@ -234,39 +255,39 @@ private void throwNumberIsToLargeException(final int index) {
 
     void writeChar(final char charValue) {
         assert charValue <= Iso646Constants.MAX_CHAR_CODE;
-        byteArray[writePosition] = (byte) charValue;
+        byteArray[offset + writePosition] = (byte) charValue;
         writePosition += 1;
     }
 
     void writeChars(final char[] chars) {
-        assert (writePosition + chars.length) <= byteArray.length;
+        assert (writePosition + chars.length) <= length;
         for (final char charValue : chars) {
             writeChar(charValue);
         }
     }
 
     void writeByte(final byte value) {
-        byteArray[writePosition] = value;
+        byteArray[offset + writePosition] = value;
         writePosition += 1;
     }
 
     void writeBytes(final byte[] array) {
-        System.arraycopy(array, 0, byteArray, writePosition, array.length);
+        System.arraycopy(array, 0, byteArray, offset + writePosition, array.length);
         writePosition += array.length;
     }
 
     void writeInt(final int value) {
         assert 0 <= value && value < RADIX;
-        byteArray[writePosition] = (byte) (Iso646Constants.ZERO + value);
+        byteArray[offset + writePosition] = (byte) (Iso646Constants.ZERO + value);
         writePosition += 1;
     }
 
     void writeInt(final int value, final int digits) {
         assert value >= 0;
         assert digits >= 0;
-        assert (writePosition + digits) <= byteArray.length;
+        assert (writePosition + digits) <= length;
         int head = value;
-        for (int i = writePosition + digits - 1; i >= writePosition; --i) {
+        for (int i = offset + writePosition + digits - 1; i >= offset + writePosition; --i) {
             byteArray[i] = (byte) (Iso646Constants.ZERO + head % RADIX);
             head /= RADIX;
         }
@@ -276,7 +297,7 @@ void writeInt(final int value, final int digits) {
 
     @Override
     public String toString() {
-        return stringAt(0, byteArray.length, Iso646Constants.CHARSET);
+        return stringAt(0, length, Iso646Constants.CHARSET);
     }
 
 }
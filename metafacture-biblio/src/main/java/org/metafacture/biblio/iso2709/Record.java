@@ -55,9 +55,23 @@ public final class Record {
      * @param recordData a byte array containing a record in ISO 2709:2008 format.
      */
     public Record(final byte[] recordData) {
+        this(Require.notNull(recordData), 0, recordData.length);
+    }
+
+    /**
+     * Creates an instance of {@code Record} which provides access to the record
+     * stored in a part of the array passed as argument. The array is not
+     * copied, so it must not be modified while the record is in use.
+     *
+     * @param recordData a byte array containing a record in ISO 2709:2008 format.
+     * @param offset     index of the first byte of the record in the array
+     * @param length     number of bytes of the record
+     */
+    public Record(final byte[] recordData, final int offset, final int length) {
         Require.notNull(recordData);
-        checkRecordDataLength(recordData);
-        buffer = new Iso646ByteBuffer(recordData);
+        Require.validArraySlice(offset, length, recordData.length);
+        checkRecordDataLength(length);
+        buffer = new Iso646ByteBuffer(recordData, offset, length);
         label = new Label(buffer);
         baseAddress = label.getBaseAddress();
         checkBaseAddress();
@@ -68,8 +82,8 @@ public Record(final byte[] recordData) {
         recordIdFieldStart = findRecordIdFieldStart();
     }
 
-    private void checkRecordDataLength(final byte[] recordData) {
-        if (recordData.length < Iso2709Constants.MIN_RECORD_LENGTH) {
+    private void checkRecordDataLength(final int length) {
+        if (length < Iso2709Constants.MIN_RECORD_LENGTH) {
             throw new FormatException("record is too short");
         }
     }
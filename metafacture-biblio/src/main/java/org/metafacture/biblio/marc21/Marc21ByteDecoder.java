@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.biblio.marc21;
+
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.StreamReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes MARC 21 records which are passed as raw bytes, for instance by
+ * {@code open-byte-records}. The remaining bytes of each buffer must contain
+ * exactly one record. The records are parsed in place without decoding them
+ * into strings first.
+ * <p>
+ * The events emitted are the same as those of {@link Marc21Decoder}.
+ *
+ * @see Marc21Decoder
+ */
+@In(ByteBuffer.class)
+@Out(StreamReceiver.class)
+@Description("Decodes MARC 21 records from raw bytes (UTF-8 encoding expected).")
+@FluxCommand("decode-marc21-bytes")
+public final class Marc21ByteDecoder extends DefaultObjectPipe<ByteBuffer, StreamReceiver> {
+
+    private final Marc21Decoder decoder = new Marc21Decoder();
+
+    /**
+     * Creates an instance of {@link Marc21ByteDecoder}.
+     */
+    public Marc21ByteDecoder() {
+    }
+
+    /**
+     * Controls whether the decoder aborts processing if a record has no
+     * identifier.
+     *
+     * @see Marc21Decoder#setIgnoreMissingId(boolean)
+     * @param ignoreMissingId true if missing identifiers should be silently
+     *                        ignored.
+     */
+    public void setIgnoreMissingId(final boolean ignoreMissingId) {
+        decoder.setIgnoreMissingId(ignoreMissingId);
+    }
+
+    /**
+     * Gets the flag to decide whether to abort the processing of a record if it
+     * has no identifier.
+     *
+     * @return true if a missing identifier shouldn't abort processing, otherwise
+     *         false
+     */
+    public boolean getIgnoreMissingId() {
+        return decoder.getIgnoreMissingId();
+    }
+
+    /**
+     * Controls whether the Record Leader should be emitted as a whole.
+     *
+     * @see Marc21Decoder#setEmitLeaderAsWhole(boolean)
+     * @param emitLeaderAsWhole true if the leader should be emitted as a whole.
+     */
+    public void setEmitLeaderAsWhole(final boolean emitLeaderAsWhole) {
+        decoder.setEmitLeaderAsWhole(emitLeaderAsWhole);
+    }
+
+    /**
+     * Gets the flag to decide whether the Record Leader is emitted as whole.
+     *
+     * @return true if the Record Leader is emitted as whole, otherwise false
+     */
+    public boolean getEmitLeaderAsWhole() {
+        return decoder.getEmitLeaderAsWhole();
+    }
+
+    @Override
+    public void process(final ByteBuffer obj) {
+        if (obj.hasArray()) {
+            decoder.decode(obj.array(), obj.arrayOffset() + obj.position(), obj.remaining());
+        }
+        else {
+            final byte[] data = new byte[obj.remaining()];
+            obj.duplicate().get(data);
+            decoder.decode(data, 0, data.length);
+        }
+    }
+
+    @Override
+    protected void onSetReceiver() {
+        decoder.setReceiver(getReceiver());
+    }
+
+}
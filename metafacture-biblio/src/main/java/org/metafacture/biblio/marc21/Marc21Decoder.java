@@ -211,7 +211,26 @@ public void process(final String obj) {
         if (obj.isEmpty()) {
             return;
         }
-        final Record record = new Record(obj.getBytes(Marc21Constants.MARC21_CHARSET));
+        decode(new Record(obj.getBytes(Marc21Constants.MARC21_CHARSET)));
+    }
+
+    /**
+     * Decodes a record which is stored in a part of a byte array. The bytes
+     * are parsed in place; strings are only created for the values which are
+     * emitted. An empty range is ignored.
+     *
+     * @param data   the array containing the record
+     * @param offset index of the first byte of the record
+     * @param length number of bytes of the record
+     */
+    public void decode(final byte[] data, final int offset, final int length) {
+        if (length == 0) {
+            return;
+        }
+        decode(new Record(data, offset, length));
+    }
+
+    private void decode(final Record record) {
         record.setCharset(Marc21Constants.MARC21_CHARSET);
 
         requireMarc21RecordFormat(record.getRecordFormat());
@@ -24,6 +24,7 @@
 import org.metafacture.framework.annotations.In;
 import org.metafacture.framework.annotations.Out;
 import org.metafacture.framework.helpers.DefaultStreamPipe;
+import org.metafacture.framework.helpers.DirectSinkWriter;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -194,6 +195,20 @@ public void setEscapeUnicode(final boolean escapeUnicode) {
         encoder.setEscapeUnicode(escapeUnicode);
     }
 
+    /**
+     * Flags whether to write records directly to the output of the receiver
+     * instead of passing them on as strings. This only has an effect if the
+     * receiver supports it, e.g. when writing to a file.
+     * <p>
+     * <strong>Default value: false</strong>
+     *
+     * @param directSink true if records should be written directly
+     * @see org.metafacture.framework.DirectSink
+     */
+    public void setDirectSink(final boolean directSink) {
+        encoder.setDirectSink(directSink);
+    }
+
     @Override
     public void startRecord(final String identifier) {
         pipe.startRecord(identifier);
@@ -238,6 +253,7 @@ private static class Encoder extends DefaultStreamPipe<ObjectReceiver<String>> {
 
         private final StringBuilder builder = new StringBuilder();
         private final StringBuilder leaderBuilder = new StringBuilder();
+        private final DirectSinkWriter output = new DirectSinkWriter();
 
         private boolean atStreamStart = true;
 
@@ -284,6 +300,10 @@ public void setEscapeUnicode(final boolean escapeUnicode) {
             this.escapeUnicode = escapeUnicode;
         }
 
+        public void setDirectSink(final boolean directSink) {
+            output.setDirectSink(directSink);
+        }
+
         @Override
         public void startRecord(final String identifier) {
             if (atStreamStart) {
@@ -495,7 +515,7 @@ private void prettyPrintNewLine() {
         }
 
         private void sendAndClearData() {
-            getReceiver().process(builder.toString());
+            output.send(getReceiver(), builder);
             builder.delete(0, builder.length());
             leaderBuilder.delete(0, leaderBuilder.length());
             recordAttributeOffset = 0;
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.biblio;
+
+import org.metafacture.commons.ResourceUtil;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.ObjectReceiver;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Tests for class {@link OaiPmhOpener}.
+ *
+ */
+public final class OaiPmhOpenerTest {
+
+    private static final String PATH = "/oai";
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(WireMockConfiguration.wireMockConfig().dynamicPort());
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Mock
+    private ObjectReceiver<Reader> receiver;
+
+    public OaiPmhOpenerTest() {
+    }
+
+    @Test
+    public void shouldPassOnEachResponse() {
+        stubPages();
+        assertHarvest(opener(0), "record1", "record2", "record3");
+    }
+
+    @Test
+    public void shouldPassOnEachPrefetchedResponse() {
+        stubPages();
+        assertHarvest(opener(2), "record1", "record2", "record3");
+    }
+
+    @Test
+    public void shouldRequestRecordsWithParameters() {
+        stubPages();
+
+        final OaiPmhOpener opener = opener(1);
+        opener.setDateFrom("2020-01-01");
+        opener.setSetSpec("set1");
+        assertHarvest(opener, "record1", "record2", "record3");
+
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathEqualTo(PATH))
+                .withQueryParam("metadataPrefix", WireMock.equalTo("marc21"))
+                .withQueryParam("from", WireMock.equalTo("2020-01-01"))
+                .withQueryParam("set", WireMock.equalTo("set1")));
+    }
+
+    @Test
+    public void shouldResumeHarvestFromCheckpoint() throws IOException {
+        stubPages();
+
+        final File checkpoint = tempFolder.newFile();
+        final OaiPmhOpener failingOpener = opener(0);
+        failingOpener.setCheckpointFile(checkpoint.getPath());
+
+        Mockito.doNothing().doThrow(new MetafactureException("failure")).when(receiver).process(Mockito.any(Reader.class));
+        try {
+            failingOpener.process(wireMockRule.url(PATH));
+            Assert.fail("Expected failure");
+        }
+        catch (final MetafactureException e) {
+            Assert.assertEquals("token2", loadCheckpoint(checkpoint).getProperty("resumptionToken"));
+        }
+
+        Mockito.reset(receiver);
+        final OaiPmhOpener opener = opener(1);
+        opener.setCheckpointFile(checkpoint.getPath());
+        assertHarvest(opener, "record2", "record3");
+
+        final Properties properties = loadCheckpoint(checkpoint);
+        Assert.assertNull(properties.getProperty("resumptionToken"));
+        Assert.assertEquals("2026-01-01", properties.getProperty("from"));
+    }
+
+    @Test
+    public void shouldHarvestIncrementallyFromCheckpoint() throws IOException {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo(PATH))
+                .withQueryParam("from", WireMock.equalTo("2026-01-01"))
+                .willReturn(WireMock.ok(response("2026-02-01T00:00:00Z",
+                        "<error code=\"noRecordsMatch\">No records</error>"))));
+
+        final File checkpoint = tempFolder.newFile();
+        Files.write(checkpoint.toPath(), "from=2026-01-01\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        final OaiPmhOpener opener = opener(1);
+        opener.setCheckpointFile(checkpoint.getPath());
+        assertHarvest(opener);
+
+        Assert.assertEquals("2026-02-01", loadCheckpoint(checkpoint).getProperty("from"));
+    }
+
+    @Test(expected = MetafactureException.class)
+    public void shouldFailOnProtocolError() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo(PATH))
+                .willReturn(WireMock.ok(response("2026-01-01T00:00:00Z",
+                        "<error code=\"badArgument\">Illegal argument</error>"))));
+
+        opener(1).process(wireMockRule.url(PATH));
+    }
+
+    @Test
+    public void shouldIgnoreProtocolElementNamesWithinRecords() {
+        final String record = "<metadata><error code=\"badArgument\">Not an error</error>" +
+            "<resumptionToken>token2</resumptionToken></metadata>";
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo(PATH))
+                .willReturn(WireMock.ok(response("2026-01-01T00:00:00Z",
+                        "<ListRecords><record>" + record + "</record><resumptionToken/></ListRecords>"))));
+
+        assertHarvest(opener(1), record);
+    }
+
+    private OaiPmhOpener opener(final int prefetch) {
+        final OaiPmhOpener opener = new OaiPmhOpener();
+        opener.setMetadataPrefix("marc21");
+        opener.setPrefetch(prefetch);
+        opener.setReceiver(receiver);
+        return opener;
+    }
+
+    private void stubPages() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo(PATH))
+                .withQueryParam("metadataPrefix", WireMock.equalTo("marc21"))
+                .willReturn(WireMock.ok(page(1, "token2"))));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo(PATH))
+                .withQueryParam("resumptionToken", WireMock.equalTo("token2"))
+                .willReturn(WireMock.ok(page(2, "token3"))));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo(PATH))
+                .withQueryParam("resumptionToken", WireMock.equalTo("token3"))
+                .willReturn(WireMock.ok(page(3, ""))));
+    }
+
+    private static String page(final int number, final String resumptionToken) {
+        return response("2026-01-0" + number + "T12:00:00Z", "<ListRecords><record>record" + number + "</record>" +
+                "<resumptionToken>" + resumptionToken + "</resumptionToken></ListRecords>");
+    }
+
+    private static String response(final String responseDate, final String content) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\">" +
+                "<responseDate>" + responseDate + "</responseDate>" + content + "</OAI-PMH>";
+    }
+
+    private void assertHarvest(final OaiPmhOpener opener, final String... expected) {
+        final List<String> actual = new ArrayList<>();
+        Mockito.doAnswer(i -> actual.add(ResourceUtil.readAll((Reader) i.getArgument(0))
+                    .replaceAll(".*<record>(.*)</record>.*", "$1")))
+            .when(receiver).process(Mockito.any(Reader.class));
+
+        opener.process(wireMockRule.url(PATH));
+        opener.closeStream();
+
+        Assert.assertEquals(Arrays.asList(expected), actual);
+    }
+
+    private static Properties loadCheckpoint(final File file) throws IOException {
+        final Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+}
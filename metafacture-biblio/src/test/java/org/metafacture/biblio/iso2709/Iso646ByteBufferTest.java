@@ -105,6 +105,16 @@ public void distanceToByteArrayShouldReturnDistanceToFirstMatchingByteOfTheBytes
         Assert.assertEquals(1, byteBuffer.distanceTo(asBytes("xu"), 0));
     }
 
+    @Test
+    public void shouldAccessBytesRelativeToOffset() {
+        byteBuffer = new Iso646ByteBuffer(asBytes("xxTux Toxyy"), 2, 7);
+        Assert.assertEquals(7, byteBuffer.getLength());
+        Assert.assertEquals('T', byteBuffer.charAt(0));
+        Assert.assertEquals(3, byteBuffer.distanceTo(asBytes(" ")[0], 0));
+        Assert.assertEquals(7, byteBuffer.distanceTo(asBytes("y")[0], 0));
+        Assert.assertEquals("Tux Tox", byteBuffer.toString());
+    }
+
     @Test
     public void stringAtShouldReturnStringDecodedAsUtf8() {
         byteBuffer = new Iso646ByteBuffer(asBytes("Tüx Tox"));
@@ -75,6 +75,16 @@ public void getIdentifierShouldReturnRecordIdentifier() {
         Assert.assertEquals("ID", record.getRecordId());
     }
 
+    @Test
+    public void getIdentifierShouldReturnRecordIdentifierOfRecordInArraySlice() {
+        final byte[] data = asBytes("PREFIX" + "00034SIMPL0000030SYS110R" + "00120\u001e" +
+                "ID\u001e\u001d" + "SUFFIX");
+
+        record = new Record(data, 6, 34);
+
+        Assert.assertEquals("ID", record.getRecordId());
+    }
+
     @Test
     public void getIdentifierShouldReturnNullIfRecordHasNoIdentifier() {
         final byte[] data = asBytes("00034SIMPL0000030SYS110R" + "00220\u001e" +
@@ -27,6 +27,8 @@
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Tests for class {@link Marc21Decoder}.
  *
@@ -104,6 +106,20 @@ public void shouldProcessMarc21Record() {
         ordered.verify(receiver).endRecord();
     }
 
+    @Test
+    public void shouldDecodeRecordInByteArraySlice() {
+        final byte[] data = (RECORD_SEPARATOR + RECORD + RECORD_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+        marc21Decoder.decode(data, 1, data.length - 2);
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord(RECORD_ID);
+        ordered.verify(receiver).literal("002", CONTROLFIELD_VALUE);
+        ordered.verify(receiver).startEntity("200CD");
+        ordered.verify(receiver).literal("3", "value3");
+        ordered.verify(receiver).endEntity();
+        ordered.verify(receiver).endRecord();
+    }
+
     @Test
     public void shouldIgnoreEmptyRecords() {
         marc21Decoder.process("");
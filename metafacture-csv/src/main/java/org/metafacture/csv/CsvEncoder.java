@@ -24,11 +24,11 @@
 import org.metafacture.framework.annotations.In;
 import org.metafacture.framework.annotations.Out;
 import org.metafacture.framework.helpers.DefaultStreamPipe;
+import org.metafacture.framework.helpers.DirectSinkWriter;
 
 import com.opencsv.CSVWriter;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -48,7 +48,7 @@
 public class CsvEncoder extends DefaultStreamPipe<ObjectReceiver<String>> {
     public static final char DEFAULT_SEP = CSVWriter.DEFAULT_SEPARATOR;
     private CSVWriter csvWriter;
-    private StringWriter writer;
+    private final DirectSinkWriter writer = new DirectSinkWriter();
     private List<String> rowItems = new ArrayList<>();
     private boolean isFirstRecord = true;
     private List<String> header = new ArrayList<>();
@@ -135,8 +135,21 @@ public void setNoQuotes(final boolean noQuotes) {
         this.noQuotes = noQuotes;
     }
 
+    /**
+     * Flags whether to write rows directly to the output of the receiver
+     * instead of passing them on as strings. This only has an effect if the
+     * receiver supports it, e.g. when writing to a file.
+     * <p>
+     * <strong>Default value: false</strong>
+     *
+     * @param directSink true if rows should be written directly
+     * @see org.metafacture.framework.DirectSink
+     */
+    public void setDirectSink(final boolean directSink) {
+        writer.setDirectSink(directSink);
+    }
+
     private void initialize() {
-        writer = new StringWriter();
         final String emptyLineEnd = "";
         csvWriter = new CSVWriter(writer, separator, noQuotes ? CSVWriter.NO_QUOTE_CHARACTER : CSVWriter.DEFAULT_QUOTE_CHARACTER, CSVWriter.DEFAULT_ESCAPE_CHARACTER, emptyLineEnd);
     }
@@ -152,10 +165,9 @@ private void resetCaches() {
 
     private void writeRow(final List<String> rowItemsArray) {
         final String[] row = arrayOf(rowItemsArray);
+        writer.begin(getReceiver());
         csvWriter.writeNext(row);
-        final String line = writer.toString();
-        getReceiver().process(line);
-        writer.getBuffer().setLength(0);
+        writer.end(getReceiver());
     }
 
     @Override
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.csv;
+
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.StreamReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.RFC4180Parser;
+import com.opencsv.RFC4180ParserBuilder;
+import com.opencsv.exceptions.CsvException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Decodes CSV data read from a {@link Reader}. Unlike {@link CsvDecoder},
+ * which parses each input string separately, the whole input is parsed
+ * with a single parser. Therefore, quoted fields may span several lines and
+ * the input does not need to be split into lines first.
+ * <p>
+ * If the CSV has a header, the first record of each reader is used as the
+ * header. Records are numbered consecutively across all readers.
+ *
+ * @see CsvDecoder
+ */
+@Description("Decodes CSV data from a reader. Quoted fields may span several lines. First line may be interpreted as header.")
+@In(Reader.class)
+@Out(StreamReceiver.class)
+@FluxCommand("decode-csv-reader")
+public final class CsvReaderDecoder extends DefaultObjectPipe<Reader, StreamReceiver> {
+
+    public static final char DEFAULT_SEP = CsvDecoder.DEFAULT_SEP;
+
+    private char separator = DEFAULT_SEP;
+    private boolean hasHeader;
+    private int count;
+
+    private String[] columnNames = new String[0];
+
+    /**
+     * Creates an instance of {@link CsvReaderDecoder}. The default separator
+     * is {@value #DEFAULT_SEP}.
+     */
+    public CsvReaderDecoder() {
+    }
+
+    /**
+     * Flags if the CSV has a header or comes without a header.
+     *
+     * @param hasHeader true if the CSV has a header, otherwise false
+     */
+    public void setHasHeader(final boolean hasHeader) {
+        this.hasHeader = hasHeader;
+    }
+
+    /**
+     * Sets the separator.
+     *
+     * @param separator the separator as a String. The first character is used as
+     *                  the separator.
+     */
+    public void setSeparator(final String separator) {
+        this.separator = separator.charAt(0);
+    }
+
+    @Override
+    public void process(final Reader reader) {
+        assert !isClosed();
+
+        final RFC4180Parser parser = new RFC4180ParserBuilder()
+            .withSeparator(separator)
+            .build();
+        final CSVReader csvReader = new CSVReaderBuilder(reader)
+            .withCSVParser(parser)
+            .build();
+
+        String[] header = null;
+        if (hasHeader) {
+            header = readNext(csvReader);
+            if (header == null) {
+                return;
+            }
+        }
+
+        String[] parts;
+        while ((parts = readNext(csvReader)) != null) {
+            final String[] names;
+            if (header != null) {
+                if (parts.length != header.length) {
+                    throw new IllegalArgumentException(String.format(
+                                "wrong number of columns (expected %s, was %s) in record ending in line %s",
+                                header.length, parts.length, csvReader.getLinesRead()));
+                }
+                names = header;
+            }
+            else {
+                names = getColumnNames(parts.length);
+            }
+
+            getReceiver().startRecord(String.valueOf(++count));
+            for (int i = 0; i < parts.length; ++i) {
+                getReceiver().literal(names[i], parts[i]);
+            }
+            getReceiver().endRecord();
+        }
+    }
+
+    private String[] readNext(final CSVReader csvReader) {
+        try {
+            return csvReader.readNext();
+        }
+        catch (final IOException | CsvException e) {
+            throw new MetafactureException(e);
+        }
+    }
+
+    private String[] getColumnNames(final int columns) {
+        if (columns > columnNames.length) {
+            final String[] newColumnNames = new String[columns];
+            System.arraycopy(columnNames, 0, newColumnNames, 0, columnNames.length);
+            for (int i = columnNames.length; i < columns; ++i) {
+                newColumnNames[i] = String.valueOf(i);
+            }
+            columnNames = newColumnNames;
+        }
+        return columnNames;
+    }
+
+    @Override
+    protected void onResetStream() {
+        count = 0;
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.csv;
+
+import org.metafacture.framework.StreamReceiver;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.io.StringReader;
+
+/**
+ * Tests for {@link CsvReaderDecoder}.
+ *
+ */
+public final class CsvReaderDecoderTest {
+
+    private CsvReaderDecoder decoder;
+
+    @Mock
+    private StreamReceiver receiver;
+
+    public CsvReaderDecoderTest() {
+    }
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        decoder = new CsvReaderDecoder();
+        decoder.setReceiver(receiver);
+    }
+
+    @After
+    public void cleanup() {
+        decoder.closeStream();
+    }
+
+    @Test
+    public void shouldDecodeRecordsWithHeader() {
+        decoder.setHasHeader(true);
+        decoder.process(new StringReader("h1,h2\na,\"b1,\nb2\"\nc,d\n"));
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("h1", "a");
+        ordered.verify(receiver).literal("h2", "b1,\nb2");
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).startRecord("2");
+        ordered.verify(receiver).literal("h1", "c");
+        ordered.verify(receiver).literal("h2", "d");
+        ordered.verify(receiver).endRecord();
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void shouldDecodeRecordsWithoutHeader() {
+        decoder.setSeparator("\t");
+        decoder.process(new StringReader("a\tb\nc\td\te"));
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("0", "a");
+        ordered.verify(receiver).literal("1", "b");
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).startRecord("2");
+        ordered.verify(receiver).literal("0", "c");
+        ordered.verify(receiver).literal("1", "d");
+        ordered.verify(receiver).literal("2", "e");
+        ordered.verify(receiver).endRecord();
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void shouldReadHeaderOfEachReader() {
+        decoder.setHasHeader(true);
+        decoder.process(new StringReader("h1\na"));
+        decoder.process(new StringReader("h2\nb"));
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("h1", "a");
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).startRecord("2");
+        ordered.verify(receiver).literal("h2", "b");
+        ordered.verify(receiver).endRecord();
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailOnWrongNumberOfColumns() {
+        decoder.setHasHeader(true);
+        decoder.process(new StringReader("h1,h2\na"));
+    }
+
+}
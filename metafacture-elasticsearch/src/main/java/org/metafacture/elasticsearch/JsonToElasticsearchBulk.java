@@ -22,6 +22,11 @@
 import org.metafacture.framework.annotations.Out;
 import org.metafacture.framework.helpers.DefaultObjectPipe;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
@@ -35,6 +40,16 @@
 
 /**
  * Add Elasticsearch bulk indexing metadata to JSON input.
+ * <p>
+ * The ID is extracted with a single pass over the tokens of the record and
+ * the record is passed on unchanged. Only records which span several lines,
+ * contain duplicate keys or cannot be parsed are parsed into a map and
+ * serialized again; values of duplicate top-level keys are collected into a
+ * list.
+ * <p>
+ * Records can be combined into batches (see {@link #setBatchSize(int)} and
+ * {@link #setBatchBytes(int)}), each of which forms the payload of one bulk
+ * request.
  *
  * @author Fabian Steeg (fsteeg)
  * @author Jens Wille
@@ -45,10 +60,22 @@
 @FluxCommand("json-to-elasticsearch-bulk")
 public class JsonToElasticsearchBulk extends DefaultObjectPipe<String, ObjectReceiver<String>> {
 
+    private static final String LINE_SEPARATOR = "\n";
+
     private ObjectMapper mapper = new ObjectMapper();
+    private final JsonFactory factory = mapper.getFactory().copy()
+        .enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+    private final StringWriter idWriter = new StringWriter();
+    private final StringBuilder batch = new StringBuilder();
+
     private String[] idPath = new String[] {};
     private String type;
     private String index;
+    private int batchSize;
+    private int batchBytes;
+
+    private int batchRecords;
+    private long batchLength;
 
     /**
      * Creates an instance of {@link JsonToElasticsearchBulk}.
@@ -133,8 +160,188 @@ public void setIndex(final String index) {
         this.index = index;
     }
 
+    /**
+     * Sets the maximum number of records in a batch. All records of a batch
+     * are passed on as a single string which ends with a newline, as
+     * required by the bulk API. A value of 0 means that batches are not
+     * limited by the number of records.
+     * <p>
+     * If neither the batch size nor the {@link #setBatchBytes(int) batch
+     * bytes} are set (or the batch size is 1 and the batch bytes are not
+     * set), records are passed on individually without a trailing newline.
+     * <p>
+     * <strong>Default value: 0</strong> (batches are not limited by the
+     * number of records)
+     *
+     * @param batchSize the maximum number of records in a batch
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the maximum number of records in a batch.
+     *
+     * @return the maximum number of records in a batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the size in bytes (UTF-8) at which a batch is passed on. Records
+     * are never split, so a batch is passed on as soon as it reaches this
+     * size and may be slightly larger.
+     * <p>
+     * <strong>Default value: 0</strong> (batches are not limited by size)
+     *
+     * @param batchBytes the size of a batch in bytes
+     */
+    public void setBatchBytes(final int batchBytes) {
+        this.batchBytes = batchBytes;
+    }
+
+    /**
+     * Gets the size in bytes at which a batch is passed on.
+     *
+     * @return the size of a batch in bytes
+     */
+    public int getBatchBytes() {
+        return batchBytes;
+    }
+
     @Override
     public void process(final String obj) {
+        String record;
+        try {
+            record = scanRecord(obj);
+        }
+        catch (final IOException e) {
+            record = null;
+        }
+        if (record == null) {
+            record = rewriteRecord(obj);
+        }
+
+        if (batchSize <= 1 && batchBytes <= 0) {
+            getReceiver().process(record);
+            return;
+        }
+
+        batch.append(record).append(LINE_SEPARATOR);
+        ++batchRecords;
+        if (batchBytes > 0) {
+            batchLength += utf8Length(record) + 1;
+        }
+
+        if (batchSize > 0 && batchRecords >= batchSize || batchBytes > 0 && batchLength >= batchBytes) {
+            flushBatch();
+        }
+    }
+
+    @Override
+    protected void onCloseStream() {
+        flushBatch();
+    }
+
+    @Override
+    protected void onResetStream() {
+        batch.setLength(0);
+        batchRecords = 0;
+        batchLength = 0;
+    }
+
+    private void flushBatch() {
+        if (batchRecords > 0) {
+            final String payload = batch.toString();
+            onResetStream();
+            getReceiver().process(payload);
+        }
+    }
+
+    /**
+     * Scans the tokens of a record for the ID and returns the metadata line
+     * followed by the unchanged record.
+     *
+     * @return the bulk record or null if the record must be rewritten
+     */
+    private String scanRecord(final String obj) throws IOException {
+        if (obj.indexOf('\n') >= 0 || obj.indexOf('\r') >= 0) {
+            return null;
+        }
+
+        try (JsonParser parser = factory.createParser(obj)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            final int start = (int) parser.currentTokenLocation().getCharOffset();
+
+            idWriter.getBuffer().setLength(0);
+            scanObject(parser, 0);
+            final int end = (int) parser.currentLocation().getCharOffset();
+
+            if (parser.nextToken() != null) {
+                return null;
+            }
+
+            final StringBuilder builder = new StringBuilder(obj.length() + 64); // checkstyle-disable-line MagicNumber
+            builder.append("{\"index\":{\"_index\":");
+            appendString(builder, index);
+            builder.append(",\"_type\":");
+            appendString(builder, type);
+            if (idPath.length > 0) {
+                builder.append(",\"_id\":").append(idWriter.getBuffer().length() > 0 ? idWriter.getBuffer() : "null");
+            }
+            builder.append("}}").append(LINE_SEPARATOR);
+            return builder.append(obj, start, end).toString();
+        }
+    }
+
+    private void scanObject(final JsonParser parser, final int depth) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final boolean onIdPath = depth < idPath.length && idPath[depth].equals(parser.currentName());
+            final JsonToken token = parser.nextToken();
+
+            if (onIdPath && depth == idPath.length - 1) {
+                try (JsonGenerator generator = factory.createGenerator(idWriter)) {
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+            else if (onIdPath && token == JsonToken.START_OBJECT) {
+                scanObject(parser, depth + 1);
+            }
+            else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void appendString(final StringBuilder builder, final String value) {
+        if (value == null) {
+            builder.append("null");
+        }
+        else {
+            builder.append('"');
+            JsonStringEncoder.getInstance().quoteAsString(value, builder);
+            builder.append('"');
+        }
+    }
+
+    private static int utf8Length(final String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+            if (c >= 0x800) { // checkstyle-disable-line MagicNumber
+                length += Character.isSurrogate(c) ? 1 : 2;
+            }
+            else if (c >= 0x80) { // checkstyle-disable-line MagicNumber
+                length += 1;
+            }
+        }
+        return length;
+    }
+
+    private String rewriteRecord(final String obj) {
         final StringWriter stringWriter = new StringWriter();
         try {
             final Map<String, Object> json = mapper.readValue(obj, MultiMap.class);
@@ -153,7 +360,7 @@ public void process(final String obj) {
         catch (final IOException e) {
             e.printStackTrace();
         }
-        getReceiver().process(stringWriter.toString());
+        return stringWriter.toString();
     }
 
     private Object findId(final Object value) {
@@ -21,6 +21,7 @@
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -206,6 +207,63 @@ public void testShouldNotExtractIntermediateEntityIdPath() {
         shouldNotExtractId("{'En1':{'L1':'V1'}}");
     }
 
+    @Test
+    public void testShouldPreserveKeyOrder() {
+        setBulk(LITERAL1);
+        shouldExtractId("{'L3':'V3','L1':'V1','L2':'V2'}");
+    }
+
+    @Test
+    public void testShouldBatchRecords() {
+        setBulk(LITERAL1);
+        bulk.setBatchSize(2);
+        bulk.setReceiver(receiver);
+
+        bulk.process(fixQuotes("{'L1':'V1'}"));
+        bulk.process(fixQuotes("{'L1':'V2'}"));
+        bulk.process(fixQuotes("{'L1':'V3'}"));
+        bulk.closeStream();
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).process(fixQuotes(String.format(METADATA, ",'_id':'V1'") + "\n{'L1':'V1'}\n" +
+                    String.format(METADATA, ",'_id':'V2'") + "\n{'L1':'V2'}\n"));
+        ordered.verify(receiver).process(fixQuotes(String.format(METADATA, ",'_id':'V3'") + "\n{'L1':'V3'}\n"));
+        ordered.verify(receiver).closeStream();
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
+    @Test
+    public void testShouldBatchRecordsBySize() {
+        setBulk(LITERAL1);
+        bulk.setBatchBytes(100);
+        bulk.setReceiver(receiver);
+
+        bulk.process(fixQuotes("{'L1':'V1'}"));
+        bulk.process(fixQuotes("{'L1':'V2'}"));
+        bulk.process(fixQuotes("{'L1':'V3'}"));
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).process(fixQuotes(String.format(METADATA, ",'_id':'V1'") + "\n{'L1':'V1'}\n" +
+                    String.format(METADATA, ",'_id':'V2'") + "\n{'L1':'V2'}\n"));
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
+    @Test
+    public void testShouldBatchRecordsBySizeAndCount() {
+        setBulk(LITERAL1);
+        bulk.setBatchSize(1);
+        bulk.setBatchBytes(100);
+        bulk.setReceiver(receiver);
+
+        bulk.process(fixQuotes("{'L1':'V1'}"));
+        bulk.process(fixQuotes("{'L1':'V2'}"));
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).process(fixQuotes(String.format(METADATA, ",'_id':'V1'") + "\n{'L1':'V1'}\n"));
+        ordered.verify(receiver).process(fixQuotes(String.format(METADATA, ",'_id':'V2'") + "\n{'L1':'V2'}\n"));
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
     /*
      * Utility methods to set bulk indexer based on given ID key/path.
      */
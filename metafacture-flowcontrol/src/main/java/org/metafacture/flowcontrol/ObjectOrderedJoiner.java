@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flowcontrol;
+
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.ObjectPipe;
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+
+/**
+ * Joins the sub-flows of an {@link ObjectParallelizer}. Objects which are
+ * received on a worker thread of the parallelizer are handed back to it and
+ * emitted in the order of the input objects they were produced from. The
+ * <i>reset-stream</i> and <i>close-stream</i> events of all sub-flows are
+ * forwarded only once.
+ * <p>
+ * Outside of a parallelizer all events are passed through unchanged.
+ *
+ * @param <T> Object type
+ *
+ * @see ObjectParallelizer
+ */
+@In(Object.class)
+@Out(Object.class)
+@Description("Joins the sub-flows of `parallel` and emits their results in input order.")
+@FluxCommand("join-parallel")
+public final class ObjectOrderedJoiner<T> implements ObjectPipe<T, ObjectReceiver<T>> {
+
+    private ObjectReceiver<T> receiver;
+
+    /**
+     * Creates an instance of {@link ObjectOrderedJoiner}.
+     */
+    public ObjectOrderedJoiner() {
+    }
+
+    @Override
+    public void process(final T obj) {
+        if (!ObjectParallelizer.collect(this, obj)) {
+            emit(obj);
+        }
+    }
+
+    @Override
+    public <R extends ObjectReceiver<T>> R setReceiver(final R newReceiver) {
+        receiver = newReceiver;
+        return newReceiver;
+    }
+
+    @Override
+    public void resetStream() {
+        if (!ObjectParallelizer.defer(this)) {
+            forwardResetStream();
+        }
+    }
+
+    @Override
+    public void closeStream() {
+        if (!ObjectParallelizer.defer(this)) {
+            forwardCloseStream();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    // OK because only objects received by process(T) are emitted
+    void emit(final Object obj) {
+        if (receiver != null) {
+            receiver.process((T) obj);
+        }
+    }
+
+    void forwardResetStream() {
+        if (receiver != null) {
+            receiver.resetStream();
+        }
+    }
+
+    void forwardCloseStream() {
+        if (receiver != null) {
+            receiver.closeStream();
+        }
+    }
+
+}
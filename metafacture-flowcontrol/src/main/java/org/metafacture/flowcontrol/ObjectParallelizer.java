@@ -0,0 +1,363 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flowcontrol;
+
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.ObjectPipe;
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.Tee;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Processes incoming objects in parallel while preserving their order. Each
+ * added receiver is the head of an independent copy of a sub-flow and is
+ * driven by its own worker thread. Idle workers take the next object from a
+ * shared queue, so the load is balanced between the sub-flows.
+ * <p>
+ * The sub-flows must end in an {@link ObjectOrderedJoiner} which collects the
+ * objects produced for each input object and releases them in input order:
+ *
+ * <pre>
+ * ... | parallel
+ * | { decode-marc21 | fix("x.fix") | encode-json }
+ *   { decode-marc21 | fix("x.fix") | encode-json }
+ * | join-parallel
+ * | write("out.json");
+ * </pre>
+ *
+ * At most {@link #setWindowSize(int) windowSize} objects are in flight at any
+ * time; {@link #process(Object)} blocks when the window is full. Parallelizers
+ * must not be nested within the sub-flows of another parallelizer.
+ *
+ * @param <T> Object type
+ *
+ * @see ObjectOrderedJoiner
+ */
+@In(Object.class)
+@Out(Object.class)
+@Description("Processes incoming objects in the added sub-flows, each running in its own thread. " +
+        "The results are restored to input order by a subsequent `join-parallel`.")
+@FluxCommand("parallel")
+public final class ObjectParallelizer<T> implements Tee<ObjectReceiver<T>>, ObjectPipe<T, ObjectReceiver<T>> {
+
+    public static final int DEFAULT_WINDOW_SIZE = 1000;
+
+    private static final ThreadLocal<Slot> CURRENT_SLOT = new ThreadLocal<>();
+    private static final ThreadLocal<Set<ObjectOrderedJoiner<?>>> DEFERRED_JOINERS = new ThreadLocal<>();
+
+    private static final Object RED_PILL = new Object();
+
+    private final List<ObjectReceiver<T>> receivers = new ArrayList<>();
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final Deque<Slot> pending = new ArrayDeque<>();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private Semaphore window;
+    private volatile RuntimeException failure;
+
+    /**
+     * Creates an instance of {@link ObjectParallelizer}.
+     */
+    public ObjectParallelizer() {
+    }
+
+    /**
+     * Sets the maximum number of objects which are processed or waiting to be
+     * emitted at the same time. A larger window tolerates a larger variance in
+     * processing time between objects at the cost of memory.
+     * <p>
+     * <strong>Default value: {@value #DEFAULT_WINDOW_SIZE}</strong>
+     * <p>
+     * This parameter must not be changed while objects are processed.
+     *
+     * @param windowSize the maximum number of objects in flight
+     */
+    public void setWindowSize(final int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Gets the maximum number of objects in flight.
+     *
+     * @return the window size
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    @Override
+    public void process(final T obj) {
+        checkFailure();
+        if (workers.isEmpty()) {
+            startWorkers();
+        }
+        try {
+            window.acquire();
+            final Slot slot = new Slot(obj);
+            synchronized (pending) {
+                pending.addLast(slot);
+            }
+            queue.put(slot);
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void startWorkers() {
+        if (receivers.isEmpty()) {
+            throw new IllegalStateException("No sub-flows have been added.");
+        }
+        window = new Semaphore(windowSize);
+        for (final ObjectReceiver<T> receiver : receivers) {
+            final Thread worker = new Thread(new Worker(receiver));
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    private void stopWorkers() {
+        try {
+            for (int i = 0; i < workers.size(); ++i) {
+                queue.put(RED_PILL);
+            }
+            for (final Thread worker : workers) {
+                worker.join();
+            }
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.clear();
+    }
+
+    private void complete(final Slot slot) {
+        synchronized (pending) {
+            slot.done = true;
+            while (!pending.isEmpty() && pending.peekFirst().done) {
+                pending.removeFirst().emit();
+                window.release();
+            }
+        }
+    }
+
+    private void checkFailure() {
+        final RuntimeException e = failure;
+        if (e != null) {
+            failure = null;
+            throw new MetafactureException("Processing failed in a parallel sub-flow", e);
+        }
+    }
+
+    @Override
+    public Tee<ObjectReceiver<T>> addReceiver(final ObjectReceiver<T> receiver) {
+        if (!workers.isEmpty()) {
+            throw new IllegalStateException("Receivers cannot be changed while worker threads are running.");
+        }
+        receivers.add(receiver);
+        return this;
+    }
+
+    @Override
+    public <R extends ObjectReceiver<T>> R setReceiver(final R receiver) {
+        clearReceivers();
+        addReceiver(receiver);
+        return receiver;
+    }
+
+    @Override
+    public <R extends ObjectReceiver<T>> R setReceivers(final R receiver, final ObjectReceiver<T> lateralReceiver) {
+        clearReceivers();
+        addReceiver(receiver);
+        addReceiver(lateralReceiver);
+        return receiver;
+    }
+
+    @Override
+    public Tee<ObjectReceiver<T>> removeReceiver(final ObjectReceiver<T> receiver) {
+        if (!workers.isEmpty()) {
+            throw new IllegalStateException("Receivers cannot be changed while worker threads are running.");
+        }
+        receivers.remove(receiver);
+        return this;
+    }
+
+    @Override
+    public Tee<ObjectReceiver<T>> clearReceivers() {
+        if (!workers.isEmpty()) {
+            throw new IllegalStateException("Receivers cannot be changed while worker threads are running.");
+        }
+        receivers.clear();
+        return this;
+    }
+
+    @Override
+    public void resetStream() {
+        stopWorkers();
+        forwardLifeCycleEvent(ObjectReceiver::resetStream, ObjectOrderedJoiner::forwardResetStream);
+        checkFailure();
+    }
+
+    @Override
+    public void closeStream() {
+        stopWorkers();
+        forwardLifeCycleEvent(ObjectReceiver::closeStream, ObjectOrderedJoiner::forwardCloseStream);
+        checkFailure();
+    }
+
+    /**
+     * Forwards a life cycle event to all sub-flows. The joiners at the end of
+     * the sub-flows are collected and receive the event only once.
+     */
+    private void forwardLifeCycleEvent(final Consumer<ObjectReceiver<T>> subFlowEvent,
+            final Consumer<ObjectOrderedJoiner<?>> joinerEvent) {
+        final Set<ObjectOrderedJoiner<?>> joiners = new LinkedHashSet<>();
+        DEFERRED_JOINERS.set(joiners);
+        try {
+            receivers.forEach(subFlowEvent);
+        }
+        finally {
+            DEFERRED_JOINERS.remove();
+        }
+        joiners.forEach(joinerEvent);
+    }
+
+    /**
+     * Collects an object produced by a sub-flow if the current thread is a
+     * worker thread of a parallelizer.
+     *
+     * @param joiner the joiner which received the object
+     * @param obj the object
+     * @return true if the object will be emitted later by the parallelizer
+     */
+    static boolean collect(final ObjectOrderedJoiner<?> joiner, final Object obj) {
+        final Slot slot = CURRENT_SLOT.get();
+        if (slot == null) {
+            return false;
+        }
+        slot.add(joiner, obj);
+        return true;
+    }
+
+    /**
+     * Defers a life cycle event received by a joiner if the event is forwarded
+     * by a parallelizer to its sub-flows.
+     *
+     * @param joiner the joiner which received the event
+     * @return true if the event will be forwarded later by the parallelizer
+     */
+    static boolean defer(final ObjectOrderedJoiner<?> joiner) {
+        final Set<ObjectOrderedJoiner<?>> joiners = DEFERRED_JOINERS.get();
+        if (joiners == null) {
+            return false;
+        }
+        joiners.add(joiner);
+        return true;
+    }
+
+    /**
+     * Holds an input object and the objects which its sub-flow produced.
+     */
+    private static final class Slot {
+
+        private final Object input;
+        private final List<ObjectOrderedJoiner<?>> joiners = new ArrayList<>();
+        private final List<Object> outputs = new ArrayList<>();
+        private boolean done;
+        private boolean failed;
+
+        Slot(final Object input) {
+            this.input = input;
+        }
+
+        void add(final ObjectOrderedJoiner<?> joiner, final Object obj) {
+            joiners.add(joiner);
+            outputs.add(obj);
+        }
+
+        void emit() {
+            if (!failed) {
+                for (int i = 0; i < outputs.size(); ++i) {
+                    joiners.get(i).emit(outputs.get(i));
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Pushes the objects from the shared queue through one sub-flow.
+     */
+    private final class Worker implements Runnable {
+
+        private final ObjectReceiver<T> receiver;
+
+        Worker(final ObjectReceiver<T> receiver) {
+            this.receiver = receiver;
+        }
+
+        @SuppressWarnings("unchecked")
+        // OK because queue is only filled with slots of T by ObjectParallelizer<T>
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    final Object task = queue.take();
+                    if (RED_PILL == task) {
+                        break;
+                    }
+                    final Slot slot = (Slot) task;
+                    CURRENT_SLOT.set(slot);
+                    try {
+                        receiver.process((T) slot.input);
+                    }
+                    catch (final RuntimeException e) { // checkstyle-disable-line IllegalCatch
+                        slot.failed = true;
+                        failure = e;
+                    }
+                    finally {
+                        CURRENT_SLOT.remove();
+                    }
+                    complete(slot);
+                }
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
+}
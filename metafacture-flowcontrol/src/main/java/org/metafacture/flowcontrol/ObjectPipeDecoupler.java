@@ -20,6 +20,7 @@
 import org.metafacture.framework.MetafactureLogger;
 import org.metafacture.framework.ObjectPipe;
 import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.Queueing;
 import org.metafacture.framework.annotations.Description;
 import org.metafacture.framework.annotations.In;
 import org.metafacture.framework.annotations.Out;
@@ -39,7 +40,7 @@
 @Out(Object.class)
 @Description("creates a new thread in which subsequent flow elements run.")
 @FluxCommand("decouple")
-public final class ObjectPipeDecoupler<T> implements ObjectPipe<T, ObjectReceiver<T>> {
+public final class ObjectPipeDecoupler<T> implements ObjectPipe<T, ObjectReceiver<T>>, Queueing {
 
     public static final int DEFAULT_CAPACITY = 10000;
     private static final MetafactureLogger LOG = new MetafactureLogger(ObjectPipeDecoupler.class);
@@ -84,6 +85,16 @@ public void setDebug(final boolean debug) {
         this.debug = debug;
     }
 
+    @Override
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
     @Override
     public void process(final T obj) {
 
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flowcontrol;
+
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+/**
+ * Tests for class {@link ObjectParallelizer} and {@link ObjectOrderedJoiner}.
+ *
+ */
+public final class ObjectParallelizerTest {
+
+    private static final int NUM_OBJECTS = 200;
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ObjectReceiver<String> receiver;
+
+    private ObjectParallelizer<String> parallelizer;
+    private ObjectOrderedJoiner<String> joiner;
+
+    public ObjectParallelizerTest() {
+    }
+
+    @Before
+    public void setup() {
+        parallelizer = new ObjectParallelizer<>();
+        joiner = new ObjectOrderedJoiner<>();
+        for (int i = 0; i < 4; ++i) {
+            final SlowDuplicator subFlow = new SlowDuplicator();
+            subFlow.setReceiver(joiner);
+            parallelizer.addReceiver(subFlow);
+        }
+        joiner.setReceiver(receiver);
+    }
+
+    @Test
+    public void shouldEmitResultsInInputOrder() {
+        for (int i = 0; i < NUM_OBJECTS; ++i) {
+            parallelizer.process(String.valueOf(i));
+        }
+        parallelizer.closeStream();
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        for (int i = 0; i < NUM_OBJECTS; ++i) {
+            ordered.verify(receiver).process(i + "a");
+            ordered.verify(receiver).process(i + "b");
+        }
+        ordered.verify(receiver).closeStream();
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
+    @Test
+    public void shouldRespectWindowSize() {
+        parallelizer.setWindowSize(1);
+        for (int i = 0; i < NUM_OBJECTS; ++i) {
+            parallelizer.process(String.valueOf(i));
+        }
+        parallelizer.closeStream();
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        for (int i = 0; i < NUM_OBJECTS; ++i) {
+            ordered.verify(receiver).process(i + "a");
+            ordered.verify(receiver).process(i + "b");
+        }
+        ordered.verify(receiver).closeStream();
+    }
+
+    @Test
+    public void shouldForwardLifeCycleEventsOnlyOnce() {
+        parallelizer.process("1");
+        parallelizer.resetStream();
+        parallelizer.process("2");
+        parallelizer.closeStream();
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).process("1a");
+        ordered.verify(receiver).process("1b");
+        ordered.verify(receiver).resetStream();
+        ordered.verify(receiver).process("2a");
+        ordered.verify(receiver).process("2b");
+        ordered.verify(receiver).closeStream();
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
+    @Test(expected = MetafactureException.class)
+    public void shouldReportFailuresOfSubFlows() {
+        parallelizer.process("fail");
+        parallelizer.closeStream();
+    }
+
+    @Test
+    public void shouldPassThroughWithoutParallelizer() {
+        joiner.process("a");
+        joiner.closeStream();
+
+        Mockito.verify(receiver).process("a");
+        Mockito.verify(receiver).closeStream();
+    }
+
+    /**
+     * Emits each object twice after a delay which varies between objects.
+     */
+    private static final class SlowDuplicator extends DefaultObjectPipe<String, ObjectReceiver<String>> {
+
+        SlowDuplicator() {
+        }
+
+        @Override
+        public void process(final String obj) {
+            if ("fail".equals(obj)) {
+                throw new IllegalArgumentException(obj);
+            }
+            try {
+                Thread.sleep(obj.hashCode() % 3);
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            getReceiver().process(obj + "a");
+            getReceiver().process(obj + "b");
+        }
+
+    }
+
+}
@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Collections;
 import org.metafacture.flux.parser.FluxProgramm;
 import org.metafacture.flux.FluxParseException;
+import org.metafacture.monitoring.FlowMetrics;
 }
 
 @members {
@@ -40,6 +41,10 @@ private Map<String, String> vars = new HashMap<String, String>();
 public final void addVaribleAssignements(final Map<String, String> vars) {
     this.vars.putAll(vars);
 }
+
+public final void setMetrics(final FlowMetrics metrics) {
+    flux.setMetrics(metrics);
+}
 }
 
 flux returns [FluxProgramm retValue = flux]
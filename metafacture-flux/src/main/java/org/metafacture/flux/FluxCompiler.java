@@ -20,6 +20,7 @@
 import org.metafacture.flux.parser.FluxLexer;
 import org.metafacture.flux.parser.FluxParser;
 import org.metafacture.flux.parser.FluxProgramm;
+import org.metafacture.monitoring.FlowMetrics;
 
 import org.antlr.runtime.ANTLRInputStream;
 import org.antlr.runtime.CommonTokenStream;
@@ -51,7 +52,23 @@ private FluxCompiler() {
      * @throws IOException          if an I/O error occurs
      */
     public static FluxProgramm compile(final InputStream flux, final Map<String, String> vars) throws RecognitionException, IOException {
-        return compileFlow(compileAst(flux), vars);
+        return compile(flux, vars, null);
+    }
+
+    /**
+     * Compiles the flux to a flow whose modules record their metrics.
+     *
+     * @see FlowMetrics
+     * @param flux    the flux
+     * @param vars    the variables of the flux
+     * @param metrics the metrics to record or null
+     * @return the flow
+     * @throws RecognitionException if an ANTLR exception occurs
+     * @throws IOException          if an I/O error occurs
+     */
+    public static FluxProgramm compile(final InputStream flux, final Map<String, String> vars, final FlowMetrics metrics)
+            throws RecognitionException, IOException {
+        return compileFlow(compileAst(flux), vars, metrics);
     }
 
     private static CommonTreeNodeStream compileAst(final InputStream flowDef) throws IOException, RecognitionException {
@@ -59,10 +76,11 @@ private static CommonTreeNodeStream compileAst(final InputStream flowDef) throws
         return new CommonTreeNodeStream(parser.flux().getTree());
     }
 
-    private static FluxProgramm compileFlow(final CommonTreeNodeStream treeNodes, final Map<String, String> vars)
-            throws RecognitionException {
+    private static FluxProgramm compileFlow(final CommonTreeNodeStream treeNodes, final Map<String, String> vars,
+            final FlowMetrics metrics) throws RecognitionException {
         final FlowBuilder flowBuilder = new FlowBuilder(treeNodes);
         flowBuilder.addVaribleAssignements(vars);
+        flowBuilder.setMetrics(metrics);
         return flowBuilder.flux();
     }
 }
@@ -23,6 +23,7 @@
 import org.metafacture.framework.Sender;
 import org.metafacture.framework.Tee;
 import org.metafacture.io.StdInOpener;
+import org.metafacture.monitoring.FlowMetrics;
 
 import java.util.ArrayList;
 import java.util.Deque;
@@ -38,11 +39,19 @@ final class Flow {
     private final Deque<Tee<?>> teeStack = new LinkedList<Tee<?>>();
     private final Deque<List<LifeCycle>> looseEndsStack = new LinkedList<List<LifeCycle>>();
 
+    private final FlowMetrics metrics;
+
     private LifeCycle element;
+    private ObjectReceiver<? extends Object> first;
     private ObjectReceiver<? extends Object> start;
     private boolean joinLooseEnds;
 
     Flow() {
+        this(null);
+    }
+
+    Flow(final FlowMetrics metrics) {
+        this.metrics = metrics;
     }
 
     @SuppressWarnings("unchecked")
@@ -51,26 +60,27 @@ public void addElement(final Receiver nextElement) {
             setStart((ObjectReceiver<? extends Object>) nextElement);
             return;
         }
+        final Receiver receiver = instrument(nextElement);
         if (element instanceof Sender) {
             final Sender sender = (Sender) element;
             if (joinLooseEnds) {
                 teeStack.pop();
                 for (final LifeCycle looseEnd : looseEndsStack.pop()) {
                     if (looseEnd instanceof Tee) {
-                        ((Tee) looseEnd).addReceiver(nextElement);
+                        ((Tee) looseEnd).addReceiver(receiver);
                     }
                     else {
-                        ((Sender) looseEnd).setReceiver(nextElement);
+                        ((Sender) looseEnd).setReceiver(receiver);
                     }
                 }
                 joinLooseEnds = false;
             }
             else {
                 if (sender instanceof Tee) {
-                    ((Tee) sender).addReceiver(nextElement);
+                    ((Tee) sender).addReceiver(receiver);
                 }
                 else {
-                    sender.setReceiver(nextElement);
+                    sender.setReceiver(receiver);
                 }
             }
         }
@@ -102,10 +112,15 @@ public void endSubFlow() {
     }
 
     private void setStart(final ObjectReceiver<? extends Object> start) {
-        this.start = start;
+        first = start;
+        this.start = (ObjectReceiver<? extends Object>) instrument(start);
         element = start;
     }
 
+    private Receiver instrument(final Receiver receiver) {
+        return metrics != null ? metrics.instrument(receiver) : receiver;
+    }
+
     public void setStringStart(final String string) {
         setStart(new StringSender(string));
     }
@@ -123,6 +138,6 @@ public void close() {
     }
 
     public Receiver getFirst() {
-        return start;
+        return first;
     }
 }
@@ -23,6 +23,7 @@
 import org.metafacture.flux.FluxParseException;
 import org.metafacture.flux.HelpPrinter;
 import org.metafacture.framework.Receiver;
+import org.metafacture.monitoring.FlowMetrics;
 
 import java.io.IOException;
 import java.io.PrintStream;
@@ -59,6 +60,7 @@ public final class FluxProgramm {
         }
     }
 
+    private FlowMetrics metrics;
     private Flow currentFlow = new Flow();
     private final List<Flow> initialFlows = new ArrayList<Flow>();
     private final Map<String, Wormhole> wormholeNameMapping = new HashMap<String, Wormhole>();
@@ -70,6 +72,26 @@ public final class FluxProgramm {
     public FluxProgramm() {
     }
 
+    /**
+     * Sets the metrics to record for the modules of the flows. Must be set
+     * before the flows are built.
+     *
+     * @param metrics the {@link FlowMetrics} or null to disable recording
+     */
+    public void setMetrics(final FlowMetrics metrics) {
+        this.metrics = metrics;
+        currentFlow = new Flow(metrics);
+    }
+
+    /**
+     * Gets the metrics recorded for the modules of the flows.
+     *
+     * @return the {@link FlowMetrics} or null
+     */
+    public FlowMetrics getMetrics() {
+        return metrics;
+    }
+
     private static Receiver createElement(final String name, final Map<String, String> namedArgs,
             final List<Object> cArgs) {
 
@@ -87,7 +109,11 @@ private static Receiver createElement(final String name, final Map<String, Strin
     }
 
     protected void addElement(final String name, final Map<String, String> namedArgs, final List<Object> cArgs) {
-        currentFlow.addElement(createElement(name, namedArgs, cArgs));
+        final Receiver element = createElement(name, namedArgs, cArgs);
+        if (metrics != null) {
+            metrics.register(element, name);
+        }
+        currentFlow.addElement(element);
     }
 
     protected void startTee() {
@@ -143,7 +169,7 @@ protected void setWormholeStart(final String name) {
     }
 
     protected void nextFlow() {
-        currentFlow = new Flow();
+        currentFlow = new Flow(metrics);
     }
 
     protected void compile() {
@@ -17,12 +17,26 @@
 package org.metafacture.flux;
 
 import org.metafacture.flux.parser.FluxProgramm;
+import org.metafacture.monitoring.FlowMetrics;
+import org.metafacture.monitoring.StageMetrics;
 
+import org.antlr.runtime.RecognitionException;
+import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Tests {@link FluxProgramm}
@@ -32,6 +46,13 @@
  */
 public final class FluxProgrammTest {
 
+    private static final String TEE_WORMHOLE_DECOUPLE_FLUX =
+            "\"hello\" | decouple | object-tee | { catch-object-exception } { reset-object-batch } | @sink;\n" +
+            "@sink | wait-for-inputs(\"2\") | write(out);";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     public FluxProgrammTest() {
     }
 
@@ -41,6 +62,33 @@ public void testCommandRegistration() throws IOException {
         FluxProgramm.printHelp(discardOutput());
     }
 
+    @Test
+    public void shouldInstrumentTeesWormholesAndDecouplers() throws IOException, RecognitionException {
+        final String expected = runFlux(TEE_WORMHOLE_DECOUPLE_FLUX, null);
+
+        final FlowMetrics metrics = new FlowMetrics();
+        final String actual = runFlux(TEE_WORMHOLE_DECOUPLE_FLUX, metrics);
+
+        Assert.assertEquals("hello\nhello\n", expected);
+        Assert.assertEquals(expected, actual);
+
+        final List<String> names = new ArrayList<>();
+        for (final StageMetrics stage : metrics.getStages()) {
+            names.add(stage.getName());
+            Assert.assertTrue(stage.getName(), stage.getEvents() > 0);
+        }
+        Assert.assertEquals(Arrays.asList("0-StringSender", "1-decouple", "2-object-tee", "3-catch-object-exception",
+                    "4-reset-object-batch", "5-wait-for-inputs", "6-write"), names);
+    }
+
+    private String runFlux(final String flux, final FlowMetrics metrics) throws IOException, RecognitionException {
+        final File out = tempFolder.newFile();
+        final FluxProgramm program = FluxCompiler.compile(new ByteArrayInputStream(flux.getBytes(StandardCharsets.UTF_8)),
+                Collections.singletonMap("out", out.getAbsolutePath()), metrics);
+        program.start();
+        return new String(Files.readAllBytes(out.toPath()), StandardCharsets.UTF_8);
+    }
+
     private PrintStream discardOutput() {
         return new PrintStream(new OutputStream() {
             @Override
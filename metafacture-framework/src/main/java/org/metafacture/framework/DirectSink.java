@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.framework;
+
+import org.metafacture.framework.helpers.DirectSinkWriter;
+
+import java.io.Writer;
+
+/**
+ * Interface for receivers which allow upstream modules to write the textual
+ * representation of an object directly to their output instead of passing
+ * it as a string to {@link ObjectReceiver#process(Object)}. This saves
+ * creating and copying a string per object in encoders which produce large
+ * amounts of output.
+ * <p>
+ * Writing an object directly must have the same effect as calling
+ * {@code process} with the written text.
+ *
+ * @see DirectSinkWriter
+ *
+ */
+public interface DirectSink extends Receiver {
+
+    /**
+     * Starts a new object and returns the writer to which the object has to
+     * be written. The writer is only valid until the next method of the
+     * receiver is called and must not be closed by the caller.
+     *
+     * @return the writer for the object or null if the receiver cannot be
+     *         written to directly at the moment
+     */
+    Writer beginObject();
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.framework;
+
+/**
+ * Interface for modules which buffer their input in a queue, for instance
+ * to pass it on to another thread. It allows monitoring tools to observe
+ * how full the queue is.
+ *
+ */
+public interface Queueing {
+
+    /**
+     * Returns the number of elements currently waiting in the queue.
+     *
+     * @return the number of queued elements
+     */
+    int getQueueSize();
+
+    /**
+     * Returns the maximum number of elements the queue can hold.
+     *
+     * @return the capacity of the queue
+     */
+    int getQueueCapacity();
+
+}
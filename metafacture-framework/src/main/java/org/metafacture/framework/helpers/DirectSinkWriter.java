@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.framework.helpers;
+
+import org.metafacture.framework.DirectSink;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.ObjectReceiver;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Output buffer for encoders which can write to a {@link DirectSink}.
+ * <p>
+ * By default, the text written between {@link #begin(ObjectReceiver)} and
+ * {@link #end(ObjectReceiver)} is collected and passed on to the receiver as
+ * a string. If {@link #setDirectSink(boolean) directSink} is enabled and the
+ * receiver is a {@link DirectSink}, the text is written straight to the
+ * receiver's output instead.
+ * <p>
+ * Flushing this writer has no effect. Closing it only discards buffered
+ * text.
+ *
+ */
+public final class DirectSinkWriter extends Writer {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private boolean directSink;
+    private Writer sink;
+    private char[] chunk;
+
+    /**
+     * Creates an instance of {@link DirectSinkWriter}.
+     */
+    public DirectSinkWriter() {
+    }
+
+    /**
+     * Flags whether to write directly to receivers which are a
+     * {@link DirectSink}.
+     * <p>
+     * <strong>Default value: false</strong>
+     *
+     * @param directSink true if output should be written directly to the
+     *                   receiver if possible
+     */
+    public void setDirectSink(final boolean directSink) {
+        this.directSink = directSink;
+    }
+
+    /**
+     * Checks whether to write directly to receivers which are a
+     * {@link DirectSink}.
+     *
+     * @return true if output is written directly to the receiver if possible
+     */
+    public boolean getDirectSink() {
+        return directSink;
+    }
+
+    /**
+     * Starts a new object.
+     *
+     * @param receiver the receiver of the object
+     */
+    public void begin(final ObjectReceiver<String> receiver) {
+        sink = directSink && receiver instanceof DirectSink ? ((DirectSink) receiver).beginObject() : null;
+        buffer.setLength(0);
+    }
+
+    /**
+     * Ends the current object. If it was not written directly, the collected
+     * text is passed on to the receiver.
+     *
+     * @param receiver the receiver of the object
+     */
+    public void end(final ObjectReceiver<String> receiver) {
+        if (sink == null) {
+            receiver.process(buffer.toString());
+            buffer.setLength(0);
+        }
+        sink = null;
+    }
+
+    /**
+     * Sends the given text as a single object to the receiver. In direct mode,
+     * empty text is not written.
+     *
+     * @param receiver the receiver of the object
+     * @param text     the text of the object
+     */
+    public void send(final ObjectReceiver<String> receiver, final CharSequence text) {
+        if (directSink && receiver instanceof DirectSink) {
+            if (text.length() > 0) {
+                begin(receiver);
+                append(text);
+                end(receiver);
+            }
+        }
+        else {
+            receiver.process(text.toString());
+        }
+    }
+
+    @Override
+    public void write(final int c) {
+        if (sink == null) {
+            buffer.append((char) c);
+        }
+        else {
+            try {
+                sink.write(c);
+            }
+            catch (final IOException e) {
+                throw new MetafactureException(e);
+            }
+        }
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) {
+        if (sink == null) {
+            buffer.append(cbuf, off, len);
+        }
+        else {
+            try {
+                sink.write(cbuf, off, len);
+            }
+            catch (final IOException e) {
+                throw new MetafactureException(e);
+            }
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) {
+        if (sink == null) {
+            buffer.append(str, off, off + len);
+        }
+        else {
+            try {
+                sink.write(str, off, len);
+            }
+            catch (final IOException e) {
+                throw new MetafactureException(e);
+            }
+        }
+    }
+
+    @Override
+    public Writer append(final CharSequence csq) {
+        final CharSequence chars = csq == null ? "null" : csq;
+
+        if (sink == null) {
+            buffer.append(chars);
+        }
+        else if (chars instanceof String) {
+            write((String) chars, 0, chars.length());
+        }
+        else {
+            // Copy in chunks, Writer#append would create a string first
+            if (chunk == null) {
+                chunk = new char[CHUNK_SIZE];
+            }
+            final int length = chars.length();
+            for (int start = 0; start < length; start += CHUNK_SIZE) {
+                final int end = Math.min(start + CHUNK_SIZE, length);
+                if (chars instanceof StringBuilder) {
+                    ((StringBuilder) chars).getChars(start, end, chunk, 0);
+                }
+                else {
+                    for (int i = start; i < end; ++i) {
+                        chunk[i - start] = chars.charAt(i);
+                    }
+                }
+                write(chunk, 0, end - start);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public void flush() {
+        // Flushing the sink for every object would defeat its buffering
+    }
+
+    @Override
+    public void close() {
+        buffer.setLength(0);
+        sink = null;
+    }
+
+}
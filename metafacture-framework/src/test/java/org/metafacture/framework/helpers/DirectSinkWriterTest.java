@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.framework.helpers;
+
+import org.metafacture.framework.DirectSink;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for class {@link DirectSinkWriter}.
+ *
+ */
+public final class DirectSinkWriterTest {
+
+    private final StringWriter sink = new StringWriter();
+    private final List<String> objects = new ArrayList<>();
+
+    private DirectSinkWriter writer;
+    private SinkReceiver receiver;
+
+    public DirectSinkWriterTest() {
+    }
+
+    @Before
+    public void setup() {
+        writer = new DirectSinkWriter();
+        receiver = new SinkReceiver();
+    }
+
+    @Test
+    public void shouldPassObjectsAsStringsByDefault() {
+        writer.begin(receiver);
+        writer.append("object 1");
+        writer.end(receiver);
+        writer.send(receiver, new StringBuilder("object 2"));
+
+        Assert.assertEquals(Arrays.asList("object 1", "object 2"), objects);
+        Assert.assertEquals("", sink.toString());
+    }
+
+    @Test
+    public void shouldWriteObjectsDirectlyIfEnabled() {
+        writer.setDirectSink(true);
+        writer.begin(receiver);
+        writer.append("object 1");
+        writer.end(receiver);
+        writer.send(receiver, new StringBuilder("object 2"));
+
+        Assert.assertEquals(Arrays.asList(), objects);
+        Assert.assertEquals("|object 1|object 2", sink.toString());
+    }
+
+    @Test
+    public void shouldNotWriteEmptyObjectsDirectly() {
+        writer.setDirectSink(true);
+        writer.send(receiver, new StringBuilder());
+
+        Assert.assertEquals("", sink.toString());
+    }
+
+    @Test
+    public void shouldPassObjectsAsStringsIfReceiverIsNoDirectSink() {
+        final DefaultObjectReceiver<String> objectReceiver = new DefaultObjectReceiver<String>() {
+            @Override
+            public void process(final String obj) {
+                objects.add(obj);
+            }
+        };
+
+        writer.setDirectSink(true);
+        writer.begin(objectReceiver);
+        writer.append("object");
+        writer.end(objectReceiver);
+
+        Assert.assertEquals(Arrays.asList("object"), objects);
+    }
+
+    @Test
+    public void shouldCopyLargeCharSequencesInChunks() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10000; ++i) {
+            builder.append(i % 10);
+        }
+
+        writer.setDirectSink(true);
+        writer.send(receiver, builder);
+
+        Assert.assertEquals("|" + builder, sink.toString());
+    }
+
+    /**
+     * Receiver which writes a separator before each directly written object.
+     */
+    private final class SinkReceiver extends DefaultObjectReceiver<String> implements DirectSink {
+
+        @Override
+        public void process(final String obj) {
+            objects.add(obj);
+        }
+
+        @Override
+        public Writer beginObject() {
+            sink.write('|');
+            return sink;
+        }
+
+    }
+
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>Opens a file and splits its raw bytes into individual records. Unlike
+ * {@link FileOpener} followed by {@link RecordReader}, the data is neither
+ * decoded into characters nor collected in strings.</p>
+ *
+ * <p>The file is read in chunks. Each record is passed to the receiver as a
+ * {@link ByteBuffer} whose remaining bytes are the record without the
+ * separator. The buffers share the backing array of the chunk they were read
+ * from, so no bytes are copied unless a record spans two chunks. Chunks are
+ * never reused, hence the buffers can be retained by the receiver.</p>
+ *
+ * <p>The default separator is the global separator byte (0x1d). Empty records
+ * are skipped by default.</p>
+ *
+ * @see RecordReader
+ */
+@Description("Opens a file and splits its bytes into individual records without decoding them")
+@In(String.class)
+@Out(ByteBuffer.class)
+@FluxCommand("open-byte-records")
+public final class ByteRecordReader extends DefaultObjectPipe<String, ObjectReceiver<ByteBuffer>> {
+
+    public static final byte DEFAULT_SEPARATOR = 0x1d;
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private byte separator = DEFAULT_SEPARATOR;
+    private boolean skipEmptyRecords = true;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private FileCompression compression = FileCompression.AUTO;
+    private boolean decompressConcatenated = FileCompression.DEFAULT_DECOMPRESS_CONCATENATED;
+    private int decompressThreads;
+
+    /**
+     * Creates an instance of {@link ByteRecordReader}.
+     */
+    public ByteRecordReader() {
+    }
+
+    /**
+     * Sets the separator. The first character of the string must be an ISO
+     * 646 character. The default is the global separator byte (0x1d).
+     *
+     * @param separator the separator
+     */
+    public void setSeparator(final String separator) {
+        if (separator.length() >= 1) {
+            setSeparator((byte) separator.charAt(0));
+        }
+        else {
+            this.separator = DEFAULT_SEPARATOR;
+        }
+    }
+
+    /**
+     * Sets the separator.
+     *
+     * @param separator the separator
+     */
+    public void setSeparator(final byte separator) {
+        this.separator = separator;
+    }
+
+    /**
+     * Gets the separator.
+     *
+     * @return the separator
+     */
+    public byte getSeparator() {
+        return separator;
+    }
+
+    /**
+     * Flags to skip empty records.
+     *
+     * @param skipEmptyRecords true if empty records should be skipped
+     */
+    public void setSkipEmptyRecords(final boolean skipEmptyRecords) {
+        this.skipEmptyRecords = skipEmptyRecords;
+    }
+
+    /**
+     * Checks whether to skip empty records.
+     *
+     * @return true if empty records should be skipped
+     */
+    public boolean getSkipEmptyRecords() {
+        return skipEmptyRecords;
+    }
+
+    /**
+     * Sets the number of bytes read at once. Records longer than the chunk
+     * size are handled by enlarging the chunk.
+     * <p>
+     * <strong>Default value: {@value #DEFAULT_CHUNK_SIZE}</strong>
+     *
+     * @param chunkSize the chunk size in bytes
+     */
+    public void setChunkSize(final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Gets the number of bytes read at once.
+     *
+     * @return the chunk size in bytes
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the compression of the file.
+     *
+     * @param compression the {@link FileCompression}
+     */
+    public void setCompression(final FileCompression compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Sets the compression of the file.
+     *
+     * @param compression the name of the compression
+     */
+    public void setCompression(final String compression) {
+        setCompression(FileCompression.valueOf(compression.toUpperCase()));
+    }
+
+    /**
+     * Gets the file compression.
+     *
+     * @return the {@link FileCompression}
+     */
+    public FileCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Flags whether to use decompress concatenated file compression.
+     *
+     * @param decompressConcatenated true if file compression should decompress concatenated
+     */
+    public void setDecompressConcatenated(final boolean decompressConcatenated) {
+        this.decompressConcatenated = decompressConcatenated;
+    }
+
+    /**
+     * Checks whether the file compression is set to decompress concatenated.
+     *
+     * @return true if file compression should be decompresses concatenated
+     */
+    public boolean getDecompressConcatenated() {
+        return decompressConcatenated;
+    }
+
+    /**
+     * Sets the number of threads used to decompress the file. With one
+     * thread, the file is decompressed ahead of the reader on a background
+     * thread. With more threads, the blocks of bzip2 files are also
+     * decompressed in parallel, as are the members of BGZF files if
+     * {@link #setDecompressConcatenated(boolean) decompressConcatenated} is
+     * set.
+     * <p>
+     * <strong>Default value: 0</strong> (decompress on the reading thread)
+     *
+     * @param decompressThreads the number of decompressing threads
+     */
+    public void setDecompressThreads(final int decompressThreads) {
+        this.decompressThreads = decompressThreads;
+    }
+
+    /**
+     * Gets the number of threads used to decompress the file.
+     *
+     * @return the number of decompressing threads
+     */
+    public int getDecompressThreads() {
+        return decompressThreads;
+    }
+
+    @Override
+    public void process(final String file) {
+        try (InputStream stream = open(file)) {
+            read(stream);
+        }
+        catch (final IOException e) {
+            throw new MetafactureException(e);
+        }
+    }
+
+    private InputStream open(final String file) throws IOException {
+        final InputStream stream = new FileInputStream(file);
+        if (compression == FileCompression.NONE) {
+            return stream;
+        }
+        try {
+            return compression.createDecompressor(stream, decompressConcatenated, decompressThreads);
+        }
+        catch (final MetafactureException e) {
+            stream.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads records from a stream and passes them to the receiver.
+     *
+     * @param stream the stream to read from. It is not closed.
+     * @throws IOException if an I/O error occurs
+     */
+    public void read(final InputStream stream) throws IOException {
+        assert !isClosed();
+
+        byte[] chunk = new byte[chunkSize];
+        int recordStart = 0;
+        int end = 0;
+        boolean nothingRead = true;
+
+        int size;
+        while ((size = stream.read(chunk, end, chunk.length - end)) != -1) {
+            nothingRead = false;
+            for (int i = end; i < end + size; ++i) {
+                if (chunk[i] == separator) {
+                    emitRecord(chunk, recordStart, i);
+                    recordStart = i + 1;
+                }
+            }
+            end += size;
+
+            if (end == chunk.length) {
+                final int pendingLength = end - recordStart;
+                final byte[] nextChunk = new byte[Math.max(chunkSize, 2 * pendingLength)];
+                System.arraycopy(chunk, recordStart, nextChunk, 0, pendingLength);
+                chunk = nextChunk;
+                recordStart = 0;
+                end = pendingLength;
+            }
+        }
+        if (!nothingRead) {
+            emitRecord(chunk, recordStart, end);
+        }
+    }
+
+    private void emitRecord(final byte[] chunk, final int from, final int to) {
+        if (!skipEmptyRecords || to > from) {
+            getReceiver().process(ByteBuffer.wrap(chunk, from, to - from));
+        }
+    }
+
+}
@@ -0,0 +1,538 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Splits bzip2 data into its compressed blocks, so that the blocks can be
+ * decompressed in parallel. Blocks are not byte-aligned; they are found by
+ * searching for the 48-bit block magic number at every bit position. Each
+ * block is decompressed as a single-block stream of its own, which verifies
+ * the checksum of the block. The block checksums are then combined in order
+ * and compared with the checksum at the end of each stream.
+ * <p>
+ * The magic number may also occur within compressed data. A block which
+ * cannot be decompressed is therefore joined with the following blocks
+ * until it can.
+ *
+ */
+final class Bzip2BlockSplitter {
+
+    private static final long BLOCK_MAGIC = 0x314159265359L;
+    private static final long END_OF_STREAM_MAGIC = 0x177245385090L;
+    private static final long MAGIC_MASK = 0xffffffffffffL;
+    private static final long INT_MASK = 0xffffffffL;
+    private static final int BYTE_MASK = 0xff;
+
+    private static final int MAGIC_BITS = 48;
+    private static final int CRC_BITS = 32;
+    private static final int TRAILER_BITS = MAGIC_BITS + CRC_BITS;
+
+    private static final int HEADER_LENGTH = 4;
+    private static final int HEADER_BITS = HEADER_LENGTH * Byte.SIZE;
+    private static final int SIGNATURE_LENGTH = HEADER_LENGTH + MAGIC_BITS / Byte.SIZE;
+    private static final int CRC_OFFSET = SIGNATURE_LENGTH;
+
+    // Bytes needed after the first byte of a magic number to tell whether
+    // it marks the end of a stream, which is followed by another stream or
+    // by the end of the data.
+    private static final int LOOKAHEAD = (TRAILER_BITS + 2 * Byte.SIZE) / Byte.SIZE + SIGNATURE_LENGTH;
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    // Blocks hold at most 900 kB before compression and cannot grow much
+    // beyond that when compressed.
+    private static final int MAX_BLOCK_LENGTH = 4 * 1024 * 1024;
+
+    private static final int MAX_JOINED_BLOCKS = 3;
+
+    private static final String UNEXPECTED_END = "Unexpected end of bzip2 stream";
+
+    private static final byte[] EMPTY = new byte[0];
+
+    // Values of the second byte of a magic number at any bit offset
+    private static final boolean[] CANDIDATES = new boolean[BYTE_MASK + 1];
+
+    static {
+        for (int shift = 0; shift < Byte.SIZE; ++shift) {
+            CANDIDATES[(int) (BLOCK_MAGIC >>> CRC_BITS + shift) & BYTE_MASK] = true;
+            CANDIDATES[(int) (END_OF_STREAM_MAGIC >>> CRC_BITS + shift) & BYTE_MASK] = true;
+        }
+    }
+
+    private final InputStream source;
+    private final boolean decompressConcatenated;
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int length;
+    private boolean sourceEnded;
+    private boolean firstStream = true;
+    private boolean inStream;
+    private boolean finished;
+    private byte level;
+    private int blockStart;
+    private int scanPosition;
+    private Block previous;
+
+    /**
+     * Creates a splitter for bzip2 data.
+     *
+     * @param source                 the compressed data
+     * @param decompressConcatenated true if the blocks of concatenated
+     *                               streams should be returned, otherwise
+     *                               only those of the first stream
+     */
+    Bzip2BlockSplitter(final InputStream source, final boolean decompressConcatenated) {
+        this.source = source;
+        this.decompressConcatenated = decompressConcatenated;
+    }
+
+    /**
+     * Reads the next block.
+     *
+     * @return the block or null if the end of the data is reached
+     * @throws IOException if the data cannot be read or is not in the bzip2
+     *                     format
+     */
+    Block next() throws IOException {
+        try {
+            return nextBlock();
+        }
+        catch (final IOException e) {
+            if (previous != null) {
+                previous.next.completeExceptionally(e);
+            }
+            throw e;
+        }
+    }
+
+    private Block nextBlock() throws IOException {
+        Block block = null;
+
+        while (block == null && !finished) {
+            if (!inStream) {
+                startStream();
+            }
+            else {
+                final int end = findMagic();
+                if (end >= 0) {
+                    block = createBlock(end);
+                }
+                else if (sourceEnded) {
+                    throw new IOException(UNEXPECTED_END);
+                }
+                else {
+                    fill();
+                }
+            }
+        }
+
+        return block;
+    }
+
+    private void startStream() throws IOException {
+        while (length < SIGNATURE_LENGTH + CRC_BITS / Byte.SIZE && fill()) {
+            // Read the stream header
+        }
+
+        if (length == 0 && !firstStream) {
+            finished = true;
+        }
+        else if (!isStreamHeader(0)) {
+            throw new IOException(firstStream ? "Stream is not in the BZip2 format" : "Garbage after a valid BZip2 stream");
+        }
+        else {
+            firstStream = false;
+            level = buffer[HEADER_LENGTH - 1];
+
+            if (readBits(HEADER_BITS, MAGIC_BITS) == END_OF_STREAM_MAGIC) {
+                if (length < SIGNATURE_LENGTH + CRC_BITS / Byte.SIZE) {
+                    throw new IOException(UNEXPECTED_END);
+                }
+                endStream(HEADER_BITS);
+            }
+            else {
+                inStream = true;
+                startBlock(HEADER_BITS);
+            }
+        }
+    }
+
+    private void startBlock(final int position) {
+        discard(position / Byte.SIZE);
+        blockStart = position % Byte.SIZE;
+        scanPosition = (blockStart + MAGIC_BITS) / Byte.SIZE;
+    }
+
+    private void endStream(final int position) {
+        discard((position + TRAILER_BITS + Byte.SIZE - 1) / Byte.SIZE);
+        previous = null;
+        inStream = false;
+        finished = !decompressConcatenated;
+    }
+
+    private Block createBlock(final int end) {
+        final byte[] data = Arrays.copyOfRange(buffer, blockStart / Byte.SIZE, (end + Byte.SIZE - 1) / Byte.SIZE);
+        final Block block = new Block(level, data, blockStart % Byte.SIZE, end - blockStart,
+                previous != null ? previous.crcAfter : CompletableFuture.completedFuture(0));
+
+        if (readBits(end, MAGIC_BITS) == END_OF_STREAM_MAGIC) {
+            block.lastInStream = true;
+            block.streamCrc = (int) readBits(end + MAGIC_BITS, CRC_BITS);
+        }
+
+        if (previous != null) {
+            previous.next.complete(block);
+        }
+
+        if (block.lastInStream) {
+            endStream(end);
+        }
+        else {
+            previous = block;
+            startBlock(end);
+        }
+
+        return block;
+    }
+
+    /**
+     * Finds the next magic number after the start of the current block.
+     *
+     * @return the bit position of the magic number or -1 if more data is
+     *         needed
+     */
+    private int findMagic() {
+        final int limit = sourceEnded ? length - Long.BYTES : length - LOOKAHEAD;
+        final int minimum = blockStart + MAGIC_BITS;
+
+        for (int i = scanPosition; i <= limit; ++i) {
+            if (CANDIDATES[buffer[i + 1] & BYTE_MASK]) {
+                final long window = readLong(i);
+                for (int shift = 0; shift < Byte.SIZE; ++shift) {
+                    final int position = i * Byte.SIZE + shift;
+                    final long magic = window >>> Long.SIZE - MAGIC_BITS - shift & MAGIC_MASK;
+                    if (position >= minimum && (magic == BLOCK_MAGIC || magic == END_OF_STREAM_MAGIC && isStreamEnd(position))) {
+                        return position;
+                    }
+                }
+            }
+            scanPosition = i + 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Checks whether an end-of-stream magic number is followed by the end of
+     * the data or by another stream. Otherwise it occurred within compressed
+     * data.
+     */
+    private boolean isStreamEnd(final int position) {
+        final int end = (position + TRAILER_BITS + Byte.SIZE - 1) / Byte.SIZE;
+        return end == length && sourceEnded || isStreamHeader(end);
+    }
+
+    private boolean isStreamHeader(final int offset) {
+        if (offset + SIGNATURE_LENGTH > length || buffer[offset] != 'B' || buffer[offset + 1] != 'Z' ||
+                buffer[offset + 2] != 'h') {
+            return false;
+        }
+
+        final byte blockSize = buffer[offset + HEADER_LENGTH - 1];
+        final long magic = readBits(offset * Byte.SIZE + HEADER_BITS, MAGIC_BITS);
+        return blockSize >= '1' && blockSize <= '9' && (magic == BLOCK_MAGIC || magic == END_OF_STREAM_MAGIC);
+    }
+
+    private boolean fill() throws IOException {
+        if (sourceEnded) {
+            return false;
+        }
+
+        if (length == buffer.length) {
+            if (buffer.length >= MAX_BLOCK_LENGTH) {
+                throw new IOException("Compressed bzip2 block exceeds " + MAX_BLOCK_LENGTH + " bytes");
+            }
+            buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+        }
+
+        final int read = source.read(buffer, length, buffer.length - length);
+        if (read < 0) {
+            sourceEnded = true;
+        }
+        else {
+            length += read;
+        }
+
+        return !sourceEnded;
+    }
+
+    private void discard(final int count) {
+        length -= count;
+        System.arraycopy(buffer, count, buffer, 0, length);
+    }
+
+    private long readLong(final int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + Long.BYTES; ++i) {
+            value = value << Byte.SIZE | buffer[i] & BYTE_MASK;
+        }
+        return value;
+    }
+
+    private long readBits(final long start, final int count) {
+        long value = 0;
+        for (long bit = start; bit < start + count; ++bit) {
+            final int b = buffer[(int) (bit / Byte.SIZE)] >>> (Byte.SIZE - 1 - (int) (bit % Byte.SIZE)) & 1;
+            value = value << 1 | b;
+        }
+        return value;
+    }
+
+    private static <T> T await(final Future<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        }
+        catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    /**
+     * A compressed block, starting with its magic number. If the magic number
+     * occurred within compressed data, the block is only a part of an actual
+     * block.
+     */
+    static final class Block {
+
+        private final byte level;
+        private final byte[] data;
+        private final int startBit;
+        private final int bitLength;
+
+        // The combined checksum of the stream up to this block. It is null if
+        // the block is part of a block which starts before it.
+        private final CompletableFuture<Integer> crcBefore;
+        private final CompletableFuture<Integer> crcAfter = new CompletableFuture<>();
+
+        private final CompletableFuture<Block> next = new CompletableFuture<>();
+
+        private boolean lastInStream;
+        private int streamCrc;
+
+        private int crc;
+        private IOException failure;
+
+        Block(final byte level, final byte[] data, final int startBit, final int bitLength,
+                final CompletableFuture<Integer> crcBefore) {
+            this.level = level;
+            this.data = data;
+            this.startBit = startBit;
+            this.bitLength = bitLength;
+            this.crcBefore = crcBefore;
+        }
+
+        /**
+         * Decompresses the block. If it is part of a block which starts
+         * before it, the result is empty, since the data was decompressed
+         * together with that block.
+         *
+         * @return the decompressed data
+         * @throws IOException          if the data is corrupt
+         * @throws InterruptedException if the thread was interrupted while
+         *                              waiting for the preceding blocks
+         */
+        byte[] decompress() throws IOException, InterruptedException {
+            final List<Block> blocks = new ArrayList<>();
+            blocks.add(this);
+
+            byte[] decompressed = tryDecode(blocks);
+
+            try {
+                final Integer precedingCrc = await(crcBefore);
+                if (precedingCrc == null) {
+                    decompressed = EMPTY;
+                }
+                else {
+                    while (decompressed == null) {
+                        final Block last = blocks.get(blocks.size() - 1);
+                        if (last.lastInStream || blocks.size() == MAX_JOINED_BLOCKS) {
+                            throw failure;
+                        }
+                        blocks.add(await(last.next));
+                        decompressed = tryDecode(blocks);
+                    }
+                    complete(blocks, (precedingCrc << 1 | precedingCrc >>> CRC_BITS - 1) ^ crc);
+                }
+            }
+            catch (final IOException | InterruptedException e) {
+                crcAfter.completeExceptionally(e);
+                throw e;
+            }
+
+            return decompressed;
+        }
+
+        private byte[] tryDecode(final List<Block> blocks) {
+            try {
+                return decode(toStream(blocks));
+            }
+            catch (final IOException e) {
+                failure = e;
+                return null;
+            }
+        }
+
+        /**
+         * Creates a single-block stream from a block which may consist of
+         * several parts.
+         */
+        private byte[] toStream(final List<Block> blocks) throws IOException {
+            long bits = HEADER_BITS + TRAILER_BITS;
+            for (final Block block : blocks) {
+                bits += block.bitLength;
+            }
+
+            // A block starts with its magic number and checksum, which take
+            // as many bits as the trailer
+            if (bits < HEADER_BITS + 2 * TRAILER_BITS) {
+                throw new IOException("Truncated bzip2 block");
+            }
+
+            final BitWriter writer = new BitWriter((int) ((bits + Byte.SIZE - 1) / Byte.SIZE));
+            writer.write('B', Byte.SIZE);
+            writer.write('Z', Byte.SIZE);
+            writer.write('h', Byte.SIZE);
+            writer.write(level, Byte.SIZE);
+            for (final Block block : blocks) {
+                writer.copy(block.data, block.startBit, block.bitLength);
+            }
+
+            crc = (int) writer.read(CRC_OFFSET, CRC_BITS / Byte.SIZE);
+
+            // The combined checksum of a single block equals its checksum
+            writer.write(END_OF_STREAM_MAGIC, MAGIC_BITS);
+            writer.write(crc & INT_MASK, CRC_BITS);
+
+            return writer.finish();
+        }
+
+        /**
+         * Passes the combined checksum on to the block following the joined
+         * blocks, or verifies it at the end of the stream.
+         */
+        private void complete(final List<Block> blocks, final int combinedCrc) throws IOException {
+            final Block last = blocks.get(blocks.size() - 1);
+            if (last.lastInStream && combinedCrc != last.streamCrc) {
+                throw new IOException("Combined CRC error in bzip2 stream");
+            }
+
+            for (final Block block : blocks) {
+                block.crcAfter.complete(block == last ? combinedCrc : null);
+            }
+        }
+
+        private static byte[] decode(final byte[] stream) throws IOException {
+            try (InputStream decompressor = new BZip2CompressorInputStream(new ByteArrayInputStream(stream))) {
+                final ByteArrayOutputStream output = new ByteArrayOutputStream(stream.length * 4); // checkstyle-disable-line MagicNumber
+                decompressor.transferTo(output);
+                return output.toByteArray();
+            }
+            catch (final RuntimeException e) { // checkstyle-disable-line IllegalCatch
+                throw new IOException(e);
+            }
+        }
+
+    }
+
+    /**
+     * Writes bits into a byte array of fixed size.
+     */
+    private static final class BitWriter {
+
+        private final byte[] bytes;
+        private int position;
+        private long bitBuffer;
+        private int bitCount;
+
+        BitWriter(final int size) {
+            bytes = new byte[size];
+        }
+
+        void write(final long value, final int count) {
+            bitBuffer = bitBuffer << count | value & (1L << count) - 1;
+            bitCount += count;
+
+            while (bitCount >= Byte.SIZE) {
+                bitCount -= Byte.SIZE;
+                bytes[position] = (byte) (bitBuffer >>> bitCount);
+                ++position;
+            }
+
+            bitBuffer &= (1L << bitCount) - 1;
+        }
+
+        void copy(final byte[] data, final int start, final int count) {
+            final int end = start + count;
+            int bit = start;
+
+            for (; bit + Byte.SIZE <= end; bit += Byte.SIZE) {
+                write(readByte(data, bit), Byte.SIZE);
+            }
+
+            if (bit < end) {
+                write(readByte(data, bit) >>> Byte.SIZE - (end - bit), end - bit);
+            }
+        }
+
+        long read(final int offset, final int count) {
+            long value = 0;
+            for (int i = offset; i < offset + count; ++i) {
+                value = value << Byte.SIZE | bytes[i] & BYTE_MASK;
+            }
+            return value;
+        }
+
+        byte[] finish() {
+            if (bitCount > 0) {
+                write(0, Byte.SIZE - bitCount);
+            }
+            return bytes;
+        }
+
+        private static int readByte(final byte[] data, final int bit) {
+            final int i = bit / Byte.SIZE;
+            final int word = (data[i] & BYTE_MASK) << Byte.SIZE | (i + 1 < data.length ? data[i + 1] & BYTE_MASK : 0);
+            return word >>> Byte.SIZE - bit % Byte.SIZE & BYTE_MASK;
+        }
+
+    }
+
+}
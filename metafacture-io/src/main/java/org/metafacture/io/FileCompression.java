@@ -55,32 +55,12 @@ public InputStream createDecompressor(final InputStream readFrom, final boolean
     AUTO {
         @Override
         public OutputStream createCompressor(final OutputStream writeTo, final String fileName) {
-            if (fileName == null) {
-                throw new IllegalArgumentException("fileName is required for auto-selecting compressor");
-            }
-
-            final String extension = FilenameUtils.getExtension(fileName);
-            final FileCompression compressor;
-            if ("gz".equalsIgnoreCase(extension)) {
-                compressor = GZIP;
-            }
-            else if ("gzip".equalsIgnoreCase(extension)) {
-                compressor = GZIP;
-            }
-            else if ("bz2".equalsIgnoreCase(extension)) {
-                compressor = BZIP2;
-            }
-            else if ("bzip2".equalsIgnoreCase(extension)) {
-                compressor = BZIP2;
-            }
-            else if ("xz".equalsIgnoreCase(extension)) {
-                compressor = XZ;
-            }
-            else {
-                compressor = NONE;
-            }
+            return forFileName(fileName).createCompressor(writeTo, fileName);
+        }
 
-            return compressor.createCompressor(writeTo, fileName);
+        @Override
+        public OutputStream createCompressor(final OutputStream writeTo, final String fileName, final int threads) {
+            return forFileName(fileName).createCompressor(writeTo, fileName, threads);
         }
 
         @Override
@@ -95,6 +75,35 @@ public InputStream createDecompressor(final InputStream readFrom, final boolean
                 return NONE.createDecompressor(bufferedStream, decompressConcatenated);
             }
         }
+
+        @Override
+        public InputStream createDecompressor(final InputStream readFrom, final boolean decompressConcatenated, final int threads) {
+            if (threads < 1) {
+                return createDecompressor(readFrom, decompressConcatenated);
+            }
+
+            final InputStream bufferedStream = bufferStream(readFrom);
+            final String format;
+            try {
+                format = CompressorStreamFactory.detect(bufferedStream);
+            }
+            catch (final CompressorException e) {
+                return NONE.createDecompressor(bufferedStream, decompressConcatenated);
+            }
+
+            final FileCompression detected;
+            if (CompressorStreamFactory.BZIP2.equals(format)) {
+                detected = BZIP2;
+            }
+            else if (CompressorStreamFactory.GZIP.equals(format)) {
+                detected = GZIP;
+            }
+            else {
+                detected = this;
+            }
+
+            return new ParallelDecompressingInputStream(bufferedStream, detected, decompressConcatenated, threads);
+        }
     },
 
     BZIP2 {
@@ -109,6 +118,14 @@ public OutputStream createCompressor(final OutputStream writeTo, final String fi
             }
         }
 
+        @Override
+        public OutputStream createCompressor(final OutputStream writeTo, final String fileName, final int threads) {
+            if (threads < 1) {
+                return createCompressor(writeTo, fileName);
+            }
+            return new ParallelBzip2OutputStream(bufferStream(writeTo), threads);
+        }
+
         @Override
         public InputStream createDecompressor(final InputStream readFrom, final boolean decompressConcatenated) {
             try {
@@ -133,6 +150,14 @@ public OutputStream createCompressor(final OutputStream writeTo, final String fi
             }
         }
 
+        @Override
+        public OutputStream createCompressor(final OutputStream writeTo, final String fileName, final int threads) {
+            if (threads < 1) {
+                return createCompressor(writeTo, fileName);
+            }
+            return new ParallelGzipOutputStream(bufferStream(writeTo), threads);
+        }
+
         @Override
         public InputStream createDecompressor(final InputStream readFrom, final boolean decompressConcatenated) {
             try {
@@ -143,6 +168,11 @@ public InputStream createDecompressor(final InputStream readFrom, final boolean
                 throw new MetafactureException(e);
             }
         }
+
+        @Override
+        MemberSplitter getMemberSplitter() {
+            return MemberSplitter.BGZF;
+        }
     },
 
     PACK200 {
@@ -191,6 +221,54 @@ public InputStream createDecompressor(final InputStream readFrom, final boolean
                 throw new MetafactureException(e);
             }
         }
+    },
+
+    ZSTD {
+        @Override
+        public OutputStream createCompressor(final OutputStream writeTo, final String fileName) {
+            try {
+                return APACHE_COMPRESSOR_FACTORY.createCompressorOutputStream(
+                        CompressorStreamFactory.ZSTANDARD, bufferStream(writeTo));
+            }
+            catch (final CompressorException e) {
+                throw new MetafactureException(e);
+            }
+        }
+
+        @Override
+        public InputStream createDecompressor(final InputStream readFrom, final boolean decompressConcatenated) {
+            try {
+                return APACHE_COMPRESSOR_FACTORY.createCompressorInputStream(
+                        CompressorStreamFactory.ZSTANDARD, bufferStream(readFrom), decompressConcatenated);
+            }
+            catch (final CompressorException e) {
+                throw new MetafactureException(e);
+            }
+        }
+    },
+
+    LZ4 {
+        @Override
+        public OutputStream createCompressor(final OutputStream writeTo, final String fileName) {
+            try {
+                return APACHE_COMPRESSOR_FACTORY.createCompressorOutputStream(
+                        CompressorStreamFactory.LZ4_FRAMED, bufferStream(writeTo));
+            }
+            catch (final CompressorException e) {
+                throw new MetafactureException(e);
+            }
+        }
+
+        @Override
+        public InputStream createDecompressor(final InputStream readFrom, final boolean decompressConcatenated) {
+            try {
+                return APACHE_COMPRESSOR_FACTORY.createCompressorInputStream(
+                        CompressorStreamFactory.LZ4_FRAMED, bufferStream(readFrom), decompressConcatenated);
+            }
+            catch (final CompressorException e) {
+                throw new MetafactureException(e);
+            }
+        }
     };
 
     public static final boolean DEFAULT_DECOMPRESS_CONCATENATED = false;
@@ -211,6 +289,22 @@ public InputStream createDecompressor(final InputStream readFrom, final boolean
      */
     public abstract OutputStream createCompressor(OutputStream writeTo, String fileName);
 
+    /**
+     * Creates a compressor which compresses on background threads. With gzip
+     * and bzip2 compression, blocks of the data are compressed in parallel;
+     * the output is nevertheless a standard single-member file. Other
+     * compressions ignore the number of threads.
+     *
+     * @param writeTo  the {@link OutputStream} to write to
+     * @param fileName the filename
+     * @param threads  the number of compressing threads. If less than 1, the
+     *                 data is compressed on the writing thread.
+     * @return the {@link OutputStream}
+     */
+    public OutputStream createCompressor(final OutputStream writeTo, final String fileName, final int threads) {
+        return createCompressor(writeTo, fileName);
+    }
+
     /**
      * Creates a decompressor.
      *
@@ -231,6 +325,75 @@ public InputStream createDecompressor(final InputStream readFrom) {
         return createDecompressor(readFrom, DEFAULT_DECOMPRESS_CONCATENATED);
     }
 
+    /**
+     * Creates a decompressor which decompresses on background threads. The
+     * data is decompressed ahead of the reader into a bounded buffer. With
+     * more than one thread, the blocks of bzip2 files and the concatenated
+     * members of BGZF files are decompressed in parallel.
+     *
+     * @param readFrom               the {@link InputStream} to read from
+     * @param decompressConcatenated true if decompress concatenated, otherwise
+     *                               false
+     * @param threads                the number of decompressing threads. If
+     *                               less than 1, the data is decompressed on
+     *                               the reading thread.
+     * @return the {@link InputStream}
+     */
+    public InputStream createDecompressor(final InputStream readFrom, final boolean decompressConcatenated, final int threads) {
+        if (threads < 1) {
+            return createDecompressor(readFrom, decompressConcatenated);
+        }
+        return new ParallelDecompressingInputStream(bufferStream(readFrom), this, decompressConcatenated, threads);
+    }
+
+    /**
+     * Gets the splitter for the members of concatenated data.
+     *
+     * @return the splitter or null if the members cannot be found without
+     *         decompressing the data
+     */
+    MemberSplitter getMemberSplitter() {
+        return null;
+    }
+
+    private static FileCompression forFileName(final String fileName) {
+        if (fileName == null) {
+            throw new IllegalArgumentException("fileName is required for auto-selecting compressor");
+        }
+
+        final String extension = FilenameUtils.getExtension(fileName);
+        final FileCompression compressor;
+        if ("gz".equalsIgnoreCase(extension)) {
+            compressor = GZIP;
+        }
+        else if ("gzip".equalsIgnoreCase(extension)) {
+            compressor = GZIP;
+        }
+        else if ("bz2".equalsIgnoreCase(extension)) {
+            compressor = BZIP2;
+        }
+        else if ("bzip2".equalsIgnoreCase(extension)) {
+            compressor = BZIP2;
+        }
+        else if ("xz".equalsIgnoreCase(extension)) {
+            compressor = XZ;
+        }
+        else if ("zst".equalsIgnoreCase(extension)) {
+            compressor = ZSTD;
+        }
+        else if ("zstd".equalsIgnoreCase(extension)) {
+            compressor = ZSTD;
+        }
+        else if ("lz4".equalsIgnoreCase(extension)) {
+            compressor = LZ4;
+        }
+        else {
+            compressor = NONE;
+        }
+
+        return compressor;
+    }
+
     private static OutputStream bufferStream(final OutputStream stream) {
         if (stream instanceof BufferedOutputStream) {
             return stream;
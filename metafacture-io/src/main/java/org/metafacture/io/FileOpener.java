@@ -47,6 +47,7 @@ public final class FileOpener extends DefaultObjectPipe<String, ObjectReceiver<R
     private String encoding = "UTF-8";
     private FileCompression compression = FileCompression.AUTO;
     private boolean decompressConcatenated = FileCompression.DEFAULT_DECOMPRESS_CONCATENATED;
+    private int decompressThreads;
 
     /**
      * Creates an instance of {@link FileOpener}.
@@ -117,6 +118,31 @@ public void setDecompressConcatenated(final boolean decompressConcatenated) {
         this.decompressConcatenated = decompressConcatenated;
     }
 
+    /**
+     * Sets the number of threads used to decompress the file. With one
+     * thread, the file is decompressed ahead of the reader on a background
+     * thread. With more threads, the blocks of bzip2 files are also
+     * decompressed in parallel, as are the members of BGZF files if
+     * {@link #setDecompressConcatenated(boolean) decompressConcatenated} is
+     * set.
+     * <p>
+     * <strong>Default value: 0</strong> (decompress on the reading thread)
+     *
+     * @param decompressThreads the number of decompressing threads
+     */
+    public void setDecompressThreads(final int decompressThreads) {
+        this.decompressThreads = decompressThreads;
+    }
+
+    /**
+     * Gets the number of threads used to decompress the file.
+     *
+     * @return the number of decompressing threads
+     */
+    public int getDecompressThreads() {
+        return decompressThreads;
+    }
+
     /**
      * Opens a file.
      *
@@ -137,7 +163,7 @@ public Reader open(final String file) throws IOException {
      */
     public Reader open(final InputStream stream) throws IOException {
         try {
-            final InputStream decompressor = compression.createDecompressor(stream, decompressConcatenated);
+            final InputStream decompressor = compression.createDecompressor(stream, decompressConcatenated, decompressThreads);
             try {
                 return new InputStreamReader(BOMInputStream.builder().setInputStream(decompressor).get(), encoding);
             }
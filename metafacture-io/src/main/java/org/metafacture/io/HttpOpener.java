@@ -29,6 +29,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.Reader;
 import java.io.SequenceInputStream;
 import java.net.HttpURLConnection;
@@ -37,6 +38,7 @@
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
@@ -49,7 +51,7 @@
  * @author Jens Wille
  * @author Pascal Christoph (dr0i)
  */
-@Description("Opens an HTTP resource. Supports setting HTTP header fields `Accept`, `Accept-Charset`, `Accept-Encoding`, `Content-Encoding` and `Content-Type`, as well as generic headers (separated by `\\n`). Defaults: request `method` = `GET`, request `url` = `@-` (input data), request `body` = `@-` (input data) if request method supports body and input data not already used, `Accept` header (`accept`) = `*/*`, `Accept-Charset` header (`acceptcharset`) = `UTF-8`, `errorprefix` = `ERROR: `.")
+@Description("Opens an HTTP resource. Supports setting HTTP header fields `Accept`, `Accept-Charset`, `Accept-Encoding`, `Content-Encoding` and `Content-Type`, as well as generic headers (separated by `\\n`). Defaults: request `method` = `GET`, request `url` = `@-` (input data), request `body` = `@-` (input data) if request method supports body and input data not already used, `Accept` header (`accept`) = `*/*`, `Accept-Charset` header (`acceptcharset`) = `UTF-8`, `errorprefix` = `ERROR: `. Requests answered with status 429 or 5xx are repeated up to `retries` times (default: 0) with exponential backoff starting at `retrydelay` milliseconds (default: 1000) unless the server sends a `Retry-After` header. Set `concurrency` > 1 to perform that many requests at the same time, at most `maxperhost` (default: unlimited) of them to the same host; responses are passed on in input order unless `ordered` = `false`.")
 @In(String.class)
 @Out(Reader.class)
 @FluxCommand("open-http")
@@ -74,12 +76,16 @@ public final class HttpOpener extends DefaultObjectPipe<String, ObjectReceiver<R
     public static final String DEFAULT_METHOD_NAME = "GET";
     public static final Method DEFAULT_METHOD = Method.valueOf(DEFAULT_METHOD_NAME);
 
+    public static final int DEFAULT_RETRY_DELAY = 1000;
+
     private static final Pattern HEADER_FIELD_SEPARATOR_PATTERN = Pattern.compile(HEADER_FIELD_SEPARATOR);
     private static final Pattern HEADER_VALUE_SEPARATOR_PATTERN = Pattern.compile(HEADER_VALUE_SEPARATOR);
     private static final Pattern MIME_PARAMETER_SEPARATOR_PATTERN = Pattern.compile(MIME_PARAMETER_SEPARATOR);
 
     private static final int ALLOWED_REDIRECTIONS = 3;
     private static final int CONNECTION_TIMEOUT = 11000;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int MAX_BACKOFF_SHIFT = 16;
 
     private final Map<String, String> headers = new HashMap<>();
 
@@ -90,6 +96,14 @@ public final class HttpOpener extends DefaultObjectPipe<String, ObjectReceiver<R
     private boolean inputUsed;
     private boolean successful;
 
+    private int concurrency = 1;
+    private int maxPerHost;
+    private boolean ordered = true;
+    private int retries;
+    private int retryDelay = DEFAULT_RETRY_DELAY;
+
+    private RequestPipeline<Reader> pipeline;
+
     /**
      * HTTP methods.
      */
@@ -290,6 +304,122 @@ public void setBody(final String body) {
         this.body = body;
     }
 
+    /**
+     * Sets the number of requests which are performed at the same time.
+     * With more than one concurrent request, the response bodies are read
+     * into memory on background threads and passed on once they are
+     * complete. This also returns the connections to the JDK's keep-alive
+     * cache right away (see the {@code http.maxConnections} system property).
+     * <p>
+     * <strong>Default value: 1</strong> (requests are performed one after
+     * the other on the pipeline thread)
+     *
+     * @param concurrency the number of concurrent requests
+     */
+    public void setConcurrency(final int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1: " + concurrency);
+        }
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Gets the number of requests which are performed at the same time.
+     *
+     * @return the number of concurrent requests
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Sets the maximum number of concurrent requests to the same host (and
+     * port). Only applies if {@link #setConcurrency(int) concurrency} is
+     * greater than 1.
+     * <p>
+     * <strong>Default value: 0</strong> (no limit per host)
+     *
+     * @param maxPerHost the maximum number of concurrent requests per host
+     */
+    public void setMaxPerHost(final int maxPerHost) {
+        this.maxPerHost = maxPerHost;
+    }
+
+    /**
+     * Gets the maximum number of concurrent requests to the same host.
+     *
+     * @return the maximum number of concurrent requests per host
+     */
+    public int getMaxPerHost() {
+        return maxPerHost;
+    }
+
+    /**
+     * Flags whether the responses to concurrent requests are passed on in
+     * the order of the input. Otherwise, they are passed on in the order in
+     * which they complete. Only applies if {@link #setConcurrency(int)
+     * concurrency} is greater than 1.
+     * <p>
+     * <strong>Default value: true</strong>
+     *
+     * @param ordered true if responses should be passed on in input order
+     */
+    public void setOrdered(final boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    /**
+     * Checks whether responses are passed on in the order of the input.
+     *
+     * @return true if responses are passed on in input order
+     */
+    public boolean getOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Sets the number of times a request is repeated if the server responds
+     * with status 429 (Too Many Requests) or 5xx.
+     * <p>
+     * <strong>Default value: 0</strong>
+     *
+     * @param retries the maximum number of retries
+     */
+    public void setRetries(final int retries) {
+        this.retries = retries;
+    }
+
+    /**
+     * Gets the number of times a request is repeated.
+     *
+     * @return the maximum number of retries
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * Sets the delay before the first retry in milliseconds. The delay is
+     * doubled with every further retry. A {@code Retry-After} header (in
+     * seconds) sent by the server takes precedence.
+     * <p>
+     * <strong>Default value: {@value DEFAULT_RETRY_DELAY}</strong>
+     *
+     * @param retryDelay the initial retry delay in milliseconds
+     */
+    public void setRetryDelay(final int retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Gets the delay before the first retry in milliseconds.
+     *
+     * @return the initial retry delay in milliseconds
+     */
+    public int getRetryDelay() {
+        return retryDelay;
+    }
+
     /**
      * Opens the HTTP connection with the given input (URL or body) and makes
      * the response body available to the consumer.
@@ -302,13 +432,9 @@ public void setBody(final String body) {
     public boolean open(final String input, final Consumer<Reader> consumer) {
         try {
             final String requestUrl = getInput(input, url);
-            final String requestBody = getInput(input,
-                body == null && method.getRequestHasBody() ? INPUT_DESIGNATOR : body);
-
-            final URL urlToOpen = ResourceUtil.toURL(requestUrl);
-            final HttpURLConnection connection = requestBody != null ?
-                doOutput(urlToOpen, requestBody) : doRedirects(urlToOpen);
+            final String requestBody = getRequestBody(input);
 
+            final HttpURLConnection connection = connect(ResourceUtil.toURL(requestUrl), requestBody);
             final String charset = getContentCharset(connection);
 
             try (
@@ -317,6 +443,7 @@ public boolean open(final String input, final Consumer<Reader> consumer) {
                         "gzip".equalsIgnoreCase(connection.getContentEncoding()) ?
                         new GZIPInputStream(inputStream) : inputStream, charset)
             ) {
+                successful = connection.getResponseCode() < HttpURLConnection.HTTP_BAD_REQUEST;
                 consumer.accept(reader);
             }
         }
@@ -332,7 +459,72 @@ public boolean open(final String input, final Consumer<Reader> consumer) {
 
     @Override
     public void process(final String input) {
-        open(input, r -> getReceiver().process(r));
+        if (concurrency > 1) {
+            submit(input);
+        }
+        else {
+            open(input, r -> getReceiver().process(r));
+        }
+    }
+
+    @Override
+    protected void onResetStream() {
+        if (pipeline != null) {
+            pipeline.drain();
+        }
+    }
+
+    @Override
+    protected void onCloseStream() {
+        if (pipeline != null) {
+            try {
+                pipeline.drain();
+            }
+            finally {
+                pipeline.close();
+                pipeline = null;
+            }
+        }
+    }
+
+    private void submit(final String input) {
+        final URL urlToOpen;
+        final String requestBody;
+
+        try {
+            urlToOpen = ResourceUtil.toURL(getInput(input, url));
+            requestBody = getRequestBody(input);
+        }
+        catch (final IOException e) {
+            throw new MetafactureException(e);
+        }
+        finally {
+            inputUsed = false;
+        }
+
+        if (pipeline == null) {
+            pipeline = new RequestPipeline<>(concurrency, maxPerHost, ordered, r -> {
+                try (Reader reader = r) {
+                    getReceiver().process(reader);
+                }
+                catch (final IOException e) {
+                    throw new MetafactureException(e);
+                }
+            });
+        }
+
+        pipeline.submit(urlToOpen.getAuthority(), () -> {
+            final HttpURLConnection connection = connect(urlToOpen, requestBody);
+            final String charset = getContentCharset(connection);
+
+            try (
+                    InputStream inputStream = getInputStream(connection);
+                    InputStream decodedStream = "gzip".equalsIgnoreCase(connection.getContentEncoding()) ?
+                        new GZIPInputStream(inputStream) : inputStream
+            ) {
+                return new InputStreamReader(new ByteArrayInputStream(decodedStream.readAllBytes()), charset);
+            }
+        });
     }
 
     private String getInput(final String input, final String value) {
@@ -352,6 +544,58 @@ else if (inputUsed) {
         return result;
     }
 
+    private String getRequestBody(final String input) {
+        return getInput(input, body == null && method.getRequestHasBody() ? INPUT_DESIGNATOR : body);
+    }
+
+    private HttpURLConnection connect(final URL urlToOpen, final String requestBody) throws IOException {
+        for (int attempt = 0; ; ++attempt) {
+            final HttpURLConnection connection = requestBody != null ?
+                doOutput(urlToOpen, requestBody) : doRedirects(urlToOpen);
+
+            final int responseCode = connection.getResponseCode();
+            if (attempt >= retries || responseCode != HTTP_TOO_MANY_REQUESTS &&
+                    responseCode < HttpURLConnection.HTTP_INTERNAL_ERROR) {
+                return connection;
+            }
+
+            final long delay = getRetryDelay(connection, attempt);
+            discardResponse(connection);
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+
+    private long getRetryDelay(final HttpURLConnection connection, final int attempt) {
+        final String retryAfter = connection.getHeaderField("Retry-After");
+
+        if (retryAfter != null) {
+            try {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+            }
+            catch (final NumberFormatException e) {
+                // Retry-After may also be an HTTP date; use the backoff delay instead
+            }
+        }
+
+        return (long) retryDelay << Math.min(attempt, MAX_BACKOFF_SHIFT);
+    }
+
+    private void discardResponse(final HttpURLConnection connection) throws IOException {
+        // Reading the response body to the end allows the connection to be reused
+        try (InputStream errorStream = connection.getErrorStream()) {
+            if (errorStream != null) {
+                errorStream.readAllBytes();
+            }
+        }
+    }
+
     private HttpURLConnection doOutput(final URL urlToOpen, final String requestBody) throws IOException {
         final HttpURLConnection connection = openConnection(urlToOpen);
 
@@ -394,12 +638,9 @@ private HttpURLConnection openConnection(final URL urlToOpen) throws IOException
 
     private InputStream getInputStream(final HttpURLConnection connection) throws IOException {
         try {
-            successful = true;
             return connection.getInputStream();
         }
         catch (final IOException e) {
-            successful = false;
-
             final InputStream errorStream = connection.getErrorStream();
             if (errorStream != null) {
                 return getErrorStream(errorStream);
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+/**
+ * Finds the boundaries of independently compressed members in a compressed
+ * byte stream, so that the members can be decompressed in parallel. The
+ * blocks of bzip2 data are found by {@link Bzip2BlockSplitter} instead.
+ *
+ */
+enum MemberSplitter {
+
+    /**
+     * Splits BGZF files (blocked gzip as used by bgzip), whose members carry
+     * their compressed size in the {@code BC} extra field. Other multi-member
+     * gzip files cannot be split without decompressing them.
+     */
+    BGZF {
+        private static final int HEADER_LENGTH = 12;
+        private static final int SUBFIELD_HEADER_LENGTH = 4;
+        private static final int XLEN_OFFSET = 10;
+        private static final int FLAG_OFFSET = 3;
+        private static final int FEXTRA = 0x04;
+        private static final int DEFLATE = 8;
+        private static final int ID1 = 0x1f;
+        private static final int ID2 = 0x8b;
+        private static final int SI1 = 'B';
+        private static final int SI2 = 'C';
+        private static final int BSIZE_LENGTH = 2;
+
+        @Override
+        int memberLength(final byte[] buffer, final int length) {
+            if (length < HEADER_LENGTH) {
+                return 0;
+            }
+
+            if (unsigned(buffer[0]) != ID1 || unsigned(buffer[1]) != ID2 || buffer[2] != DEFLATE ||
+                    (buffer[FLAG_OFFSET] & FEXTRA) == 0) {
+                return -1;
+            }
+
+            final int extraEnd = HEADER_LENGTH + readShort(buffer, XLEN_OFFSET);
+            if (length < extraEnd) {
+                return 0;
+            }
+
+            int pos = HEADER_LENGTH;
+            while (pos + SUBFIELD_HEADER_LENGTH <= extraEnd) {
+                final int subfieldLength = readShort(buffer, pos + 2);
+
+                if (buffer[pos] == SI1 && buffer[pos + 1] == SI2 && subfieldLength == BSIZE_LENGTH &&
+                        pos + SUBFIELD_HEADER_LENGTH + BSIZE_LENGTH <= extraEnd) {
+                    final int memberLength = readShort(buffer, pos + SUBFIELD_HEADER_LENGTH) + 1;
+                    return memberLength <= length ? memberLength : 0;
+                }
+
+                pos += SUBFIELD_HEADER_LENGTH + subfieldLength;
+            }
+
+            return -1;
+        }
+
+        private int readShort(final byte[] buffer, final int offset) {
+            return unsigned(buffer[offset]) | unsigned(buffer[offset + 1]) << Byte.SIZE;
+        }
+
+        private int unsigned(final byte b) {
+            return b & 0xff; // checkstyle-disable-line MagicNumber
+        }
+    };
+
+    /**
+     * Determines the length of the member at the start of the buffer.
+     *
+     * @param buffer the buffered bytes, starting with a member
+     * @param length the number of valid bytes in the buffer
+     * @return the length of the member, 0 if more bytes are needed to find
+     *         the end of the member, or -1 if the data cannot be split
+     */
+    abstract int memberLength(byte[] buffer, int length);
+
+}
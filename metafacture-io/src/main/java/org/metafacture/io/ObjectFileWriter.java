@@ -16,6 +16,7 @@
 
 package org.metafacture.io;
 
+import org.metafacture.framework.DirectSink;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.MetafactureException;
 import org.metafacture.framework.annotations.Description;
@@ -31,6 +32,11 @@
 import java.util.regex.Pattern;
 
 /**
+ * Writes objects to one (or more) file(s).
+ * <p>
+ * Encoders may also write their output directly to the file (see
+ * {@link DirectSink}).
+ *
  * @param <T>
  *            object type
  *
@@ -42,7 +48,7 @@
 @In(Object.class)
 @Out(Void.class)
 @FluxCommand("write-files")
-public final class ObjectFileWriter<T> extends AbstractObjectWriter<T>  {
+public final class ObjectFileWriter<T> extends AbstractObjectWriter<T> implements DirectSink {
 
     private static final String VAR = "${i}";
     private static final Pattern VAR_PATTERN = Pattern.compile(VAR, Pattern.LITERAL);
@@ -51,6 +57,7 @@
     private int count;
     private Writer writer;
     private boolean appendIfFileExists;
+    private int compressThreads;
     private boolean firstObject = true;
     private boolean closed;
 
@@ -97,14 +104,7 @@ public void process(final T obj) {
         final String objStr = obj.toString();
         if (!objStr.isEmpty()) {
             try {
-                if (firstObject) {
-                    getWriter().write(getHeader());
-                    firstObject = false;
-                }
-                else {
-                    getWriter().write(getSeparator());
-                }
-                getWriter().write(objStr);
+                beginObject().write(objStr);
             }
             catch (final IOException e) {
                 throw new MetafactureException(e);
@@ -112,6 +112,24 @@ public void process(final T obj) {
         }
     }
 
+    @Override
+    public Writer beginObject() {
+        assert !closed;
+        try {
+            if (firstObject) {
+                getWriter().write(getHeader());
+                firstObject = false;
+            }
+            else {
+                getWriter().write(getSeparator());
+            }
+        }
+        catch (final IOException e) {
+            throw new MetafactureException(e);
+        }
+        return getWriter();
+    }
+
     @Override
     public void resetStream() {
         closeStream();
@@ -152,13 +170,38 @@ public void setAppendIfFileExists(final boolean appendIfFileExists) {
         this.appendIfFileExists = appendIfFileExists;
     }
 
+    /**
+     * Sets the number of threads used to compress the file. With gzip and
+     * bzip2 compression, blocks of the output are compressed in parallel.
+     * The files remain standard single-member files.
+     * <p>
+     * <strong>Default value: 0</strong> (compress on the writing thread)
+     * <p>
+     * This property can be changed anytime during processing. It becomes
+     * effective the next time a new output file is opened.
+     *
+     * @param compressThreads the number of compressing threads
+     */
+    public void setCompressThreads(final int compressThreads) {
+        this.compressThreads = compressThreads;
+    }
+
+    /**
+     * Gets the number of threads used to compress the file.
+     *
+     * @return the number of compressing threads
+     */
+    public int getCompressThreads() {
+        return compressThreads;
+    }
+
     private void startNewFile() {
         final Matcher matcher = VAR_PATTERN.matcher(this.path);
         final String currentPath = matcher.replaceAll(String.valueOf(count));
         try {
             final OutputStream file = new FileOutputStream(currentPath, appendIfFileExists);
             try {
-                final OutputStream compressor = compression.createCompressor(file, currentPath);
+                final OutputStream compressor = compression.createCompressor(file, currentPath, compressThreads);
                 try {
                     writer = new OutputStreamWriter(compressor, encoding);
                     firstObject = true;
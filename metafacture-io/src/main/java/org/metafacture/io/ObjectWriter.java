@@ -16,12 +16,14 @@
 
 package org.metafacture.io;
 
+import org.metafacture.framework.DirectSink;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.annotations.Description;
 import org.metafacture.framework.annotations.In;
 import org.metafacture.framework.annotations.Out;
 import org.metafacture.framework.annotations.ReturnsAvailableArguments;
 
+import java.io.Writer;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -38,7 +40,7 @@
 @In(Object.class)
 @Out(Void.class)
 @FluxCommand("write")
-public final class ObjectWriter<T> implements ConfigurableObjectWriter<T> {
+public final class ObjectWriter<T> implements ConfigurableObjectWriter<T>, DirectSink {
 
     public static final String STDOUT = "stdout";
 
@@ -142,11 +144,29 @@ public void setAppendIfFileExists(final boolean appendIfFileExists) {
         }
     }
 
+    /**
+     * Sets the number of threads used to compress the file.
+     *
+     * @see ObjectFileWriter#setCompressThreads
+     *
+     * @param compressThreads the number of compressing threads
+     */
+    public void setCompressThreads(final int compressThreads) {
+        if (objectWriter instanceof ObjectFileWriter) {
+            ((ObjectFileWriter) objectWriter).setCompressThreads(compressThreads);
+        }
+    }
+
     @Override
     public void process(final T obj) {
         objectWriter.process(obj);
     }
 
+    @Override
+    public Writer beginObject() {
+        return objectWriter instanceof DirectSink ? ((DirectSink) objectWriter).beginObject() : null;
+    }
+
     @Override
     public void resetStream() {
         objectWriter.resetStream();
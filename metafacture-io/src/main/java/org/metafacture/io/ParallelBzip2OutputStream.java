@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a bzip2 file whose blocks are compressed in parallel. Each block is
+ * compressed as a stream of its own; the compressed blocks are then cut out
+ * of these streams and joined bit by bit into a single bzip2 stream with a
+ * combined checksum. The result is an ordinary single-stream bzip2 file.
+ *
+ */
+final class ParallelBzip2OutputStream extends ParallelCompressorOutputStream<ParallelBzip2OutputStream.Block> {
+
+    private static final int BLOCK_SIZE_100K = 9;
+
+    // The initial run-length encoding expands data by at most 5/4, which
+    // ensures that each block fits into a single bzip2 block of 900 kB.
+    private static final int BLOCK_SIZE = 700 * 1000;
+
+    private static final byte[] HEADER = {'B', 'Z', 'h', '0' + BLOCK_SIZE_100K};
+
+    private static final long END_OF_STREAM_MAGIC = 0x177245385090L;
+    private static final int MAGIC_BITS = 48;
+    private static final int CRC_BITS = 32;
+    private static final int HEADER_BITS = HEADER.length * Byte.SIZE;
+    private static final int CRC_OFFSET = HEADER.length + MAGIC_BITS / Byte.SIZE;
+
+    private static final int BYTE_MASK = 0xff;
+    private static final long INT_MASK = 0xffffffffL;
+
+    private int combinedCrc;
+    private long bitBuffer;
+    private int bitCount;
+
+    /**
+     * Creates a parallel bzip2 compressor.
+     *
+     * @param out     the stream to write the compressed data to
+     * @param threads the number of compressing threads
+     */
+    ParallelBzip2OutputStream(final OutputStream out, final int threads) {
+        super(out, BLOCK_SIZE, threads);
+    }
+
+    @Override
+    protected void writeHeader(final OutputStream stream) throws IOException {
+        stream.write(HEADER);
+    }
+
+    @Override
+    protected void update(final byte[] data, final int count) {
+        // The checksums are calculated by the compressor
+    }
+
+    @Override
+    protected Block compress(final byte[] data, final int count, final byte[] dictionary, final boolean last) throws IOException {
+        if (count == 0) {
+            return null;
+        }
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(count / 2);
+        try (OutputStream compressor = new BZip2CompressorOutputStream(compressed, BLOCK_SIZE_100K)) {
+            compressor.write(data, 0, count);
+        }
+
+        final byte[] stream = compressed.toByteArray();
+        final int crc = (int) readBits(stream, CRC_OFFSET * Byte.SIZE, CRC_BITS);
+
+        return new Block(stream, crc, findEndOfStream(stream, crc));
+    }
+
+    @Override
+    protected void writeBlock(final OutputStream stream, final Block block) throws IOException {
+        if (block == null) {
+            return;
+        }
+
+        combinedCrc = (combinedCrc << 1 | combinedCrc >>> (CRC_BITS - 1)) ^ block.crc;
+
+        final byte[] data = block.stream;
+        final int fullBytes = (int) (block.endBit / Byte.SIZE);
+        final int remainingBits = (int) (block.endBit % Byte.SIZE);
+
+        if (bitCount == 0) {
+            stream.write(data, HEADER.length, fullBytes - HEADER.length);
+        }
+        else {
+            for (int i = HEADER.length; i < fullBytes; ++i) {
+                writeBits(stream, data[i] & BYTE_MASK, Byte.SIZE);
+            }
+        }
+
+        if (remainingBits > 0) {
+            writeBits(stream, (data[fullBytes] & BYTE_MASK) >>> (Byte.SIZE - remainingBits), remainingBits);
+        }
+    }
+
+    @Override
+    protected void writeTrailer(final OutputStream stream) throws IOException {
+        writeBits(stream, END_OF_STREAM_MAGIC >>> CRC_BITS, MAGIC_BITS - CRC_BITS);
+        writeBits(stream, END_OF_STREAM_MAGIC & INT_MASK, CRC_BITS);
+        writeBits(stream, combinedCrc & INT_MASK, CRC_BITS);
+        if (bitCount > 0) {
+            writeBits(stream, 0, Byte.SIZE - bitCount);
+        }
+    }
+
+    private void writeBits(final OutputStream stream, final long value, final int count) throws IOException {
+        bitBuffer = bitBuffer << count | value & ((1L << count) - 1);
+        bitCount += count;
+
+        while (bitCount >= Byte.SIZE) {
+            bitCount -= Byte.SIZE;
+            stream.write((int) (bitBuffer >>> bitCount) & BYTE_MASK);
+        }
+
+        bitBuffer &= (1L << bitCount) - 1;
+    }
+
+    /**
+     * Finds the end-of-stream marker of a single-block stream. It is followed
+     * by the stream checksum, which equals the block checksum, and by up to
+     * seven padding bits.
+     */
+    private static long findEndOfStream(final byte[] stream, final int crc) throws IOException {
+        final long totalBits = (long) stream.length * Byte.SIZE;
+
+        for (int padding = 0; padding < Byte.SIZE; ++padding) {
+            final long start = totalBits - padding - MAGIC_BITS - CRC_BITS;
+            if (start > HEADER_BITS &&
+                    readBits(stream, start, MAGIC_BITS) == END_OF_STREAM_MAGIC &&
+                    readBits(stream, start + MAGIC_BITS, CRC_BITS) == (crc & INT_MASK)) {
+                return start;
+            }
+        }
+
+        throw new IOException("Could not find the end of the compressed bzip2 block");
+    }
+
+    private static long readBits(final byte[] data, final long start, final int count) {
+        long value = 0;
+        for (long bit = start; bit < start + count; ++bit) {
+            final int b = data[(int) (bit / Byte.SIZE)] >>> (Byte.SIZE - 1 - (int) (bit % Byte.SIZE)) & 1;
+            value = value << 1 | b;
+        }
+        return value;
+    }
+
+    /**
+     * A compressed block: a single-block bzip2 stream together with the
+     * checksum of the block and the position of the end-of-stream marker.
+     */
+    static final class Block {
+
+        private final byte[] stream;
+        private final int crc;
+        private final long endBit;
+
+        Block(final byte[] stream, final int crc, final long endBit) {
+            this.stream = stream;
+            this.crc = crc;
+            this.endBit = endBit;
+        }
+
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Base class for compressors which split their input into blocks and
+ * compress the blocks in parallel. The compressed blocks are written in
+ * their original order; at most two blocks per thread are pending at any
+ * time.
+ *
+ * @param <B> type of the compressed blocks
+ */
+abstract class ParallelCompressorOutputStream<B> extends OutputStream {
+
+    private final OutputStream out;
+    private final ExecutorService executor;
+    private final Deque<Future<B>> pending = new ArrayDeque<>();
+    private final int maxPending;
+
+    private byte[] block;
+    private byte[] previousBlock;
+    private int length;
+    private boolean headerWritten;
+    private boolean closed;
+
+    /**
+     * Creates a parallel compressor.
+     *
+     * @param out       the stream to write the compressed data to
+     * @param blockSize the number of uncompressed bytes per block
+     * @param threads   the number of compressing threads
+     */
+    ParallelCompressorOutputStream(final OutputStream out, final int blockSize, final int threads) {
+        this.out = out;
+        block = new byte[blockSize];
+        maxPending = 2 * threads;
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "compress");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (length == block.length) {
+            submitBlock(false);
+        }
+        block[length++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+
+        while (remaining > 0) {
+            if (length == block.length) {
+                submitBlock(false);
+            }
+
+            final int count = Math.min(remaining, block.length - length);
+            System.arraycopy(b, offset, block, length, count);
+            length += count;
+            offset += count;
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Writes all blocks which have been compressed so far. The current block
+     * is not compressed before it is full, since this would worsen the
+     * compression.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void flush() throws IOException {
+        while (!pending.isEmpty() && pending.peekFirst().isDone()) {
+            writeNextBlock();
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                submitBlock(true);
+                while (!pending.isEmpty()) {
+                    writeNextBlock();
+                }
+                writeTrailer(out);
+            }
+            finally {
+                executor.shutdownNow();
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Writes the header of the compressed stream.
+     *
+     * @param stream the stream to write to
+     * @throws IOException if writing fails
+     */
+    protected abstract void writeHeader(OutputStream stream) throws IOException;
+
+    /**
+     * Called on the writing thread with every block before it is compressed,
+     * e.g. to update a checksum.
+     *
+     * @param data   the uncompressed data
+     * @param count  the number of bytes in the block
+     */
+    protected abstract void update(byte[] data, int count);
+
+    /**
+     * Compresses a block. Called concurrently on the compressing threads.
+     *
+     * @param data       the uncompressed data
+     * @param count      the number of bytes in the block
+     * @param dictionary the uncompressed data of the previous block or null
+     * @param last       true if this is the last block of the stream
+     * @return the compressed block
+     * @throws IOException if compression fails
+     */
+    protected abstract B compress(byte[] data, int count, byte[] dictionary, boolean last) throws IOException;
+
+    /**
+     * Writes a compressed block.
+     *
+     * @param stream     the stream to write to
+     * @param compressed the compressed block
+     * @throws IOException if writing fails
+     */
+    protected abstract void writeBlock(OutputStream stream, B compressed) throws IOException;
+
+    /**
+     * Writes the trailer of the compressed stream.
+     *
+     * @param stream the stream to write to
+     * @throws IOException if writing fails
+     */
+    protected abstract void writeTrailer(OutputStream stream) throws IOException;
+
+    private void submitBlock(final boolean last) throws IOException {
+        if (!headerWritten) {
+            writeHeader(out);
+            headerWritten = true;
+        }
+
+        final byte[] data = block;
+        final int count = length;
+        final byte[] dictionary = previousBlock;
+        update(data, count);
+
+        pending.addLast(executor.submit(() -> compress(data, count, dictionary, last)));
+
+        previousBlock = data;
+        block = last ? null : new byte[data.length];
+        length = 0;
+
+        while (pending.size() > maxPending) {
+            writeNextBlock();
+        }
+    }
+
+    private void writeNextBlock() throws IOException {
+        try {
+            writeBlock(out, pending.removeFirst().get());
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Returns the last bytes of the given data.
+     *
+     * @param data  the data
+     * @param count the number of valid bytes in the data
+     * @param size  the maximum number of bytes to return
+     * @return the last bytes
+     */
+    static byte[] tail(final byte[] data, final int count, final int size) {
+        return Arrays.copyOfRange(data, Math.max(0, count - size), count);
+    }
+
+}
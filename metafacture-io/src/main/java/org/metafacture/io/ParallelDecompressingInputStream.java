@@ -0,0 +1,310 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Decompresses a stream on background threads. The compressed data is read
+ * and decompressed ahead of the consumer into a bounded queue of chunks.
+ * <p>
+ * If more than one thread is available, the blocks of bzip2 data (see
+ * {@link Bzip2BlockSplitter}) and the members of concatenated data which can
+ * be found without decompressing them (see {@link MemberSplitter}) are
+ * decompressed in parallel. The decompressed data is always returned in the
+ * original order. Data which cannot be split is decompressed sequentially on
+ * a single background thread.
+ *
+ */
+final class ParallelDecompressingInputStream extends InputStream {
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+    private static final int MAX_MEMBER_SIZE = 32 * 1024 * 1024;
+    private static final int MEMBER_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] END_OF_STREAM = new byte[0];
+
+    private final InputStream source;
+    private final FileCompression compression;
+    private final boolean decompressConcatenated;
+    private final boolean splitBzip2Blocks;
+    private final MemberSplitter splitter;
+    private final BlockingQueue<Future<byte[]>> chunks;
+    private final ExecutorService executor;
+    private final Thread producer;
+
+    private byte[] chunk = END_OF_STREAM;
+    private int pos;
+    private boolean endReached;
+    private volatile boolean closed;
+
+    /**
+     * Creates a decompressing stream and starts decompressing in the
+     * background.
+     *
+     * @param source                 the compressed data
+     * @param compression            the compression used to create the
+     *                               decompressors
+     * @param decompressConcatenated true if concatenated members should be
+     *                               decompressed
+     * @param threads                the number of decompressing threads
+     */
+    ParallelDecompressingInputStream(final InputStream source, final FileCompression compression,
+            final boolean decompressConcatenated, final int threads) {
+        this.source = source;
+        this.compression = compression;
+        this.decompressConcatenated = decompressConcatenated;
+
+        splitBzip2Blocks = threads > 1 && compression == FileCompression.BZIP2;
+        splitter = decompressConcatenated && threads > 1 ? compression.getMemberSplitter() : null;
+        chunks = new ArrayBlockingQueue<>(2 * threads);
+        executor = splitBzip2Blocks || splitter != null ? Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "decompress");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+
+        producer = new Thread(this::produce, "decompress-read-ahead");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextChunk()) {
+            return -1;
+        }
+        return chunk[pos++] & 0xff; // checkstyle-disable-line MagicNumber
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextChunk()) {
+            return -1;
+        }
+
+        final int count = Math.min(len, chunk.length - pos);
+        System.arraycopy(chunk, pos, b, off, count);
+        pos += count;
+
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return chunk.length - pos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            producer.interrupt();
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            chunks.clear();
+            source.close();
+        }
+    }
+
+    private boolean nextChunk() throws IOException {
+        while (pos == chunk.length) {
+            if (endReached || closed) {
+                return false;
+            }
+
+            final byte[] next;
+            try {
+                next = chunks.take().get();
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+
+            if (next == END_OF_STREAM) {
+                endReached = true;
+            }
+            chunk = next;
+            pos = 0;
+        }
+
+        return true;
+    }
+
+    private void produce() {
+        try {
+            final InputStream remainder;
+            if (splitBzip2Blocks) {
+                remainder = splitBlocks();
+            }
+            else {
+                remainder = splitter != null ? splitMembers() : source;
+            }
+            if (remainder != null) {
+                decompressSequentially(remainder);
+            }
+            chunks.put(CompletableFuture.completedFuture(END_OF_STREAM));
+        }
+        catch (final InterruptedException e) {
+            // The stream was closed
+        }
+        catch (final IOException | RuntimeException e) { // checkstyle-disable-line IllegalCatch
+            final CompletableFuture<byte[]> failure = new CompletableFuture<>();
+            failure.completeExceptionally(e);
+            try {
+                chunks.put(failure);
+            }
+            catch (final InterruptedException ie) {
+                // The stream was closed
+            }
+        }
+        finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Submits the blocks of bzip2 data for parallel decompression.
+     *
+     * @return null, since all data was submitted
+     */
+    private InputStream splitBlocks() throws IOException, InterruptedException {
+        final Bzip2BlockSplitter blockSplitter = new Bzip2BlockSplitter(source, decompressConcatenated);
+
+        Bzip2BlockSplitter.Block block;
+        while ((block = blockSplitter.next()) != null) {
+            chunks.put(executor.submit(block::decompress));
+        }
+
+        return null;
+    }
+
+    /**
+     * Submits members for parallel decompression until the end of the source
+     * is reached or the data cannot be split any further.
+     *
+     * @return null if all data was submitted, otherwise a stream of the
+     *         remaining data
+     */
+    private InputStream splitMembers() throws IOException, InterruptedException {
+        byte[] buffer = new byte[CHUNK_SIZE];
+        int length = 0;
+        boolean sourceEnded = false;
+
+        while (true) {
+            final int memberLength = length > 0 ? splitter.memberLength(buffer, length) : 0;
+
+            if (memberLength > 0) {
+                submitMember(Arrays.copyOf(buffer, memberLength));
+                length -= memberLength;
+                System.arraycopy(buffer, memberLength, buffer, 0, length);
+            }
+            else if (memberLength < 0) {
+                return new SequenceInputStream(new ByteArrayInputStream(buffer, 0, length), source);
+            }
+            else if (sourceEnded) {
+                if (length > 0) {
+                    submitMember(Arrays.copyOf(buffer, length));
+                }
+                return null;
+            }
+            else {
+                if (length == buffer.length) {
+                    if (buffer.length >= MAX_MEMBER_SIZE) {
+                        return new SequenceInputStream(new ByteArrayInputStream(buffer, 0, length), source);
+                    }
+                    buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+                }
+
+                final int read = source.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    sourceEnded = true;
+                }
+                else {
+                    length += read;
+                }
+            }
+        }
+    }
+
+    private void submitMember(final byte[] member) throws InterruptedException {
+        chunks.put(executor.submit(() -> {
+            final InputStream memberStream = new BufferedInputStream(new ByteArrayInputStream(member), MEMBER_BUFFER_SIZE);
+            try (InputStream decompressor = compression.createDecompressor(memberStream, false)) {
+                final ByteArrayOutputStream output = new ByteArrayOutputStream(member.length * 4); // checkstyle-disable-line MagicNumber
+                final byte[] buffer = new byte[MEMBER_BUFFER_SIZE];
+                int read;
+                while ((read = decompressor.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                }
+                return output.toByteArray();
+            }
+        }));
+    }
+
+    private void decompressSequentially(final InputStream compressed) throws IOException, InterruptedException {
+        try (InputStream decompressor = compression.createDecompressor(compressed, decompressConcatenated)) {
+            while (true) {
+                final byte[] buffer = new byte[CHUNK_SIZE];
+                int length = 0;
+                int read = 0;
+                while (length < buffer.length && (read = decompressor.read(buffer, length, buffer.length - length)) != -1) {
+                    length += read;
+                }
+
+                if (length > 0) {
+                    chunks.put(CompletableFuture.completedFuture(length == buffer.length ? buffer : Arrays.copyOf(buffer, length)));
+                }
+                if (read == -1) {
+                    break;
+                }
+            }
+        }
+    }
+
+}
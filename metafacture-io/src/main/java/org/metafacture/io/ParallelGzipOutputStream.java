@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a gzip file whose blocks are deflated in parallel, like pigz does.
+ * Each block is primed with the last 32 KiB of the previous block and ends
+ * with a sync flush, so that the deflated blocks form a single deflate
+ * stream. The result is an ordinary single-member gzip file.
+ *
+ */
+final class ParallelGzipOutputStream extends ParallelCompressorOutputStream<byte[]> {
+
+    private static final int BLOCK_SIZE = 128 * 1024;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] HEADER = {
+        0x1f, (byte) 0x8b, // magic number
+        Deflater.DEFLATED, // compression method
+        0,                 // flags
+        0, 0, 0, 0,        // modification time
+        0,                 // extra flags
+        (byte) 0xff,       // operating system: unknown
+    };
+
+    private static final int BYTE_MASK = 0xff;
+
+    private final CRC32 crc = new CRC32();
+    private long size;
+
+    /**
+     * Creates a parallel gzip compressor.
+     *
+     * @param out     the stream to write the compressed data to
+     * @param threads the number of compressing threads
+     */
+    ParallelGzipOutputStream(final OutputStream out, final int threads) {
+        super(out, BLOCK_SIZE, threads);
+    }
+
+    @Override
+    protected void writeHeader(final OutputStream stream) throws IOException {
+        stream.write(HEADER);
+    }
+
+    @Override
+    protected void update(final byte[] data, final int count) {
+        crc.update(data, 0, count);
+        size += count;
+    }
+
+    @Override
+    protected byte[] compress(final byte[] data, final int count, final byte[] dictionary, final boolean last) {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(tail(dictionary, dictionary.length, DICTIONARY_SIZE));
+            }
+            deflater.setInput(data, 0, count);
+
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(count / 2);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+                }
+            }
+            else {
+                int deflated;
+                do {
+                    deflated = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    compressed.write(buffer, 0, deflated);
+                }
+                while (deflated == buffer.length);
+            }
+
+            return compressed.toByteArray();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    protected void writeBlock(final OutputStream stream, final byte[] compressed) throws IOException {
+        stream.write(compressed);
+    }
+
+    @Override
+    protected void writeTrailer(final OutputStream stream) throws IOException {
+        writeInt(stream, crc.getValue());
+        writeInt(stream, size);
+    }
+
+    private static void writeInt(final OutputStream stream, final long value) throws IOException {
+        for (int i = 0; i < Integer.BYTES; ++i) {
+            stream.write((int) (value >>> (i * Byte.SIZE)) & BYTE_MASK);
+        }
+    }
+
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.io;
+
+import org.metafacture.framework.MetafactureException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Performs requests on background threads and passes their results to a
+ * consumer on the submitting thread, either in the order in which the
+ * requests were submitted or in the order in which they complete. At most
+ * two requests per thread are pending at any time; the number of requests
+ * running at the same time for the same key (e.g. a host) can be limited.
+ * Requests which wait for their key are queued without occupying a thread,
+ * so that requests for other keys can run in the meantime.
+ *
+ * @param <T> type of the request results
+ */
+final class RequestPipeline<T> {
+
+    private final Deque<Request> pending = new ArrayDeque<>();
+    private final BlockingQueue<Request> completed = new LinkedBlockingQueue<>();
+    private final Map<String, KeyQueue> keyQueues = new HashMap<>();
+    private final ExecutorService executor;
+    private final int maxPending;
+    private final int maxPerKey;
+    private final boolean ordered;
+    private final Consumer<T> consumer;
+
+    /**
+     * Creates a request pipeline.
+     *
+     * @param threads   the number of requests running at the same time
+     * @param maxPerKey the number of requests running at the same time for
+     *                  the same key, or 0 for no limit
+     * @param ordered   true if results should be passed on in the order of
+     *                  submission
+     * @param consumer  the consumer of the results
+     */
+    RequestPipeline(final int threads, final int maxPerKey, final boolean ordered, final Consumer<T> consumer) {
+        this.maxPerKey = maxPerKey;
+        this.ordered = ordered;
+        this.consumer = consumer;
+
+        maxPending = 2 * threads;
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "request");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits a request and passes on the results of all requests which have
+     * completed in the meantime. Blocks while too many requests are pending.
+     *
+     * @param key     the key whose concurrency limit applies to the request
+     * @param request the request
+     */
+    void submit(final String key, final Callable<T> request) {
+        final KeyQueue keyQueue = maxPerKey > 0 ? keyQueues.computeIfAbsent(key, k -> new KeyQueue()) : null;
+        final Request task = new Request(request, keyQueue);
+
+        pending.addLast(task);
+        if (keyQueue != null) {
+            keyQueue.add(task);
+        }
+        else {
+            task.start();
+        }
+
+        passOn(maxPending);
+    }
+
+    /**
+     * Waits for all pending requests and passes on their results. If a
+     * request failed, the remaining requests are cancelled.
+     */
+    void drain() {
+        try {
+            passOn(0);
+        }
+        finally {
+            cancelPending();
+        }
+    }
+
+    /**
+     * Cancels all pending requests and stops the background threads.
+     */
+    void close() {
+        cancelPending();
+        executor.shutdownNow();
+    }
+
+    private void cancelPending() {
+        pending.forEach(Request::cancel);
+        pending.clear();
+        completed.clear();
+    }
+
+    private void passOn(final int maxRemaining) {
+        while (!pending.isEmpty()) {
+            final Request request = next(pending.size() > maxRemaining);
+            if (request == null) {
+                break;
+            }
+            consumer.accept(get(request.result));
+        }
+    }
+
+    private Request next(final boolean wait) {
+        if (ordered) {
+            return wait || pending.peekFirst().result.isDone() ? pending.removeFirst() : null;
+        }
+
+        final Request request;
+        try {
+            request = wait ? completed.take() : completed.poll();
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
+        }
+
+        if (request != null) {
+            pending.remove(request);
+        }
+        return request;
+    }
+
+    private T get(final Future<T> future) {
+        try {
+            return future.get();
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
+        }
+        catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new MetafactureException(cause);
+        }
+    }
+
+    /**
+     * A request and its result.
+     */
+    private final class Request implements Runnable {
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final Callable<T> callable;
+        private final KeyQueue keyQueue;
+
+        private Thread runner;
+
+        private Request(final Callable<T> callable, final KeyQueue keyQueue) {
+            this.callable = callable;
+            this.keyQueue = keyQueue;
+
+            if (!ordered) {
+                result.whenComplete((r, e) -> completed.add(this));
+            }
+        }
+
+        /**
+         * Hands the request to the executor unless it has been cancelled.
+         *
+         * @return false if the request has been cancelled
+         */
+        private boolean start() {
+            if (result.isDone()) {
+                return false;
+            }
+
+            try {
+                executor.execute(this);
+            }
+            catch (final RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+            return true;
+        }
+
+        private synchronized void cancel() {
+            result.cancel(false);
+            if (runner != null) {
+                runner.interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                synchronized (this) {
+                    if (result.isDone()) {
+                        return;
+                    }
+                    runner = Thread.currentThread();
+                }
+
+                try {
+                    result.complete(callable.call());
+                }
+                catch (final Throwable e) { // checkstyle-disable-line IllegalCatch
+                    result.completeExceptionally(e);
+                }
+                finally {
+                    synchronized (this) {
+                        runner = null;
+                    }
+                }
+            }
+            finally {
+                if (keyQueue != null) {
+                    keyQueue.release();
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The requests which wait for a key. A request is handed to the executor
+     * only when fewer than the maximum number of requests for its key are
+     * running.
+     */
+    private final class KeyQueue {
+
+        private final Deque<Request> waiting = new ArrayDeque<>();
+        private int running;
+
+        private KeyQueue() {
+        }
+
+        private synchronized void add(final Request request) {
+            if (running < maxPerKey) {
+                ++running;
+                if (!request.start()) {
+                    release();
+                }
+            }
+            else {
+                waiting.addLast(request);
+            }
+        }
+
+        /**
+         * Called when a request for this key has finished; starts the next
+         * waiting request which has not been cancelled.
+         */
+        private synchronized void release() {
+            Request next = waiting.pollFirst();
+            while (next != null && !next.start()) {
+                next = waiting.pollFirst();
+            }
+            if (next == null) {
+                --running;
+            }
+        }
+
+    }
+
+}
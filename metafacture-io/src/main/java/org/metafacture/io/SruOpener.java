@@ -24,22 +24,25 @@
 import org.metafacture.framework.annotations.Out;
 import org.metafacture.framework.helpers.DefaultObjectPipe;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
-
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import java.util.function.Consumer;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * Opens an SRU (Search Retrieval by URL) stream and passes a reader to the receiver. Pages through the SRU.
@@ -51,37 +54,35 @@
                 "to be retrieved from. Mandatory argument is: QUERY.\n" +
                 "The output is an XML document holding the user defined \"maximumRecords\" as documents - or all, if not set." +
                 " If there are more documents than defined by \"maximumRecords\" and there are more documents wanted (defined by " +
-                "\"totalRecords\") there will be consecutive XML documents output as it pages through the SRU.")
+                "\"totalRecords\") there will be consecutive XML documents output as it pages through the SRU." +
+                " Set \"prefetch\" to the number of pages to be retrieved in the background ahead of the receiver.")
 @In(String.class)
 @Out(java.io.Reader.class)
 @FluxCommand("open-sru")
 public final class SruOpener extends DefaultObjectPipe<String, ObjectReceiver<Reader>> {
 
-    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
     private static final String DEFAULT_QUERY = "cql.allRecords = 1";
     private static final String OPERATION = "searchRetrieve";
     private static final String USER_AGENT = "metafacture-core";
     private static final String VERSION = "2.0";
     private static final int START_RECORD = 1;
 
-    private final DocumentBuilder docBuilder;
+    private static final String NUMBER_OF_RECORDS = "numberOfRecords";
+    private static final String RECORD_POSITION = "recordPosition";
+    private static final String NEXT_RECORD_POSITION = "nextRecordPosition";
+
     private final HttpOpener httpOpener = new HttpOpener();
     private final Map<String, String> queryParameters = new TreeMap<>();
 
     private int startRecord = START_RECORD;
     private int totalRecords = Integer.MAX_VALUE;
+    private int prefetch;
 
     /**
      * Default constructor
      */
     public SruOpener() {
-        try {
-            docBuilder = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
-        }
-        catch (final ParserConfigurationException e) {
-            throw new MetafactureException(e);
-        }
-
         setOperation(OPERATION);
         setQuery(DEFAULT_QUERY);
         setUserAgent(USER_AGENT);
@@ -163,6 +164,18 @@ public void setVersion(final String version) {
         queryParameters.put("version", version);
     }
 
+    /**
+     * Sets the number of pages which are retrieved ahead of the receiver. With
+     * a positive value, the pages are retrieved on a background thread while
+     * the receiver processes the previous pages. <strong>Default value: 0</strong>
+     * (each page is retrieved after the previous page has been processed).
+     *
+     * @param prefetch the maximum number of pages waiting for the receiver
+     */
+    public void setPrefetch(final int prefetch) {
+        this.prefetch = prefetch;
+    }
+
     @Override
     public void process(final String baseUrl) {
         final StringBuilder urlBuilder = new StringBuilder(baseUrl).append("?");
@@ -172,6 +185,16 @@ public void process(final String baseUrl) {
         urlBuilder.append("startRecord=");
 
         final String url = urlBuilder.toString();
+
+        if (prefetch > 0) {
+            retrievePrefetching(url);
+        }
+        else {
+            retrieve(url, this::passOn);
+        }
+    }
+
+    private void retrieve(final String url, final Consumer<String> consumer) {
         int recordsRetrieved = 0;
         int numberOfRecords = Integer.MAX_VALUE;
 
@@ -187,35 +210,131 @@ public void process(final String baseUrl) {
                 }
             });
 
-            try {
-                try (Reader reader = new StringReader(responseBody.get())) {
-                    final Document xmldoc = docBuilder.parse(new InputSource(reader));
+            final Map<String, String> values = getElementValues(responseBody.get());
 
-                    numberOfRecords = getIntegerValueFromElement(xmldoc, "numberOfRecords", 0);
-                    final int recordPosition = getIntegerValueFromElement(xmldoc, "recordPosition", 0);
-                    final int nextRecordPosition = getIntegerValueFromElement(xmldoc, "nextRecordPosition", totalRecords);
+            numberOfRecords = getIntegerValue(values, NUMBER_OF_RECORDS, 0);
+            final int recordPosition = getIntegerValue(values, RECORD_POSITION, 0);
+            final int nextRecordPosition = getIntegerValue(values, NEXT_RECORD_POSITION, totalRecords);
 
-                    recordsRetrieved = recordsRetrieved + nextRecordPosition - recordPosition;
-                    startRecord = nextRecordPosition;
-                }
+            recordsRetrieved = recordsRetrieved + nextRecordPosition - recordPosition;
+            startRecord = nextRecordPosition;
+
+            consumer.accept(responseBody.get());
+
+            if (!successful) {
+                break;
+            }
+        }
+    }
+
+    private void retrievePrefetching(final String url) {
+        final BlockingQueue<Future<String>> pages = new ArrayBlockingQueue<>(prefetch);
 
-                try (Reader reader = new StringReader(responseBody.get())) {
-                    getReceiver().process(reader);
+        final Thread prefetcher = new Thread(() -> {
+            try {
+                retrieve(url, page -> put(pages, CompletableFuture.completedFuture(page)));
+                // A null page marks the end of the pages
+                pages.put(CompletableFuture.completedFuture(null));
+            }
+            catch (final InterruptedException e) {
+                // The receiver failed
+            }
+            catch (final RuntimeException e) { // checkstyle-disable-line IllegalCatch
+                final CompletableFuture<String> failure = new CompletableFuture<>();
+                failure.completeExceptionally(e);
+                try {
+                    pages.put(failure);
+                }
+                catch (final InterruptedException ie) {
+                    // The receiver failed
                 }
             }
-            catch (final IOException | SAXException e) {
-                throw new MetafactureException(e);
+        }, "sru-prefetch");
+
+        prefetcher.setDaemon(true);
+        prefetcher.start();
+
+        try {
+            String page;
+            while ((page = take(pages)) != null) {
+                passOn(page);
             }
+        }
+        finally {
+            prefetcher.interrupt();
+        }
+    }
 
-            if (!successful) {
-                break;
+    private void passOn(final String page) {
+        try (Reader reader = new StringReader(page)) {
+            getReceiver().process(reader);
+        }
+        catch (final IOException e) {
+            throw new MetafactureException(e);
+        }
+    }
+
+    private void put(final BlockingQueue<Future<String>> pages, final Future<String> page) {
+        try {
+            pages.put(page);
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
+        }
+    }
+
+    private String take(final BlockingQueue<Future<String>> pages) {
+        try {
+            return pages.take().get();
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
+        }
+        catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            throw new MetafactureException(cause);
         }
     }
 
-    private int getIntegerValueFromElement(final Document xmlDoc, final String tagName, final int fallback) {
-        final Node node = xmlDoc.getElementsByTagName(tagName).item(0);
-        return node != null ? Integer.parseInt(node.getTextContent()) : fallback;
+    /**
+     * Scans the response for the first occurrence of each element which is
+     * needed for paging, without building a document tree.
+     */
+    private Map<String, String> getElementValues(final String responseBody) {
+        final Map<String, String> values = new HashMap<>();
+
+        try {
+            final XMLStreamReader xmlReader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(responseBody));
+            try {
+                while (xmlReader.hasNext()) {
+                    if (xmlReader.next() == XMLStreamConstants.START_ELEMENT) {
+                        final String name = xmlReader.getLocalName();
+                        if ((NUMBER_OF_RECORDS.equals(name) || RECORD_POSITION.equals(name) ||
+                                NEXT_RECORD_POSITION.equals(name)) && !values.containsKey(name)) {
+                            values.put(name, xmlReader.getElementText());
+                        }
+                    }
+                }
+            }
+            finally {
+                xmlReader.close();
+            }
+        }
+        catch (final XMLStreamException e) {
+            throw new MetafactureException(e);
+        }
+
+        return values;
+    }
+
+    private int getIntegerValue(final Map<String, String> values, final String name, final int fallback) {
+        final String value = values.get(name);
+        return value != null ? Integer.parseInt(value.trim()) : fallback;
     }
 
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+import org.metafacture.framework.helpers.DefaultObjectReceiver;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for {@link ByteRecordReader}.
+ *
+ */
+public final class ByteRecordReaderTest {
+
+    private static final String SEPARATOR = "\u001d";
+
+    private final List<String> records = new ArrayList<>();
+
+    private ByteRecordReader reader;
+
+    public ByteRecordReaderTest() {
+    }
+
+    @Before
+    public void setup() {
+        reader = new ByteRecordReader();
+        reader.setReceiver(new DefaultObjectReceiver<ByteBuffer>() {
+            @Override
+            public void process(final ByteBuffer obj) {
+                records.add(StandardCharsets.UTF_8.decode(obj).toString());
+            }
+        });
+    }
+
+    @Test
+    public void shouldSplitRecordsAtSeparator() throws IOException {
+        read("record1" + SEPARATOR + "record2" + SEPARATOR);
+
+        Assert.assertEquals(Arrays.asList("record1", "record2"), records);
+    }
+
+    @Test
+    public void shouldEmitLastRecordWithoutSeparator() throws IOException {
+        read(SEPARATOR + "record1" + SEPARATOR + "record2");
+
+        Assert.assertEquals(Arrays.asList("record1", "record2"), records);
+    }
+
+    @Test
+    public void shouldEmitEmptyRecordsIfConfigured() throws IOException {
+        reader.setSkipEmptyRecords(false);
+        read("record1" + SEPARATOR + SEPARATOR + "record2");
+
+        Assert.assertEquals(Arrays.asList("record1", "", "record2"), records);
+    }
+
+    @Test
+    public void shouldUseCustomSeparator() throws IOException {
+        reader.setSeparator(":");
+        read("record1:record2");
+
+        Assert.assertEquals(Arrays.asList("record1", "record2"), records);
+    }
+
+    @Test
+    public void shouldHandleRecordsSpanningChunks() throws IOException {
+        reader.setChunkSize(3);
+        read("record1" + SEPARATOR + "r2" + SEPARATOR + "räcord3" + SEPARATOR);
+
+        Assert.assertEquals(Arrays.asList("record1", "r2", "räcord3"), records);
+    }
+
+    @Test
+    public void shouldNotEmitRecordIfInputIsEmpty() throws IOException {
+        reader.setSkipEmptyRecords(false);
+        read("");
+
+        Assert.assertEquals(Arrays.asList(), records);
+    }
+
+    private void read(final String input) throws IOException {
+        reader.read(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -96,4 +96,19 @@ public void testOpenCompressedFiles() throws IOException {
         TestHelpers.assertFile(receiver, DATA, file, o -> o.setCompression(compression));
     }
 
+    @Test
+    public void testOpenCompressedFilesInParallel() throws IOException {
+        final File file = tempFolder.newFile();
+
+        try (InputStream in = getClass().getResourceAsStream(resourcePath)) {
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        TestHelpers.assertFile(receiver, DATA, file, o -> {
+            o.setCompression(compression);
+            o.setDecompressConcatenated(true);
+            o.setDecompressThreads(2);
+        });
+    }
+
 }
@@ -19,6 +19,7 @@
 import org.metafacture.commons.ResourceUtil;
 import org.metafacture.framework.ObjectReceiver;
 
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.Rule;
@@ -28,6 +29,7 @@
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -72,15 +74,63 @@ public void testUtf8IsDefaultEncoding() throws IOException {
 
     @Test
     public void testNoDecompressConcatenated() throws IOException {
-        testDecompressConcatenated(false);
+        testDecompressConcatenated(false, 0);
     }
 
     @Test
     public void testDecompressConcatenated() throws IOException {
-        testDecompressConcatenated(true);
+        testDecompressConcatenated(true, 0);
     }
 
-    private void testDecompressConcatenated(final boolean decompressConcatenated) throws IOException {
+    @Test
+    public void testNoDecompressConcatenatedInBackground() throws IOException {
+        testDecompressConcatenated(false, 1);
+    }
+
+    @Test
+    public void testDecompressConcatenatedInParallel() throws IOException {
+        testDecompressConcatenated(true, 4);
+    }
+
+    @Test
+    public void testDecompressBzip2BlocksInParallel() throws IOException {
+        testDecompressBzip2Blocks(true);
+    }
+
+    @Test
+    public void testNoDecompressConcatenatedBzip2BlocksInParallel() throws IOException {
+        testDecompressBzip2Blocks(false);
+    }
+
+    private void testDecompressBzip2Blocks(final boolean decompressConcatenated) throws IOException {
+        final int minBlocks = 3;
+        final int blockSize = 100000;
+        final StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; sb.length() < minBlocks * blockSize; ++i) {
+            sb.append(i).append(": ").append(DATA).append("\n");
+        }
+
+        final String data = sb.toString();
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream compressor = new BZip2CompressorOutputStream(compressed, 1)) {
+            compressor.write(data.getBytes(StandardCharsets.UTF_8));
+        }
+
+        final File file = tempFolder.newFile();
+        try (OutputStream stream = new FileOutputStream(file)) {
+            compressed.writeTo(stream);
+            compressed.writeTo(stream);
+        }
+
+        TestHelpers.assertFile(receiver, decompressConcatenated ? data + data : data, file, o -> {
+            o.setCompression(FileCompression.BZIP2);
+            o.setDecompressConcatenated(decompressConcatenated);
+            o.setDecompressThreads(4);
+        });
+    }
+
+    private void testDecompressConcatenated(final boolean decompressConcatenated, final int decompressThreads) throws IOException {
         final int maxBytes = (int) Math.pow(2, 16);  // BGZF max compressed block size
         final StringBuilder sb = new StringBuilder();
 
@@ -95,7 +145,10 @@ private void testDecompressConcatenated(final boolean decompressConcatenated) th
         Assert.assertTrue(data.length() + " > " + maxBytes, data.length() > maxBytes);
 
         TestHelpers.assertFile(receiver, decompressConcatenated ? data : data.substring(0, maxBytes),
-                copyResourceToTempFile("compressed-large.txt.bgzf"), o -> o.setDecompressConcatenated(decompressConcatenated));
+                copyResourceToTempFile("compressed-large.txt.bgzf"), o -> {
+                    o.setDecompressConcatenated(decompressConcatenated);
+                    o.setDecompressThreads(decompressThreads);
+                });
     }
 
     private File createTestFile() throws IOException {
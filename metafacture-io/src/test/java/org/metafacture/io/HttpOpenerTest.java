@@ -27,6 +27,7 @@
 import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
 import com.github.tomakehurst.wiremock.matching.StringValuePattern;
 import com.github.tomakehurst.wiremock.matching.UrlPattern;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import org.junit.Assert;
 import org.junit.ComparisonFailure;
 import org.junit.Rule;
@@ -293,6 +294,124 @@ public void shouldPerformGetRequestWithGzippedContentEncoding() throws IOExcepti
                 null, null, WireMock.ok().withBody(GZIPPED_RESPONSE_BODY).withHeader(HttpOpener.CONTENT_ENCODING_HEADER, "gzip"), RESPONSE_BODY);
     }
 
+    @Test
+    public void shouldPerformConcurrentPostRequestWithBodyParameter() throws IOException {
+        shouldPerformRequest(TEST_STRING, HttpOpener.Method.POST, (o, u) -> {
+            o.setConcurrency(2);
+            o.setMethod(HttpOpener.Method.POST);
+            o.setUrl(u);
+            o.setBody(REQUEST_BODY);
+        });
+    }
+
+    @Test
+    public void shouldPerformConcurrentGetRequestWithGzippedContentEncoding() throws IOException {
+        shouldPerformRequest(TEST_URL, HttpOpener.Method.GET, (o, u) -> {
+            o.setConcurrency(2);
+            o.setAcceptEncoding("gzip");
+        }, null, null, WireMock.ok().withBody(GZIPPED_RESPONSE_BODY).withHeader(HttpOpener.CONTENT_ENCODING_HEADER, "gzip"), RESPONSE_BODY);
+    }
+
+    @Test
+    public void shouldPassOnConcurrentResponsesInInputOrder() {
+        shouldPerformConcurrentRequests(true, "1", "2", "3");
+    }
+
+    @Test
+    public void shouldPassOnConcurrentResponsesInCompletionOrder() {
+        shouldPerformConcurrentRequests(false, "3", "2", "1");
+    }
+
+    @Test
+    public void shouldNotDelayRequestsForOtherHostsWhileWaitingForBusyHost() {
+        final int delay = 600;
+        final String slow = "slow";
+        final String slowUrl = "http://127.0.0.1:" + wireMockRule.port() + TEST_PATH + "/" + slow;
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching(TEST_PATH + "/" + slow + "[0-9]"))
+                .willReturn(WireMock.ok(slow).withFixedDelay(delay)));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo(TEST_PATH + "/fast"))
+                .willReturn(WireMock.ok("fast")));
+
+        final HttpOpener opener = new HttpOpener();
+        opener.setConcurrency(2);
+        opener.setMaxPerHost(1);
+        opener.setOrdered(false);
+        opener.setReceiver(receiver);
+
+        TestHelpers.assertReader(receiver, () -> {
+            opener.process(slowUrl + 1);
+            opener.process(slowUrl + 2);
+            opener.process("http://localhost:" + wireMockRule.port() + TEST_PATH + "/fast");
+            opener.closeStream();
+        }, "fast", slow, slow);
+    }
+
+    @Test
+    public void shouldRetryRequestAfterServerError() {
+        shouldRetryRequest(WireMock.serviceUnavailable().withBody(RESPONSE_BODY));
+    }
+
+    @Test
+    public void shouldRetryRequestAfterTooManyRequests() {
+        shouldRetryRequest(WireMock.status(429).withHeader("Retry-After", "0")); // checkstyle-disable-line MagicNumber
+    }
+
+    @Test
+    public void shouldNotRetryRequestByDefault() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo(TEST_PATH)).willReturn(WireMock.serviceUnavailable().withBody(RESPONSE_BODY)));
+
+        final HttpOpener opener = new HttpOpener();
+        opener.setReceiver(receiver);
+
+        TestHelpers.assertReader(receiver, () -> {
+            opener.process(String.format(TEST_URL, wireMockRule.baseUrl()));
+            opener.closeStream();
+        }, "ERROR: " + RESPONSE_BODY);
+
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo(TEST_PATH)));
+    }
+
+    private void shouldPerformConcurrentRequests(final boolean ordered, final String... expected) {
+        final int delay = 300;
+
+        for (int i = 1; i <= expected.length; ++i) {
+            WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo(TEST_PATH + "/" + i))
+                    .willReturn(WireMock.ok(String.valueOf(i)).withFixedDelay((expected.length - i) * delay)));
+        }
+
+        final HttpOpener opener = new HttpOpener();
+        opener.setConcurrency(expected.length);
+        opener.setOrdered(ordered);
+        opener.setReceiver(receiver);
+
+        TestHelpers.assertReader(receiver, () -> {
+            for (int i = 1; i <= expected.length; ++i) {
+                opener.process(String.format(TEST_URL, wireMockRule.baseUrl()) + "/" + i);
+            }
+            opener.closeStream();
+        }, expected);
+    }
+
+    private void shouldRetryRequest(final ResponseDefinitionBuilder failure) {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo(TEST_PATH)).inScenario("retry")
+                .whenScenarioStateIs(Scenario.STARTED).willReturn(failure).willSetStateTo("recovered"));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo(TEST_PATH)).inScenario("retry")
+                .whenScenarioStateIs("recovered").willReturn(WireMock.ok(RESPONSE_BODY)));
+
+        final HttpOpener opener = new HttpOpener();
+        opener.setRetries(2);
+        opener.setRetryDelay(1);
+        opener.setReceiver(receiver);
+
+        TestHelpers.assertReader(receiver, () -> {
+            opener.process(String.format(TEST_URL, wireMockRule.baseUrl()));
+            opener.closeStream();
+        }, RESPONSE_BODY);
+
+        WireMock.verify(2, WireMock.getRequestedFor(WireMock.urlPathEqualTo(TEST_PATH)));
+    }
+
     private void shouldPerformRequest(final String input, final HttpOpener.Method method, final BiConsumer<HttpOpener, String> consumer, final String... headers) throws IOException {
         shouldPerformRequest(input, method, consumer,
                 s -> Arrays.stream(headers).forEach(h -> s.withHeader(h, TEST_VALUE)),
@@ -25,7 +25,10 @@
 import org.junit.runners.Parameterized.Parameters;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Arrays;
 
@@ -48,11 +51,18 @@ public final class ObjectFileWriterCompressionTest {
     private static final String FILENAME_GZ_NOAUTO = "compressed.txt.gz.noauto";
     private static final String FILENAME_GZIP = "compressed.txt.gzip";
     private static final String FILENAME_XZ = "compressed.txt.xz";
+    private static final String FILENAME_ZST = "compressed.txt.zst";
+    private static final String FILENAME_LZ4 = "compressed.txt.lz4";
 
     private static final byte[] MAGIC_BYTES_NONE = {'T', 'h', 'i', 's'};
     private static final byte[] MAGIC_BYTES_BZIP2 = {'B', 'Z', 'h'};
     private static final byte[] MAGIC_BYTES_GZIP = {(byte) 0x1f, (byte) 0x8b};
     private static final byte[] MAGIC_BYTES_XZ = {(byte) 0xfd, '7', 'z', 'X', 'Z', (byte) 0x00};
+    private static final byte[] MAGIC_BYTES_ZSTD = {(byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd};
+    private static final byte[] MAGIC_BYTES_LZ4 = {(byte) 0x04, (byte) 0x22, (byte) 0x4d, (byte) 0x18};
+
+    private static final int PARALLEL_RECORDS = 100000;
+    private static final int COMPRESS_THREADS = 3;
 
     @Rule
     public TemporaryFolder tempFolder = new TemporaryFolder();
@@ -78,11 +88,15 @@ public static Iterable<Object[]> data() {
                 {FILENAME_GZ_NOAUTO, FileCompression.AUTO, MAGIC_BYTES_NONE},
                 {FILENAME_GZIP, FileCompression.AUTO, MAGIC_BYTES_GZIP},
                 {FILENAME_XZ, FileCompression.AUTO, MAGIC_BYTES_XZ},
+                {FILENAME_ZST, FileCompression.AUTO, MAGIC_BYTES_ZSTD},
+                {FILENAME_LZ4, FileCompression.AUTO, MAGIC_BYTES_LZ4},
                 {FILENAME_NONE, FileCompression.NONE, MAGIC_BYTES_NONE},
                 {FILENAME_BZ2, FileCompression.BZIP2, MAGIC_BYTES_BZIP2},
                 {FILENAME_GZ, FileCompression.GZIP, MAGIC_BYTES_GZIP},
                 {FILENAME_GZ_NOAUTO, FileCompression.GZIP, MAGIC_BYTES_GZIP},
-                {FILENAME_XZ, FileCompression.XZ, MAGIC_BYTES_XZ}
+                {FILENAME_XZ, FileCompression.XZ, MAGIC_BYTES_XZ},
+                {FILENAME_ZST, FileCompression.ZSTD, MAGIC_BYTES_ZSTD},
+                {FILENAME_LZ4, FileCompression.LZ4, MAGIC_BYTES_LZ4}
             });
     }
 
@@ -101,6 +115,32 @@ public void shouldWriteCompressedFiles() throws IOException {
         Assert.assertArrayEquals(magicBytes, readMagicBytes(file, magicBytes.length));
     }
 
+    @Test
+    public void shouldWriteCompressedFilesInParallel() throws IOException {
+        final File file = tempFolder.newFile(fileName);
+        final StringBuilder expected = new StringBuilder();
+
+        final ObjectFileWriter<String> writer = new ObjectFileWriter<String>(file.getAbsolutePath());
+        writer.setCompression(compression);
+        writer.setCompressThreads(COMPRESS_THREADS);
+        for (int i = 0; i < PARALLEL_RECORDS; ++i) {
+            final String record = i + " " + DATA;
+            writer.process(record);
+            expected.append(record).append(writer.getSeparator());
+        }
+        writer.closeStream();
+        expected.setLength(expected.length() - writer.getSeparator().length());
+        expected.append(writer.getFooter());
+
+        Assert.assertArrayEquals(magicBytes, readMagicBytes(file, magicBytes.length));
+
+        // Read without decompressing concatenated members to make sure
+        // that a single standard-compliant member was written:
+        try (InputStream inputStream = FileCompression.AUTO.createDecompressor(new FileInputStream(file), false)) {
+            Assert.assertEquals(expected.toString(), new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
     private byte[] readMagicBytes(final File file, final int magicBytesLength)
             throws IOException {
         final byte[] fileContents = Files.readAllBytes(file.toPath());
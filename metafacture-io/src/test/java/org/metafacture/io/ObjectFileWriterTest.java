@@ -115,6 +115,16 @@ public void issue543_shouldResultEmptyWhenNothingIsProcessed() throws IOExceptio
         assertOutput("");
     }
 
+    @Test
+    public void shouldWriteObjectsDirectly() throws IOException {
+        writer.beginObject().write(DATA);
+        writer.process(DATA);
+        writer.beginObject().write(DATA);
+        writer.closeStream();
+
+        assertOutput(DATA + "\n" + DATA + "\n" + DATA + "\n");
+    }
+
     @Override
     protected ConfigurableObjectWriter<String> getWriter() {
         return writer;
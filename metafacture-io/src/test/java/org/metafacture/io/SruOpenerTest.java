@@ -90,6 +90,23 @@ public void testDnbMaximumRecords2() {
         );
     }
 
+    @Test
+    public void testDnbPrefetch() {
+        assertSru(DNB_URL, "/sru/dnb", o -> {
+                o.setQuery("WVN=24A05");
+                o.setRecordSchema("MARC21plus-xml");
+                o.setVersion("1.1");
+                o.setStartRecord(1890);
+                o.setMaximumRecords(1);
+                o.setTotalRecords(3);
+                o.setPrefetch(2);
+            },
+            "7ba7099f-ecd2-43f2-ada5-c053f2532da3",
+            "e9396103-55d6-41c6-984a-bb656304764a",
+            "8ce72c3c-e18f-488a-855d-6dcbf320cb4f"
+        );
+    }
+
     @Test
     public void testZdb() {
         assertSru(DNB_URL, "/sru/zdb", o -> {
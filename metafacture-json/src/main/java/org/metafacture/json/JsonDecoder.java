@@ -32,6 +32,7 @@
 import com.jayway.jsonpath.JsonPath;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
@@ -59,9 +60,13 @@ public final class JsonDecoder extends DefaultObjectPipe<String, StreamReceiver>
 
     public static final String DEFAULT_ROOT_PATH = "";
 
+    private static final int BUFFER_SIZE = 8192;
+
     private final JsonFactory jsonFactory = new JsonFactory();
 
+    private ObjectMapper objectMapper;
     private JsonParser jsonParser;
+    private StreamingJsonPath streamingPath;
     private String arrayMarker = DEFAULT_ARRAY_MARKER;
     private String arrayName = DEFAULT_ARRAY_NAME;
     private String booleanMarker = DEFAULT_BOOLEAN_MARKER;
@@ -204,12 +209,16 @@ public int getRecordCount() {
     }
 
     /**
-     * Sets the record path.
+     * Sets the record path. Simple paths consisting of child names, array
+     * indexes and wildcards (e.g. {@code $.docs[*]}) are evaluated while
+     * streaming through the input. Other paths are evaluated with
+     * {@link JsonPath}, which reads the whole input into memory.
      *
      * @param recordPath the record path
      */
     public void setRecordPath(final String recordPath) {
         this.recordPath = recordPath;
+        streamingPath = recordPath.isEmpty() ? null : StreamingJsonPath.compile(recordPath);
     }
 
     /**
@@ -231,7 +240,7 @@ public void resetRecordCount() {
     @Override
     public void process(final String json) {
         assert !isClosed();
-        if (recordPath.isEmpty()) {
+        if (recordPath.isEmpty() || streamingPath != null) {
             processRecord(json);
         }
         else {
@@ -241,10 +250,41 @@ public void process(final String json) {
         }
     }
 
+    /**
+     * Decodes all JSON values read from the given reader with a single
+     * parser. Used by {@link JsonReaderDecoder}.
+     *
+     * @param reader the reader to decode
+     */
+    void process(final Reader reader) {
+        assert !isClosed();
+        if (recordPath.isEmpty() || streamingPath != null) {
+            try {
+                jsonParser = jsonFactory.createParser(reader);
+            }
+            catch (final IOException e) {
+                throw new MetafactureException(e);
+            }
+            decodeInput();
+        }
+        else {
+            process(readFully(reader));
+        }
+    }
+
     private void processRecord(final String record) {
         createParser(record);
+        decodeInput();
+    }
+
+    private void decodeInput() {
         try {
-            decode();
+            if (streamingPath != null) {
+                decodePath();
+            }
+            else {
+                decode();
+            }
         }
         catch (final IOException e) {
             throw new MetafactureException(e);
@@ -254,11 +294,32 @@ private void processRecord(final String record) {
         }
     }
 
+    private String readFully(final Reader reader) {
+        final StringBuilder builder = new StringBuilder();
+        final char[] buffer = new char[BUFFER_SIZE];
+
+        try {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                builder.append(buffer, 0, read);
+            }
+        }
+        catch (final IOException e) {
+            throw new MetafactureException(e);
+        }
+
+        return builder.toString();
+    }
+
     private Stream<String> matches(final Object obj) {
+        if (objectMapper == null) {
+            objectMapper = new ObjectMapper();
+        }
+
         final List<?> records = (obj instanceof List<?>) ? ((List<?>) obj) : Arrays.asList(obj);
         return records.stream().map(doc -> {
             try {
-                return new ObjectMapper().writeValueAsString(doc);
+                return objectMapper.writeValueAsString(doc);
             }
             catch (final JsonProcessingException e) {
                 e.printStackTrace();
@@ -290,6 +351,14 @@ private void closeParser() {
         }
     }
 
+    private void decodePath() throws IOException {
+        while (jsonParser.nextToken() != null) {
+            if (streamingPath.match(jsonParser, p -> decodeMatch()) == 0 && streamingPath.isDefinite()) {
+                throw new MetafactureException("No results for path: " + recordPath);
+            }
+        }
+    }
+
     private void decode() throws IOException {
         while (jsonParser.nextToken() == JsonToken.START_OBJECT) {
             getReceiver().startRecord(String.format(recordId, ++recordCount));
@@ -298,13 +367,39 @@ private void decode() throws IOException {
         }
 
         if (jsonParser.currentToken() != null) {
-            throw new MetafactureException(new StringBuilder()
-                    .append("Unexpected token '")
-                    .append(jsonParser.currentToken())
-                    .append("' at ")
-                    .append(jsonParser.currentLocation())
-                    .toString());
+            throw unexpectedToken();
+        }
+    }
+
+    private void decodeMatch() throws IOException {
+        // Like JsonPath, a definite path selecting an array yields its elements
+        if (jsonParser.currentToken() == JsonToken.START_ARRAY && streamingPath.isDefinite()) {
+            while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                decodeRecord();
+            }
         }
+        else {
+            decodeRecord();
+        }
+    }
+
+    private void decodeRecord() throws IOException {
+        if (jsonParser.currentToken() != JsonToken.START_OBJECT) {
+            throw unexpectedToken();
+        }
+
+        getReceiver().startRecord(String.format(recordId, ++recordCount));
+        decodeObject();
+        getReceiver().endRecord();
+    }
+
+    private MetafactureException unexpectedToken() {
+        return new MetafactureException(new StringBuilder()
+                .append("Unexpected token '")
+                .append(jsonParser.currentToken())
+                .append("' at ")
+                .append(jsonParser.currentLocation())
+                .toString());
     }
 
     private void decodeObject() throws IOException {
@@ -24,6 +24,7 @@
 import org.metafacture.framework.annotations.In;
 import org.metafacture.framework.annotations.Out;
 import org.metafacture.framework.helpers.DefaultStreamPipe;
+import org.metafacture.framework.helpers.DirectSinkWriter;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerationException;
@@ -36,7 +37,6 @@
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 
 import java.io.IOException;
-import java.io.StringWriter;
 
 /**
  * Serialises an object as JSON. Records and entities are represented
@@ -68,7 +68,7 @@ public void writeRootValueSeparator(final JsonGenerator gen) {
     private static final char ESCAPE_CHAR_HIGH = 0x7f;
 
     private final JsonGenerator jsonGenerator;
-    private final StringWriter writer = new StringWriter();
+    private final DirectSinkWriter writer = new DirectSinkWriter();
 
     private String arrayMarker = ARRAY_MARKER;
     private String booleanMarker = BOOLEAN_MARKER;
@@ -200,10 +200,33 @@ public SerializableString getEscapeSequence(final int ch) {
         jsonGenerator.setCharacterEscapes(ce);
     }
 
+    /**
+     * Flags whether to write records directly to the output of the receiver
+     * instead of passing them on as strings. This only has an effect if the
+     * receiver supports it, e.g. when writing to a file.
+     * <p>
+     * <strong>Default value: false</strong>
+     *
+     * @param directSink true if records should be written directly
+     * @see org.metafacture.framework.DirectSink
+     */
+    public void setDirectSink(final boolean directSink) {
+        writer.setDirectSink(directSink);
+    }
+
+    /**
+     * Checks whether records are written directly to the output of the
+     * receiver.
+     *
+     * @return true if records are written directly
+     */
+    public boolean getDirectSink() {
+        return writer.getDirectSink();
+    }
+
     @Override
     public void startRecord(final String id) {
-        final StringBuffer buffer = writer.getBuffer();
-        buffer.delete(0, buffer.length());
+        writer.begin(getReceiver());
         startGroup(id);
     }
 
@@ -216,7 +239,7 @@ public void endRecord() {
         catch (final IOException e) {
             throw new MetafactureException(e);
         }
-        getReceiver().process(writer.toString());
+        writer.end(getReceiver());
     }
 
     @Override
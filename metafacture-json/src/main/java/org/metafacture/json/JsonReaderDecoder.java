@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.json;
+
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.StreamReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+
+import java.io.Reader;
+
+/**
+ * Decodes a stream of JSON records read from a {@link Reader}. The records
+ * may be separated by line breaks (JSON Lines) or any other whitespace, or
+ * simply be concatenated. Unlike {@link JsonDecoder}, which expects each
+ * input string to be cut out beforehand (e.g. with {@code as-lines}), all
+ * records of a reader are decoded with a single parser as they are read.
+ * <p>
+ * The options are the same as those of {@link JsonDecoder}. The record path
+ * is applied to each JSON value in the stream.
+ *
+ * @see JsonDecoder
+ */
+@Description("Decodes a stream of JSON records (e.g. JSON Lines) from a reader to metadata events. " +
+    "The \'recordPath\' option can be used to set a JsonPath to extract the records from each JSON value.")
+@In(Reader.class)
+@Out(StreamReceiver.class)
+@FluxCommand("decode-json-reader")
+public final class JsonReaderDecoder extends DefaultObjectPipe<Reader, StreamReceiver> {
+
+    private final JsonDecoder decoder = new JsonDecoder();
+
+    /**
+     * Creates an instance of {@link JsonReaderDecoder}.
+     */
+    public JsonReaderDecoder() {
+    }
+
+    /**
+     * Flags whether to allow comments.
+     *
+     * @param allowComments true if comments should be allowed
+     */
+    public void setAllowComments(final boolean allowComments) {
+        decoder.setAllowComments(allowComments);
+    }
+
+    /**
+     * Sets the array marker.
+     *
+     * @param arrayMarker the array marker
+     */
+    public void setArrayMarker(final String arrayMarker) {
+        decoder.setArrayMarker(arrayMarker);
+    }
+
+    /**
+     * Sets the boolean marker.
+     *
+     * @param booleanMarker the boolean marker
+     */
+    public void setBooleanMarker(final String booleanMarker) {
+        decoder.setBooleanMarker(booleanMarker);
+    }
+
+    /**
+     * Sets the number marker.
+     *
+     * @param numberMarker the number marker
+     */
+    public void setNumberMarker(final String numberMarker) {
+        decoder.setNumberMarker(numberMarker);
+    }
+
+    /**
+     * Sets the name of the array.
+     *
+     * @param arrayName the name of the array
+     */
+    public void setArrayName(final String arrayName) {
+        decoder.setArrayName(arrayName);
+    }
+
+    /**
+     * Sets the ID of the record.
+     *
+     * @param recordId the ID of the record
+     */
+    public void setRecordId(final String recordId) {
+        decoder.setRecordId(recordId);
+    }
+
+    /**
+     * Sets the record count.
+     *
+     * @param recordCount the record count
+     */
+    public void setRecordCount(final int recordCount) {
+        decoder.setRecordCount(recordCount);
+    }
+
+    /**
+     * Gets the record count.
+     *
+     * @return the record count
+     */
+    public int getRecordCount() {
+        return decoder.getRecordCount();
+    }
+
+    /**
+     * Sets the record path.
+     *
+     * @param recordPath the record path
+     * @see JsonDecoder#setRecordPath(String)
+     */
+    public void setRecordPath(final String recordPath) {
+        decoder.setRecordPath(recordPath);
+    }
+
+    @Override
+    public void process(final Reader reader) {
+        assert !isClosed();
+        decoder.process(reader);
+    }
+
+    @Override
+    protected void onSetReceiver() {
+        decoder.setReceiver(getReceiver());
+    }
+
+    @Override
+    protected void onResetStream() {
+        decoder.resetRecordCount();
+    }
+
+}
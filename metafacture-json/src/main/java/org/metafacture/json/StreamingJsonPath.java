@@ -0,0 +1,281 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates a simple JsonPath on a stream of JSON tokens. Only the parts of
+ * the document which lie on the path are visited, all other values are
+ * skipped without building an object tree.
+ * <p>
+ * The following subset of the JsonPath syntax is supported: the root
+ * {@code $}, child names in dot notation ({@code $.docs}) or bracket
+ * notation ({@code $['docs']}), array indexes ({@code $.docs[0]}) and
+ * wildcards ({@code $.docs[*]}, {@code $.*}). {@link #compile(String)}
+ * returns null for any other path, e.g. one with filters or deep scans.
+ *
+ */
+final class StreamingJsonPath {
+
+    private static final char ROOT = '$';
+    private static final char DOT = '.';
+    private static final char OPEN_BRACKET = '[';
+    private static final char CLOSE_BRACKET = ']';
+    private static final char WILDCARD = '*';
+    private static final char SINGLE_QUOTE = '\'';
+    private static final char DOUBLE_QUOTE = '"';
+
+    private final Step[] steps;
+    private final boolean definite;
+
+    private StreamingJsonPath(final List<Step> steps) {
+        this.steps = steps.toArray(new Step[0]);
+        this.definite = steps.stream().noneMatch(s -> s.wildcard);
+    }
+
+    /**
+     * Compiles the given path.
+     *
+     * @param path the JsonPath
+     * @return the compiled path or null if the path uses features which are
+     *         not supported
+     */
+    static StreamingJsonPath compile(final String path) {
+        if (path.isEmpty() || path.charAt(0) != ROOT) {
+            return null;
+        }
+
+        final List<Step> steps = new ArrayList<>();
+        int pos = 1;
+
+        while (pos < path.length()) {
+            final char c = path.charAt(pos);
+            final int end;
+
+            if (c == DOT) {
+                end = parseDotStep(path, pos + 1, steps);
+            }
+            else if (c == OPEN_BRACKET) {
+                end = parseBracketStep(path, pos + 1, steps);
+            }
+            else {
+                end = -1;
+            }
+
+            if (end < 0) {
+                return null;
+            }
+
+            pos = end;
+        }
+
+        return new StreamingJsonPath(steps);
+    }
+
+    /**
+     * Checks whether the path can only select a single value. A definite path
+     * contains no wildcards.
+     *
+     * @return true if the path is definite
+     */
+    boolean isDefinite() {
+        return definite;
+    }
+
+    /**
+     * Matches the path against the value at the current token of the parser.
+     * The handler is called for each matching value with the parser positioned
+     * at the first token of that value; it has to consume the value including
+     * its last token. On return, the parser is positioned at the last token of
+     * the value the path was matched against.
+     *
+     * @param parser  the parser positioned at the first token of a value
+     * @param handler the handler to call for each match
+     * @return the number of matches
+     * @throws IOException if reading from the parser fails
+     */
+    int match(final JsonParser parser, final MatchHandler handler) throws IOException {
+        return match(parser, 0, handler);
+    }
+
+    private int match(final JsonParser parser, final int depth, final MatchHandler handler) throws IOException {
+        if (depth == steps.length) {
+            handler.handle(parser);
+            return 1;
+        }
+
+        final Step step = steps[depth];
+        final JsonToken token = parser.currentToken();
+        int matches = 0;
+
+        if (token == JsonToken.START_OBJECT && step.index < 0) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final boolean matching = step.matches(parser.currentName());
+                parser.nextToken();
+
+                if (matching) {
+                    matches += match(parser, depth + 1, handler);
+                }
+                else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        else if (token == JsonToken.START_ARRAY && step.name == null) {
+            int index = 0;
+
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (step.matches(index)) {
+                    matches += match(parser, depth + 1, handler);
+                }
+                else {
+                    parser.skipChildren();
+                }
+
+                ++index;
+            }
+        }
+        else {
+            parser.skipChildren();
+        }
+
+        return matches;
+    }
+
+    private static int parseDotStep(final String path, final int start, final List<Step> steps) {
+        int end = start;
+
+        while (end < path.length() && path.charAt(end) != DOT && path.charAt(end) != OPEN_BRACKET) {
+            ++end;
+        }
+
+        if (end == start) {
+            return -1;
+        }
+
+        final String name = path.substring(start, end);
+        steps.add(name.equals(String.valueOf(WILDCARD)) ? Step.any() : Step.name(name));
+
+        return end;
+    }
+
+    private static int parseBracketStep(final String path, final int start, final List<Step> steps) {
+        final int close = path.indexOf(CLOSE_BRACKET, start);
+
+        if (close < 0) {
+            return -1;
+        }
+
+        final String content = path.substring(start, close);
+        final Step step;
+
+        if (content.equals(String.valueOf(WILDCARD))) {
+            step = Step.any();
+        }
+        else if (isQuoted(content)) {
+            step = Step.name(content.substring(1, content.length() - 1));
+        }
+        else if (!content.isEmpty() && content.chars().allMatch(Character::isDigit)) {
+            try {
+                step = Step.index(Integer.parseInt(content));
+            }
+            catch (final NumberFormatException e) {
+                return -1;
+            }
+        }
+        else {
+            return -1;
+        }
+
+        steps.add(step);
+
+        return close + 1;
+    }
+
+    private static boolean isQuoted(final String content) {
+        if (content.length() < 2) {
+            return false;
+        }
+
+        final char quote = content.charAt(0);
+        final String name = content.substring(1, content.length() - 1);
+
+        return (quote == SINGLE_QUOTE || quote == DOUBLE_QUOTE) &&
+            content.charAt(content.length() - 1) == quote &&
+            name.indexOf(quote) < 0 && name.indexOf('\\') < 0;
+    }
+
+    /**
+     * Receives the values which match a path.
+     */
+    @FunctionalInterface
+    interface MatchHandler {
+
+        /**
+         * Handles a matching value.
+         *
+         * @param parser the parser positioned at the first token of the value
+         * @throws IOException if reading from the parser fails
+         */
+        void handle(JsonParser parser) throws IOException;
+
+    }
+
+    /**
+     * A single step of the path: a child name, an array index or a wildcard.
+     */
+    private static final class Step {
+
+        private final String name;
+        private final int index;
+        private final boolean wildcard;
+
+        private Step(final String name, final int index, final boolean wildcard) {
+            this.name = name;
+            this.index = index;
+            this.wildcard = wildcard;
+        }
+
+        static Step name(final String name) {
+            return new Step(name, -1, false);
+        }
+
+        static Step index(final int index) {
+            return new Step(null, index, false);
+        }
+
+        static Step any() {
+            return new Step(null, -1, true);
+        }
+
+        boolean matches(final String fieldName) {
+            return wildcard || fieldName.equals(name);
+        }
+
+        boolean matches(final int arrayIndex) {
+            return wildcard || arrayIndex == index;
+        }
+
+    }
+
+}
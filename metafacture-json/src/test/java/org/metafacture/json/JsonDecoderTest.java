@@ -299,6 +299,72 @@ public void testShouldProcessRecordsInArrayRoot() {
         ordered.verify(receiver).endRecord();
     }
 
+    @Test
+    public void testShouldProcessRecordsMatchingWildcardPath() {
+        jsonDecoder.setRecordPath("$.response['docs'][*]");
+        jsonDecoder.process(
+                "{\"skip\":{\"lit\":[1,{}]},\"response\":{\"docs\":[" +
+                        "{\"lit\": \"record 1\"}," +
+                        "{\"lit\": \"record 2\"}" + "]}}");
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("lit", "record 1");
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).startRecord("2");
+        ordered.verify(receiver).literal("lit", "record 2");
+        ordered.verify(receiver).endRecord();
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testShouldProcessRecordMatchingArrayIndex() {
+        jsonDecoder.setRecordPath("$.data[1].doc");
+        jsonDecoder.process(
+                "{\"data\":[" + "{\"doc\":{\"lit\": \"record 1\"}}," +
+                        "{\"doc\":{\"lit\": \"record 2\"}}" + "]}");
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("lit", "record 2");
+        ordered.verify(receiver).endRecord();
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testShouldApplyRecordPathToConcatenatedDocuments() {
+        jsonDecoder.setRecordPath("$.data");
+        jsonDecoder.process(
+                "{\"data\":{\"lit\": \"record 1\"}}\n" +
+                        "{\"data\":{\"lit\": \"record 2\"}}");
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("lit", "record 1");
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).startRecord("2");
+        ordered.verify(receiver).literal("lit", "record 2");
+        ordered.verify(receiver).endRecord();
+    }
+
+    @Test
+    public void testShouldFailIfDefiniteRecordPathDoesNotMatch() {
+        jsonDecoder.setRecordPath("$.data");
+
+        final Throwable thrownException = Assert.assertThrows(MetafactureException.class,
+                () -> jsonDecoder.process("{\"other\":{\"lit\": \"record 1\"}}"));
+        Assert.assertEquals("No results for path: $.data", thrownException.getMessage());
+    }
+
+    @Test
+    public void testShouldFailIfRecordPathMatchesNonObject() {
+        jsonDecoder.setRecordPath("$.data[*]");
+
+        final Throwable thrownException = Assert.assertThrows(MetafactureException.class,
+                () -> jsonDecoder.process("{\"data\":[\"value\"]}"));
+        MatcherAssert.assertThat(thrownException.getMessage(), CoreMatchers.startsWith("Unexpected token 'VALUE_STRING'"));
+    }
+
     @Test(expected = MetafactureException.class)
     public void testRootArrayNoRecordPath() {
         jsonDecoder.process(
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.json;
+
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.StreamReceiver;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.io.StringReader;
+
+/**
+ * Tests for class {@link JsonReaderDecoder}.
+ *
+ */
+public final class JsonReaderDecoderTest {
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private StreamReceiver receiver;
+
+    private JsonReaderDecoder jsonReaderDecoder;
+
+    public JsonReaderDecoderTest() {
+    }
+
+    @Before
+    public void init() {
+        jsonReaderDecoder = new JsonReaderDecoder();
+        jsonReaderDecoder.setReceiver(receiver);
+    }
+
+    @Test
+    public void testShouldProcessJsonLines() {
+        jsonReaderDecoder.process(new StringReader(
+                "{\"lit\":\"record 1\"}\n" +
+                "{\"ent\":{\"lit\":\"record 2\"}}\n"));
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("lit", "record 1");
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).startRecord("2");
+        ordered.verify(receiver).startEntity("ent");
+        ordered.verify(receiver).literal("lit", "record 2");
+        ordered.verify(receiver).endEntity();
+        ordered.verify(receiver).endRecord();
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testShouldProcessConcatenatedRecordsFromMultipleReaders() {
+        jsonReaderDecoder.process(new StringReader("{\"lit\":\"record 1\"}{\"lit\":\"record 2\"}"));
+        jsonReaderDecoder.process(new StringReader("{\"lit\":\"record 3\"}"));
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("lit", "record 1");
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).startRecord("2");
+        ordered.verify(receiver).literal("lit", "record 2");
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).startRecord("3");
+        ordered.verify(receiver).literal("lit", "record 3");
+        ordered.verify(receiver).endRecord();
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testShouldApplyRecordPathToEachValue() {
+        jsonReaderDecoder.setRecordPath("$.docs[*]");
+        jsonReaderDecoder.process(new StringReader(
+                "{\"docs\":[{\"lit\":\"record 1\"}]}\n" +
+                "{\"docs\":[{\"lit\":\"record 2\"}]}"));
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("lit", "record 1");
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).startRecord("2");
+        ordered.verify(receiver).literal("lit", "record 2");
+        ordered.verify(receiver).endRecord();
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testShouldRestartRecordCountOnResetStream() {
+        jsonReaderDecoder.process(new StringReader("{\"lit\":\"record 1\"}"));
+        jsonReaderDecoder.resetStream();
+        jsonReaderDecoder.process(new StringReader("{\"lit\":\"record 2\"}"));
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).resetStream();
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).endRecord();
+    }
+
+    @Test(expected = MetafactureException.class)
+    public void testShouldFailOnUnexpectedToken() {
+        jsonReaderDecoder.process(new StringReader("{\"lit\":\"record 1\"}\n[]"));
+    }
+
+}
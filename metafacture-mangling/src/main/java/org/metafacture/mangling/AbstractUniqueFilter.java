@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.mangling;
+
+import org.metafacture.framework.Receiver;
+import org.metafacture.framework.helpers.DefaultSender;
+
+/**
+ * Base class for the filters which remove keys that have been seen before
+ * anywhere in the stream. It holds the options which configure how the keys
+ * are remembered (see {@link DeduplicationMode}).
+ *
+ * @param <R> receiver type of the downstream receiver
+ *
+ */
+public abstract class AbstractUniqueFilter<R extends Receiver> extends DefaultSender<R> {
+
+    private final Deduplicator deduplicator = new Deduplicator();
+
+    /**
+     * Creates an instance of {@link AbstractUniqueFilter}.
+     */
+    protected AbstractUniqueFilter() {
+    }
+
+    /**
+     * Sets how the keys which have been seen are remembered.
+     * <p>
+     * <strong>Default value: {@link DeduplicationMode#EXACT EXACT}</strong>
+     *
+     * @param mode the {@link DeduplicationMode}
+     */
+    public void setMode(final DeduplicationMode mode) {
+        deduplicator.setMode(mode);
+    }
+
+    /**
+     * Gets how the keys which have been seen are remembered.
+     *
+     * @return the {@link DeduplicationMode}
+     */
+    public DeduplicationMode getMode() {
+        return deduplicator.getMode();
+    }
+
+    /**
+     * Sets the expected number of distinct keys, which determines the size of
+     * the Bloom filter in {@link DeduplicationMode#BLOOM BLOOM} mode. If more
+     * keys are added, the false-positive rate rises.
+     * <p>
+     * <strong>Default value: 10,000,000</strong>
+     *
+     * @param expectedKeys the expected number of distinct keys
+     */
+    public void setExpectedKeys(final int expectedKeys) {
+        deduplicator.setExpectedKeys(expectedKeys);
+    }
+
+    /**
+     * Gets the expected number of distinct keys.
+     *
+     * @return the expected number of distinct keys
+     */
+    public int getExpectedKeys() {
+        return deduplicator.getExpectedKeys();
+    }
+
+    /**
+     * Sets the accepted rate of first occurrences which are mistaken for
+     * duplicates in {@link DeduplicationMode#BLOOM BLOOM} mode.
+     * <p>
+     * <strong>Default value: 0.001</strong>
+     *
+     * @param falsePositiveRate the false-positive rate
+     */
+    public void setFalsePositiveRate(final double falsePositiveRate) {
+        deduplicator.setFalsePositiveRate(falsePositiveRate);
+    }
+
+    /**
+     * Sets the accepted rate of first occurrences which are mistaken for
+     * duplicates in {@link DeduplicationMode#BLOOM BLOOM} mode.
+     *
+     * @param falsePositiveRate the false-positive rate as a decimal number
+     *
+     * @see #setFalsePositiveRate(double)
+     */
+    public void setFalsePositiveRate(final String falsePositiveRate) {
+        setFalsePositiveRate(Double.parseDouble(falsePositiveRate));
+    }
+
+    /**
+     * Gets the accepted false-positive rate.
+     *
+     * @return the false-positive rate
+     */
+    public double getFalsePositiveRate() {
+        return deduplicator.getFalsePositiveRate();
+    }
+
+    /**
+     * Sets the number of keys which are kept in memory before they are
+     * spilled to disk in {@link DeduplicationMode#SPILL SPILL} mode.
+     * <p>
+     * <strong>Default value: 1,000,000</strong>
+     *
+     * @param maxKeysInMemory the number of keys kept in memory
+     */
+    public void setMaxKeysInMemory(final int maxKeysInMemory) {
+        deduplicator.setMaxKeysInMemory(maxKeysInMemory);
+    }
+
+    /**
+     * Gets the number of keys which are kept in memory before they are
+     * spilled to disk.
+     *
+     * @return the number of keys kept in memory
+     */
+    public int getMaxKeysInMemory() {
+        return deduplicator.getMaxKeysInMemory();
+    }
+
+    /**
+     * Sets the directory for the files which keys are spilled to in
+     * {@link DeduplicationMode#SPILL SPILL} mode. The files are deleted when
+     * the stream is closed.
+     * <p>
+     * <strong>Default value: the directory for temporary files</strong>
+     *
+     * @param spillDirectory the directory for spilled keys
+     */
+    public void setSpillDirectory(final String spillDirectory) {
+        deduplicator.setSpillDirectory(spillDirectory);
+    }
+
+    /**
+     * Gets the directory for spilled keys.
+     *
+     * @return the directory for spilled keys, or null for the directory for
+     *         temporary files
+     */
+    public String getSpillDirectory() {
+        return deduplicator.getSpillDirectory();
+    }
+
+    /**
+     * Gets the memory currently used to remember the keys, on and off the
+     * heap. The memory use is also logged when the stream is closed.
+     *
+     * @return the memory use in bytes
+     */
+    public long getMemoryUsage() {
+        return deduplicator.getMemoryUsage();
+    }
+
+    /**
+     * Gets the number of duplicates which have been filtered since the stream
+     * was started or reset.
+     *
+     * @return the number of duplicates
+     */
+    public long getDuplicateCount() {
+        return deduplicator.getDuplicateCount();
+    }
+
+    /**
+     * Remembers a key.
+     *
+     * @param key the key
+     * @return true if the key has not been seen before
+     */
+    protected final boolean isFirstOccurrence(final String key) {
+        return deduplicator.isFirstOccurrence(key);
+    }
+
+    @Override
+    protected void onResetStream() {
+        deduplicator.reset();
+    }
+
+    @Override
+    protected void onCloseStream() {
+        deduplicator.close();
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.mangling;
+
+/**
+ * A Bloom filter: an approximate set of keys which needs a fixed amount of
+ * memory, depending only on the expected number of keys and the accepted
+ * rate of false positives. A key which has not been added before is
+ * mistaken for a known key with the false-positive rate; known keys are
+ * always recognised. The bit positions are derived from two hashes of the
+ * key (Kirsch and Mitzenmacher).
+ *
+ */
+final class BloomFilterKeySet implements KeySet {
+
+    private static final double LN2 = Math.log(2);
+    private static final int WORD_SHIFT = 6;
+
+    private final long[] words;
+    private final long bits;
+    private final int hashes;
+
+    /**
+     * Creates a Bloom filter sized for the given number of keys.
+     *
+     * @param expectedKeys      the expected number of keys
+     * @param falsePositiveRate the accepted rate of false positives
+     */
+    BloomFilterKeySet(final long expectedKeys, final double falsePositiveRate) {
+        if (expectedKeys < 1) {
+            throw new IllegalArgumentException("Expected number of keys must be positive: " + expectedKeys);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+
+        final long optimalBits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (LN2 * LN2));
+        final long wordCount = Math.max(1, optimalBits + Long.SIZE - 1 >>> WORD_SHIFT);
+        if (wordCount > Integer.MAX_VALUE - Long.SIZE) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedKeys + " keys");
+        }
+
+        words = new long[(int) wordCount];
+        bits = wordCount << WORD_SHIFT;
+        hashes = Math.max(1, (int) Math.round((double) bits / expectedKeys * LN2));
+    }
+
+    @Override
+    public boolean add(final String key) {
+        return put(KeyHash.hash(key));
+    }
+
+    /**
+     * Adds a hashed key to the filter.
+     *
+     * @param hash the hash of the key
+     * @return true if the key has certainly not been added before
+     */
+    boolean put(final long hash) {
+        final long step = KeyHash.mix(hash) | 1;
+        boolean changed = false;
+
+        long combined = hash;
+        for (int i = 0; i < hashes; ++i) {
+            final long bit = Long.remainderUnsigned(combined, bits);
+            final int word = (int) (bit >>> WORD_SHIFT);
+            final long mask = 1L << bit;
+
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                changed = true;
+            }
+            combined += step;
+        }
+
+        return changed;
+    }
+
+    /**
+     * Checks whether a hashed key may have been added to the filter.
+     *
+     * @param hash the hash of the key
+     * @return false if the key has certainly not been added
+     */
+    boolean mightContain(final long hash) {
+        final long step = KeyHash.mix(hash) | 1;
+
+        long combined = hash;
+        for (int i = 0; i < hashes; ++i) {
+            final long bit = Long.remainderUnsigned(combined, bits);
+            if ((words[(int) (bit >>> WORD_SHIFT)] & 1L << bit) == 0) {
+                return false;
+            }
+            combined += step;
+        }
+
+        return true;
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+}
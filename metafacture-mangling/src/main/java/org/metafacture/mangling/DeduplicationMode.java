@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.mangling;
+
+/**
+ * Ways of remembering the keys which have been seen by a duplicate filter.
+ *
+ */
+public enum DeduplicationMode {
+
+    /**
+     * Keeps all keys in an exact hash set outside of the Java heap. Needs
+     * memory for every key, but never drops a record by mistake.
+     */
+    EXACT,
+
+    /**
+     * Keeps a Bloom filter of the keys. Needs a fixed amount of memory (about
+     * 1.8 bytes per expected key at a false-positive rate of 0.1%), but drops
+     * first occurrences with the false-positive rate.
+     */
+    BLOOM,
+
+    /**
+     * Keeps the most recent keys in memory and spills older keys to sorted
+     * run files on disk. Exact and with bounded memory, but slower than the
+     * other modes once keys have been spilled.
+     */
+    SPILL
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.mangling;
+
+import org.metafacture.framework.MetafactureLogger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Remembers the keys seen by a duplicate filter, using the configured
+ * {@link DeduplicationMode}, and reports the result when closed.
+ *
+ */
+final class Deduplicator {
+
+    static final int DEFAULT_EXPECTED_KEYS = 10_000_000;
+    static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+    static final int DEFAULT_MAX_KEYS_IN_MEMORY = 1_000_000;
+
+    private static final MetafactureLogger LOG = new MetafactureLogger(Deduplicator.class);
+
+    private static final double BYTES_PER_MIB = 1024 * 1024;
+
+    private DeduplicationMode mode = DeduplicationMode.EXACT;
+    private int expectedKeys = DEFAULT_EXPECTED_KEYS;
+    private double falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+    private int maxKeysInMemory = DEFAULT_MAX_KEYS_IN_MEMORY;
+    private String spillDirectory;
+
+    private KeySet keySet;
+    private long uniqueCount;
+    private long duplicateCount;
+
+    Deduplicator() {
+    }
+
+    void setMode(final DeduplicationMode mode) {
+        this.mode = mode;
+    }
+
+    DeduplicationMode getMode() {
+        return mode;
+    }
+
+    void setExpectedKeys(final int expectedKeys) {
+        this.expectedKeys = expectedKeys;
+    }
+
+    int getExpectedKeys() {
+        return expectedKeys;
+    }
+
+    void setFalsePositiveRate(final double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    void setMaxKeysInMemory(final int maxKeysInMemory) {
+        this.maxKeysInMemory = maxKeysInMemory;
+    }
+
+    int getMaxKeysInMemory() {
+        return maxKeysInMemory;
+    }
+
+    void setSpillDirectory(final String spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    /**
+     * Remembers a key.
+     *
+     * @param key the key
+     * @return true if the key has not been seen before
+     */
+    boolean isFirstOccurrence(final String key) {
+        if (keySet == null) {
+            keySet = createKeySet();
+        }
+
+        if (keySet.add(key)) {
+            ++uniqueCount;
+            return true;
+        }
+
+        ++duplicateCount;
+        return false;
+    }
+
+    long getMemoryUsage() {
+        return keySet != null ? keySet.getMemoryUsage() : 0;
+    }
+
+    long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    /**
+     * Forgets all keys.
+     */
+    void reset() {
+        if (keySet != null) {
+            keySet.close();
+            keySet = null;
+        }
+        uniqueCount = 0;
+        duplicateCount = 0;
+    }
+
+    /**
+     * Reports the number of keys and the memory use, and forgets all keys.
+     */
+    void close() {
+        LOG.externalInfo(String.format("Unique keys: %d; Duplicates: %d; Memory (%s): %.1f MiB",
+                    uniqueCount, duplicateCount, mode, getMemoryUsage() / BYTES_PER_MIB));
+        reset();
+    }
+
+    private KeySet createKeySet() {
+        switch (mode) {
+            case BLOOM:
+                return new BloomFilterKeySet(expectedKeys, falsePositiveRate);
+            case SPILL:
+                final Path directory = Paths.get(spillDirectory != null ?
+                        spillDirectory : System.getProperty("java.io.tmpdir"));
+                return new SpillingKeySet(maxKeysInMemory, directory);
+            case EXACT:
+            default:
+                return new OffHeapKeySet();
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.mangling;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Calculates 64-bit hashes of keys. The hash function follows MurmurHash3:
+ * eight bytes are mixed in at a time and the result is passed through the
+ * MurmurHash3 finalizer.
+ *
+ */
+final class KeyHash {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final long M1 = 0xff51afd7ed558ccdL;
+    private static final long M2 = 0xc4ceb9fe1a85ec53L;
+
+    private static final int BYTE_MASK = 0xff;
+    private static final int ROTATION = 31;
+    private static final int SHIFT = 33;
+
+    private KeyHash() {
+        throw new AssertionError("No instances allowed");
+    }
+
+    /**
+     * Calculates the hash of a key.
+     *
+     * @param key the key
+     * @return the hash
+     */
+    static long hash(final String key) {
+        return hash(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Calculates the hash of a UTF-8 encoded key.
+     *
+     * @param bytes the encoded key
+     * @return the hash
+     */
+    static long hash(final byte[] bytes) {
+        long h = bytes.length;
+        long k = 0;
+        int i = 0;
+
+        for (; i < bytes.length; ++i) {
+            k = k << Byte.SIZE | bytes[i] & BYTE_MASK;
+            if (i % Long.BYTES == Long.BYTES - 1) {
+                h = mixIn(h, k);
+                k = 0;
+            }
+        }
+        if (i % Long.BYTES != 0) {
+            h = mixIn(h, k);
+        }
+
+        return mix(h);
+    }
+
+    /**
+     * Scrambles a hash; used to derive a second hash from a first one.
+     *
+     * @param h the hash
+     * @return the scrambled hash
+     */
+    static long mix(final long h) {
+        long x = h;
+        x ^= x >>> SHIFT;
+        x *= M1;
+        x ^= x >>> SHIFT;
+        x *= M2;
+        x ^= x >>> SHIFT;
+        return x;
+    }
+
+    private static long mixIn(final long h, final long k) {
+        return Long.rotateLeft(h ^ Long.rotateLeft(k * C1, ROTATION) * C2, ROTATION) * C1 + C2;
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.mangling;
+
+import java.io.Closeable;
+
+/**
+ * A set of keys which remembers whether a key has been added before.
+ *
+ */
+interface KeySet extends Closeable {
+
+    /**
+     * Adds a key to the set.
+     *
+     * @param key the key
+     * @return true if the key has not been added before
+     */
+    boolean add(String key);
+
+    /**
+     * Returns the memory occupied by the set, on and off the heap.
+     *
+     * @return the memory use in bytes
+     */
+    long getMemoryUsage();
+
+    @Override
+    void close();
+
+}
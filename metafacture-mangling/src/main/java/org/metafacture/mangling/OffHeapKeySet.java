@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.mangling;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An exact set of keys which is kept outside of the Java heap. The keys are
+ * stored UTF-8 encoded in direct buffers; an open-addressing hash table with
+ * linear probing, which is also kept in direct buffers, refers to them by
+ * hash and position. This avoids the per-entry object overhead of a
+ * {@link java.util.HashSet} and keeps large sets out of the garbage
+ * collector's way. The direct memory is limited by
+ * {@code -XX:MaxDirectMemorySize}.
+ *
+ */
+final class OffHeapKeySet implements KeySet {
+
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int PAGE_SHIFT = 20;
+    private static final int PAGE_SLOTS = 1 << PAGE_SHIFT;
+    private static final int SLOT_BYTES = 2 * Long.BYTES;
+    private static final int CHUNK_BYTES = 64 * 1024 * 1024;
+
+    // Maximum load factor of 3/4
+    private static final int LOAD_NUMERATOR = 3;
+    private static final int LOAD_DENOMINATOR = 4;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    private ByteBuffer[] table;
+    private long capacity;
+    private long size;
+
+    /**
+     * Creates an empty set.
+     */
+    OffHeapKeySet() {
+        table = allocateTable(INITIAL_CAPACITY);
+        capacity = INITIAL_CAPACITY;
+    }
+
+    @Override
+    public boolean add(final String key) {
+        final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        final long hash = KeyHash.hash(bytes);
+        final long mask = capacity - 1;
+
+        for (long slot = hash & mask; ; slot = slot + 1 & mask) {
+            final ByteBuffer page = table[(int) (slot >>> PAGE_SHIFT)];
+            final int offset = (int) (slot & PAGE_SLOTS - 1) * SLOT_BYTES;
+            final long reference = page.getLong(offset + Long.BYTES);
+
+            if (reference == 0) {
+                page.putLong(offset, hash);
+                page.putLong(offset + Long.BYTES, store(bytes));
+                ++size;
+                if (size * LOAD_DENOMINATOR > capacity * LOAD_NUMERATOR) {
+                    grow();
+                }
+                return true;
+            }
+
+            if (page.getLong(offset) == hash && keyEquals(reference, bytes)) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        long chunkBytes = 0;
+        for (final ByteBuffer chunk : chunks) {
+            chunkBytes += chunk.capacity();
+        }
+        return capacity * SLOT_BYTES + chunkBytes;
+    }
+
+    /**
+     * Gets the number of keys in the set.
+     *
+     * @return the number of keys
+     */
+    long size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        // The direct buffers are released by the garbage collector
+        chunks.clear();
+        table = null;
+        capacity = 0;
+        size = 0;
+    }
+
+    /**
+     * Appends a key to the current chunk.
+     *
+     * @return a reference to the key: chunk index and offset, plus one to
+     *         distinguish it from an empty slot
+     */
+    private long store(final byte[] bytes) {
+        final int length = Integer.BYTES + bytes.length;
+        ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+
+        if (chunk == null || chunk.remaining() < length) {
+            chunk = ByteBuffer.allocateDirect(Math.max(CHUNK_BYTES, length));
+            chunks.add(chunk);
+        }
+
+        final long reference = ((long) (chunks.size() - 1) << Integer.SIZE | chunk.position()) + 1;
+        chunk.putInt(bytes.length).put(bytes);
+
+        return reference;
+    }
+
+    private boolean keyEquals(final long reference, final byte[] bytes) {
+        final ByteBuffer chunk = chunks.get((int) (reference - 1 >>> Integer.SIZE));
+        final int offset = (int) (reference - 1);
+
+        if (chunk.getInt(offset) != bytes.length) {
+            return false;
+        }
+
+        final int start = offset + Integer.BYTES;
+        for (int i = 0; i < bytes.length; ++i) {
+            if (chunk.get(start + i) != bytes[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void grow() {
+        final ByteBuffer[] oldTable = table;
+        final long oldCapacity = capacity;
+
+        capacity = oldCapacity * 2;
+        table = allocateTable(capacity);
+
+        final long mask = capacity - 1;
+        for (long oldSlot = 0; oldSlot < oldCapacity; ++oldSlot) {
+            final ByteBuffer oldPage = oldTable[(int) (oldSlot >>> PAGE_SHIFT)];
+            final int oldOffset = (int) (oldSlot & PAGE_SLOTS - 1) * SLOT_BYTES;
+            final long reference = oldPage.getLong(oldOffset + Long.BYTES);
+
+            if (reference != 0) {
+                final long hash = oldPage.getLong(oldOffset);
+                long slot = hash & mask;
+                while (true) {
+                    final ByteBuffer page = table[(int) (slot >>> PAGE_SHIFT)];
+                    final int offset = (int) (slot & PAGE_SLOTS - 1) * SLOT_BYTES;
+                    if (page.getLong(offset + Long.BYTES) == 0) {
+                        page.putLong(offset, hash);
+                        page.putLong(offset + Long.BYTES, reference);
+                        break;
+                    }
+                    slot = slot + 1 & mask;
+                }
+            }
+        }
+    }
+
+    private static ByteBuffer[] allocateTable(final long slots) {
+        final int pageSlots = (int) Math.min(slots, PAGE_SLOTS);
+        final ByteBuffer[] pages = new ByteBuffer[(int) (slots / pageSlots)];
+        for (int i = 0; i < pages.length; ++i) {
+            pages[i] = ByteBuffer.allocateDirect(pageSlots * SLOT_BYTES);
+        }
+        return pages;
+    }
+
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.mangling;
+
+import org.metafacture.framework.MetafactureException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * An exact set of keys which spills to disk. Up to a configurable number of
+ * keys are kept in memory. When this limit is reached, they are written
+ * sorted to a run file, and only a Bloom filter and a sparse index of every
+ * {@value INDEX_INTERVAL}th key of the run are kept in memory. A key is
+ * looked up in a run only if the run's Bloom filter does not rule it out;
+ * the lookup then reads a single block of the run file.
+ * <p>
+ * To keep the number of runs which are probed for each key small, runs are
+ * compacted: as soon as a number of runs of the same size class exist (the
+ * merge fan-in, {@value DEFAULT_MERGE_FAN_IN} by default), they are merged
+ * into a single run of the next size class with a new Bloom filter and
+ * sparse index. The number of runs thus grows only
+ * logarithmically with the number of keys, and each key is rewritten once
+ * per size class.
+ *
+ */
+final class SpillingKeySet implements KeySet {
+
+    static final int DEFAULT_MERGE_FAN_IN = 16;
+
+    private static final int INDEX_INTERVAL = 64;
+    private static final double RUN_FALSE_POSITIVE_RATE = 0.01;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Rough heap use of a key in a HashSet and of a String, apart from its characters
+    private static final int SET_ENTRY_OVERHEAD = 80;
+    private static final int STRING_OVERHEAD = 40;
+
+    private final Set<String> keys = new HashSet<>();
+    private final List<Run> runs = new ArrayList<>();
+    private final int maxKeysInMemory;
+    private final int mergeFanIn;
+    private final Path directory;
+
+    private long keyBytes;
+
+    /**
+     * Creates an empty set.
+     *
+     * @param maxKeysInMemory the number of keys which are kept in memory
+     *                        before they are spilled to disk
+     * @param directory       the directory for the run files
+     */
+    SpillingKeySet(final int maxKeysInMemory, final Path directory) {
+        this(maxKeysInMemory, directory, DEFAULT_MERGE_FAN_IN);
+    }
+
+    /**
+     * Creates an empty set.
+     *
+     * @param maxKeysInMemory the number of keys which are kept in memory
+     *                        before they are spilled to disk
+     * @param directory       the directory for the run files
+     * @param mergeFanIn      the number of runs of the same size class which
+     *                        are merged into one
+     */
+    SpillingKeySet(final int maxKeysInMemory, final Path directory, final int mergeFanIn) {
+        if (maxKeysInMemory < 1) {
+            throw new IllegalArgumentException("Number of keys in memory must be positive: " + maxKeysInMemory);
+        }
+        if (mergeFanIn < 2) {
+            throw new IllegalArgumentException("Merge fan-in must be at least 2: " + mergeFanIn);
+        }
+
+        this.maxKeysInMemory = maxKeysInMemory;
+        this.mergeFanIn = mergeFanIn;
+        this.directory = directory;
+    }
+
+    @Override
+    public boolean add(final String key) {
+        if (keys.contains(key)) {
+            return false;
+        }
+
+        if (!runs.isEmpty()) {
+            final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            final long hash = KeyHash.hash(bytes);
+
+            for (final Run run : runs) {
+                if (run.contains(key, hash)) {
+                    return false;
+                }
+            }
+        }
+
+        keys.add(key);
+        keyBytes += key.length();
+
+        if (keys.size() >= maxKeysInMemory) {
+            spill();
+        }
+
+        return true;
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        long memory = keys.size() * (long) SET_ENTRY_OVERHEAD + keyBytes;
+        for (final Run run : runs) {
+            memory += run.getMemoryUsage();
+        }
+        return memory;
+    }
+
+    /**
+     * Gets the number of run files.
+     *
+     * @return the number of runs
+     */
+    int getRunCount() {
+        return runs.size();
+    }
+
+    /**
+     * Gets the number of keys in the largest run.
+     *
+     * @return the size of the largest run
+     */
+    int getMaxRunSize() {
+        int maxSize = 0;
+        for (final Run run : runs) {
+            maxSize = Math.max(maxSize, run.keyCount);
+        }
+        return maxSize;
+    }
+
+    @Override
+    public void close() {
+        keys.clear();
+        keyBytes = 0;
+
+        for (final Run run : runs) {
+            run.close();
+        }
+        runs.clear();
+    }
+
+    private void spill() {
+        final String[] sortedKeys = keys.toArray(new String[keys.size()]);
+        Arrays.sort(sortedKeys);
+
+        try {
+            runs.add(new Run(directory, Arrays.asList(sortedKeys).iterator(), sortedKeys.length, 0));
+            compact();
+        }
+        catch (final IOException e) {
+            throw new MetafactureException(e);
+        }
+
+        keys.clear();
+        keyBytes = 0;
+    }
+
+    /**
+     * Merges the newest runs while {@code mergeFanIn} of them belong to the
+     * same size class. Older runs always belong to the same or a larger size
+     * class than newer ones.
+     */
+    private void compact() throws IOException {
+        while (runs.size() >= mergeFanIn) {
+            final int level = runs.get(runs.size() - 1).level;
+            final List<Run> group = runs.subList(runs.size() - mergeFanIn, runs.size());
+            if (group.get(0).level != level) {
+                break;
+            }
+
+            int keyCount = 0;
+            for (final Run run : group) {
+                keyCount += run.keyCount;
+            }
+
+            final Run merged;
+            try (RunMerger merger = new RunMerger(group)) {
+                merged = new Run(directory, merger, keyCount, level + 1);
+            }
+
+            for (final Run run : group) {
+                run.close();
+            }
+            group.clear();
+            runs.add(merged);
+        }
+    }
+
+    /**
+     * A sorted run file together with its Bloom filter and sparse index.
+     */
+    private static final class Run {
+
+        private final Path file;
+        private final FileChannel channel;
+        private final BloomFilterKeySet filter;
+        private final String[] indexKeys;
+        private final long[] indexOffsets;
+        private final long size;
+        private final int keyCount;
+        private final int level;
+
+        Run(final Path directory, final Iterator<String> sortedKeys, final int keyCount, final int level) throws IOException {
+            this.keyCount = keyCount;
+            this.level = level;
+
+            file = Files.createTempFile(directory, "unique-keys-", ".run");
+            filter = new BloomFilterKeySet(keyCount, RUN_FALSE_POSITIVE_RATE);
+
+            final int indexSize = (keyCount + INDEX_INTERVAL - 1) / INDEX_INTERVAL;
+            indexKeys = new String[indexSize];
+            indexOffsets = new long[indexSize];
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+                long offset = 0;
+                for (int i = 0; i < keyCount; ++i) {
+                    final String key = sortedKeys.next();
+                    final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+                    filter.put(KeyHash.hash(bytes));
+
+                    if (i % INDEX_INTERVAL == 0) {
+                        indexKeys[i / INDEX_INTERVAL] = key;
+                        indexOffsets[i / INDEX_INTERVAL] = offset;
+                    }
+
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                    offset += Integer.BYTES + bytes.length;
+                }
+            }
+
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            size = channel.size();
+        }
+
+        boolean contains(final String key, final long hash) {
+            if (!filter.mightContain(hash)) {
+                return false;
+            }
+
+            int block = Arrays.binarySearch(indexKeys, key);
+            if (block >= 0) {
+                return true;
+            }
+
+            block = -block - 2;
+            if (block < 0) {
+                return false;
+            }
+
+            final long start = indexOffsets[block];
+            final long end = block + 1 < indexOffsets.length ? indexOffsets[block + 1] : size;
+
+            return readBlock(start, (int) (end - start)).contains(key);
+        }
+
+        long getMemoryUsage() {
+            long memory = filter.getMemoryUsage() + (long) indexOffsets.length * (Long.BYTES + Long.BYTES);
+            for (final String key : indexKeys) {
+                memory += STRING_OVERHEAD + key.length();
+            }
+            return memory;
+        }
+
+        void close() {
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            }
+            catch (final IOException e) {
+                throw new MetafactureException(e);
+            }
+        }
+
+        private List<String> readBlock(final long start, final int length) {
+            final ByteBuffer buffer = ByteBuffer.allocate(length);
+
+            try {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) {
+                        throw new IOException("Unexpected end of run file " + file);
+                    }
+                }
+            }
+            catch (final IOException e) {
+                throw new MetafactureException(e);
+            }
+
+            buffer.flip();
+            final List<String> blockKeys = new ArrayList<>(INDEX_INTERVAL);
+            while (buffer.hasRemaining()) {
+                final byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                blockKeys.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            return blockKeys;
+        }
+
+    }
+
+    /**
+     * Reads the keys of several runs in sorted order. The runs are disjoint,
+     * since a key is only added if none of the runs contains it.
+     */
+    private static final class RunMerger implements Iterator<String>, AutoCloseable {
+
+        private final PriorityQueue<RunReader> queue;
+
+        RunMerger(final List<Run> runs) throws IOException {
+            queue = new PriorityQueue<>(runs.size(), Comparator.comparing(RunReader::peek));
+
+            try {
+                for (final Run run : runs) {
+                    final RunReader reader = new RunReader(run);
+                    if (reader.hasNext()) {
+                        queue.add(reader);
+                    }
+                    else {
+                        reader.close();
+                    }
+                }
+            }
+            catch (final IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public String next() {
+            final RunReader reader = queue.poll();
+            if (reader == null) {
+                throw new NoSuchElementException();
+            }
+
+            final String key = reader.peek();
+            try {
+                reader.advance();
+            }
+            catch (final IOException e) {
+                reader.close();
+                throw new MetafactureException(e);
+            }
+
+            if (reader.hasNext()) {
+                queue.add(reader);
+            }
+            else {
+                reader.close();
+            }
+
+            return key;
+        }
+
+        @Override
+        public void close() {
+            for (final RunReader reader : queue) {
+                reader.close();
+            }
+            queue.clear();
+        }
+
+    }
+
+    /**
+     * Reads the keys of a run file sequentially.
+     */
+    private static final class RunReader {
+
+        private final DataInputStream in;
+        private int remaining;
+        private String current;
+
+        RunReader(final Run run) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.file), BUFFER_SIZE));
+            remaining = run.keyCount;
+            advance();
+        }
+
+        boolean hasNext() {
+            return current != null;
+        }
+
+        String peek() {
+            return current;
+        }
+
+        void advance() throws IOException {
+            if (remaining > 0) {
+                final byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                current = new String(bytes, StandardCharsets.UTF_8);
+                --remaining;
+            }
+            else {
+                current = null;
+            }
+        }
+
+        void close() {
+            try {
+                in.close();
+            }
+            catch (final IOException e) {
+                throw new MetafactureException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.mangling;
+
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.ObjectPipe;
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+
+/**
+ * Filters data objects which have been seen before anywhere in the stream.
+ * Unlike {@link DuplicateObjectFilter}, duplicates need not be consecutive,
+ * so the stream does not have to be sorted. Objects are compared by their
+ * string representation. How the objects which have been seen are
+ * remembered is configured with {@link #setMode(DeduplicationMode)}.
+ *
+ * @param <T> object type
+ *
+ */
+@Description("Filters data objects which have been seen before anywhere in the stream. Objects are compared by their string representation. Options: `mode` (`EXACT` (default), `BLOOM` or `SPILL`), `expectedkeys` and `falsepositiverate` for `BLOOM`, `maxkeysinmemory` and `spilldirectory` for `SPILL`.")
+@In(Object.class)
+@Out(Object.class)
+@FluxCommand("filter-unique-objects")
+public final class UniqueObjectFilter<T> extends AbstractUniqueFilter<ObjectReceiver<T>> implements ObjectPipe<T, ObjectReceiver<T>> {
+
+    /**
+     * Creates an instance of {@link UniqueObjectFilter}.
+     */
+    public UniqueObjectFilter() {
+    }
+
+    @Override
+    public void process(final T obj) {
+        if (isFirstOccurrence(obj.toString())) {
+            getReceiver().process(obj);
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.mangling;
+
+import org.metafacture.flowcontrol.StreamBuffer;
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.StreamPipe;
+import org.metafacture.framework.StreamReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+
+/**
+ * Filters records whose key has been seen before anywhere in the stream. By
+ * default, the key is the record ID. Alternatively, the value of a literal
+ * can be used as key (see {@link #setKeyLiteral(String)}); records are then
+ * buffered until their end, and records without the key literal are kept.
+ * How the keys which have been seen are remembered is configured with
+ * {@link #setMode(DeduplicationMode)}.
+ *
+ */
+@Description("Filters records whose key (the record ID, or the value of the literal given by `keyliteral`) has been seen before anywhere in the stream. Options: `mode` (`EXACT` (default), `BLOOM` or `SPILL`), `expectedkeys` and `falsepositiverate` for `BLOOM`, `maxkeysinmemory` and `spilldirectory` for `SPILL`.")
+@In(StreamReceiver.class)
+@Out(StreamReceiver.class)
+@FluxCommand("filter-unique-records")
+public final class UniqueRecordFilter extends AbstractUniqueFilter<StreamReceiver> implements StreamPipe<StreamReceiver> {
+
+    private final StreamBuffer streamBuffer = new StreamBuffer();
+    private final EntityPathTracker entityPathTracker = new EntityPathTracker();
+
+    private String keyLiteral;
+    private String identifier;
+    private String key;
+    private boolean passing;
+
+    /**
+     * Creates an instance of {@link UniqueRecordFilter}.
+     */
+    public UniqueRecordFilter() {
+    }
+
+    /**
+     * Sets the name of the literal whose value is used as key. This must be
+     * a qualified literal name including the entities in which the literal is
+     * contained, e.g. &ldquo;metadata.id&rdquo;. If a record contains multiple
+     * matching literals, the value of the first one is used.
+     * <p>
+     * <strong>Default value: null</strong> (the record ID is used as key)
+     * <p>
+     * This parameter must only be changed between records otherwise the
+     * behaviour of the module is undefined.
+     *
+     * @param keyLiteral a qualified literal name
+     */
+    public void setKeyLiteral(final String keyLiteral) {
+        this.keyLiteral = keyLiteral;
+    }
+
+    /**
+     * Gets the name of the literal whose value is used as key.
+     *
+     * @return the qualified literal name, or null if the record ID is used
+     */
+    public String getKeyLiteral() {
+        return keyLiteral;
+    }
+
+    @Override
+    public void startRecord(final String recordIdentifier) {
+        if (keyLiteral == null) {
+            passing = isFirstOccurrence(recordIdentifier);
+            if (passing) {
+                getReceiver().startRecord(recordIdentifier);
+            }
+        }
+        else {
+            identifier = recordIdentifier;
+            key = null;
+            entityPathTracker.startRecord(recordIdentifier);
+        }
+    }
+
+    @Override
+    public void endRecord() {
+        if (keyLiteral == null) {
+            if (passing) {
+                getReceiver().endRecord();
+            }
+        }
+        else {
+            if (key == null || isFirstOccurrence(key)) {
+                getReceiver().startRecord(identifier);
+                streamBuffer.replay();
+                getReceiver().endRecord();
+            }
+            streamBuffer.clear();
+            entityPathTracker.endRecord();
+        }
+    }
+
+    @Override
+    public void startEntity(final String name) {
+        if (keyLiteral == null) {
+            if (passing) {
+                getReceiver().startEntity(name);
+            }
+        }
+        else {
+            streamBuffer.startEntity(name);
+            entityPathTracker.startEntity(name);
+        }
+    }
+
+    @Override
+    public void endEntity() {
+        if (keyLiteral == null) {
+            if (passing) {
+                getReceiver().endEntity();
+            }
+        }
+        else {
+            streamBuffer.endEntity();
+            entityPathTracker.endEntity();
+        }
+    }
+
+    @Override
+    public void literal(final String name, final String value) {
+        if (keyLiteral == null) {
+            if (passing) {
+                getReceiver().literal(name, value);
+            }
+        }
+        else {
+            if (key == null && keyLiteral.equals(entityPathTracker.getCurrentPathWith(name))) {
+                key = value;
+            }
+            streamBuffer.literal(name, value);
+        }
+    }
+
+    @Override
+    protected void onSetReceiver() {
+        streamBuffer.setReceiver(getReceiver());
+    }
+
+    @Override
+    protected void onResetStream() {
+        streamBuffer.clear();
+        entityPathTracker.resetStream();
+        super.onResetStream();
+    }
+
+    @Override
+    protected void onCloseStream() {
+        streamBuffer.clear();
+        entityPathTracker.closeStream();
+        super.onCloseStream();
+    }
+
+}
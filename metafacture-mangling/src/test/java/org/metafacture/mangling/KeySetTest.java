@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.mangling;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the implementations of {@link KeySet}.
+ *
+ */
+public final class KeySetTest {
+
+    private static final int KEY_COUNT = 10000;
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    public KeySetTest() {
+    }
+
+    @Test
+    public void testOffHeapKeySetShouldRememberKeysWhileGrowing() {
+        try (OffHeapKeySet keySet = new OffHeapKeySet()) {
+            verifyKeySet(keySet);
+            Assert.assertEquals(KEY_COUNT, keySet.size());
+        }
+    }
+
+    @Test
+    public void testSpillingKeySetShouldRememberKeysAcrossRuns() throws IOException {
+        try (SpillingKeySet keySet = new SpillingKeySet(100, tempFolder.getRoot().toPath())) {
+            verifyKeySet(keySet);
+            Assert.assertTrue(keySet.getRunCount() > 1);
+        }
+
+        try (Stream<?> files = Files.list(tempFolder.getRoot().toPath())) {
+            Assert.assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testSpillingKeySetShouldMergeRuns() throws IOException {
+        final int maxKeysInMemory = 10;
+        final int mergeFanIn = 4;
+
+        try (SpillingKeySet keySet = new SpillingKeySet(maxKeysInMemory, tempFolder.getRoot().toPath(), mergeFanIn)) {
+            verifyKeySet(keySet);
+
+            // 1000 spilled runs are merged in four passes into runs of up to 2560 keys
+            Assert.assertEquals(maxKeysInMemory * (int) Math.pow(mergeFanIn, 4), keySet.getMaxRunSize());
+            Assert.assertTrue(keySet.getRunCount() < 4 * mergeFanIn);
+
+            try (Stream<?> files = Files.list(tempFolder.getRoot().toPath())) {
+                Assert.assertEquals(keySet.getRunCount(), files.count());
+            }
+        }
+
+        try (Stream<?> files = Files.list(tempFolder.getRoot().toPath())) {
+            Assert.assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testBloomFilterShouldNotForgetKeys() {
+        final BloomFilterKeySet keySet = new BloomFilterKeySet(KEY_COUNT, 0.001);
+
+        int falsePositives = 0;
+        for (int i = 0; i < KEY_COUNT; ++i) {
+            if (!keySet.add(key(i))) {
+                ++falsePositives;
+            }
+        }
+        for (int i = 0; i < KEY_COUNT; ++i) {
+            Assert.assertFalse(keySet.add(key(i)));
+        }
+
+        Assert.assertTrue(falsePositives < KEY_COUNT / 100);
+    }
+
+    private static void verifyKeySet(final KeySet keySet) {
+        for (int i = 0; i < KEY_COUNT; ++i) {
+            Assert.assertTrue(keySet.add(key(i)));
+        }
+        for (int i = KEY_COUNT - 1; i >= 0; --i) {
+            Assert.assertFalse(keySet.add(key(i)));
+        }
+        Assert.assertTrue(keySet.getMemoryUsage() > 0);
+    }
+
+    private static String key(final int i) {
+        return "key " + i;
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.mangling;
+
+import org.metafacture.framework.ObjectReceiver;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Tests for class {@link UniqueObjectFilter}.
+ *
+ */
+public final class UniqueObjectFilterTest {
+
+    private static final String OBJECT1 = "Object 1";
+    private static final String OBJECT2 = "Object 2";
+    private static final String OBJECT3 = "Object 3";
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private UniqueObjectFilter<String> uniqueObjectFilter;
+
+    @Mock
+    private ObjectReceiver<String> receiver;
+
+    public UniqueObjectFilterTest() {
+    }
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        uniqueObjectFilter = new UniqueObjectFilter<String>();
+        uniqueObjectFilter.setReceiver(receiver);
+    }
+
+    @After
+    public void cleanup() {
+        uniqueObjectFilter.closeStream();
+    }
+
+    @Test
+    public void testShouldEliminateNonConsecutiveDuplicates() {
+        processObjects();
+        verifyUniqueObjects();
+    }
+
+    @Test
+    public void testShouldEliminateDuplicatesWithBloomFilter() {
+        uniqueObjectFilter.setMode(DeduplicationMode.BLOOM);
+        uniqueObjectFilter.setExpectedKeys(100);
+
+        processObjects();
+        verifyUniqueObjects();
+    }
+
+    @Test
+    public void testShouldEliminateDuplicatesWhenSpilling() {
+        uniqueObjectFilter.setMode(DeduplicationMode.SPILL);
+        uniqueObjectFilter.setMaxKeysInMemory(1);
+        uniqueObjectFilter.setSpillDirectory(tempFolder.getRoot().getPath());
+
+        processObjects();
+        verifyUniqueObjects();
+    }
+
+    @Test
+    public void testShouldForgetObjectsOnResetStream() {
+        uniqueObjectFilter.process(OBJECT1);
+        uniqueObjectFilter.resetStream();
+        uniqueObjectFilter.process(OBJECT1);
+
+        Mockito.verify(receiver, Mockito.times(2)).process(OBJECT1);
+    }
+
+    @Test
+    public void testShouldCountDuplicates() {
+        processObjects();
+
+        Assert.assertEquals(2, uniqueObjectFilter.getDuplicateCount());
+        Assert.assertTrue(uniqueObjectFilter.getMemoryUsage() > 0);
+    }
+
+    private void processObjects() {
+        uniqueObjectFilter.process(OBJECT1);
+        uniqueObjectFilter.process(OBJECT2);
+        uniqueObjectFilter.process(OBJECT1);
+        uniqueObjectFilter.process(OBJECT3);
+        uniqueObjectFilter.process(OBJECT2);
+    }
+
+    private void verifyUniqueObjects() {
+        Mockito.verify(receiver).process(OBJECT1);
+        Mockito.verify(receiver).process(OBJECT2);
+        Mockito.verify(receiver).process(OBJECT3);
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.mangling;
+
+import org.metafacture.framework.StreamReceiver;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Tests for class {@link UniqueRecordFilter}.
+ *
+ */
+public final class UniqueRecordFilterTest {
+
+    private static final String RECORD_ID1 = "1";
+    private static final String RECORD_ID2 = "2";
+    private static final String RECORD_ID3 = "3";
+    private static final String ENTITY = "En";
+    private static final String LITERAL_NAME = "Li";
+    private static final String KEY_LITERAL = ENTITY + "." + LITERAL_NAME;
+    private static final String VALUE1 = "Va 1";
+    private static final String VALUE2 = "Va 2";
+
+    private UniqueRecordFilter uniqueRecordFilter;
+
+    @Mock
+    private StreamReceiver receiver;
+
+    public UniqueRecordFilterTest() {
+    }
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        uniqueRecordFilter = new UniqueRecordFilter();
+        uniqueRecordFilter.setReceiver(receiver);
+    }
+
+    @After
+    public void cleanup() {
+        uniqueRecordFilter.closeStream();
+    }
+
+    @Test
+    public void testShouldEliminateRecordsWithDuplicateIds() {
+        emitRecord(RECORD_ID1, VALUE1);
+        emitRecord(RECORD_ID2, VALUE1);
+        emitRecord(RECORD_ID1, VALUE2);
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        verifyRecord(ordered, RECORD_ID1, VALUE1);
+        verifyRecord(ordered, RECORD_ID2, VALUE1);
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
+    @Test
+    public void testShouldEliminateRecordsWithDuplicateKeyLiteral() {
+        uniqueRecordFilter.setKeyLiteral(KEY_LITERAL);
+
+        emitRecord(RECORD_ID1, VALUE1);
+        emitRecord(RECORD_ID2, VALUE1);
+        emitRecord(RECORD_ID3, VALUE2);
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        verifyRecord(ordered, RECORD_ID1, VALUE1);
+        verifyRecord(ordered, RECORD_ID3, VALUE2);
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
+    @Test
+    public void testShouldIgnoreLiteralsOutsideOfKeyPath() {
+        uniqueRecordFilter.setKeyLiteral(KEY_LITERAL);
+
+        uniqueRecordFilter.startRecord(RECORD_ID1);
+        uniqueRecordFilter.literal(LITERAL_NAME, VALUE1);
+        uniqueRecordFilter.endRecord();
+        emitRecord(RECORD_ID2, VALUE1);
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord(RECORD_ID1);
+        ordered.verify(receiver).literal(LITERAL_NAME, VALUE1);
+        ordered.verify(receiver).endRecord();
+        verifyRecord(ordered, RECORD_ID2, VALUE1);
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
+    @Test
+    public void testShouldKeepRecordsWithoutKeyLiteral() {
+        uniqueRecordFilter.setKeyLiteral(KEY_LITERAL);
+
+        uniqueRecordFilter.startRecord(RECORD_ID1);
+        uniqueRecordFilter.endRecord();
+        uniqueRecordFilter.startRecord(RECORD_ID2);
+        uniqueRecordFilter.endRecord();
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord(RECORD_ID1);
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).startRecord(RECORD_ID2);
+        ordered.verify(receiver).endRecord();
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
+    private void emitRecord(final String id, final String value) {
+        uniqueRecordFilter.startRecord(id);
+        uniqueRecordFilter.startEntity(ENTITY);
+        uniqueRecordFilter.literal(LITERAL_NAME, value);
+        uniqueRecordFilter.endEntity();
+        uniqueRecordFilter.endRecord();
+    }
+
+    private void verifyRecord(final InOrder ordered, final String id, final String value) {
+        ordered.verify(receiver).startRecord(id);
+        ordered.verify(receiver).startEntity(ENTITY);
+        ordered.verify(receiver).literal(LITERAL_NAME, value);
+        ordered.verify(receiver).endEntity();
+        ordered.verify(receiver).endRecord();
+    }
+
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.monitoring;
+
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.MetafactureLogger;
+import org.metafacture.framework.Receiver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects per-stage metrics of a flow. Each module of the flow is wrapped
+ * in a proxy (see {@link #instrument(Receiver)}) which counts the calls,
+ * records and errors of the module and measures the time the module itself
+ * spends on them.
+ * <p>
+ * The metrics can be written as JSON snapshots to a file at regular
+ * intervals and can be published as MXBeans named
+ * {@code org.metafacture:type=Stage,name=<index>-<name>}. A summary is
+ * logged when the metrics are closed.
+ * <p>
+ * Instrumenting a flow costs two calls to {@link System#nanoTime()} per
+ * event, so it should only be enabled when measuring a flow.
+ *
+ */
+public final class FlowMetrics implements Closeable {
+
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 10;
+
+    private static final MetafactureLogger LOG = new MetafactureLogger(FlowMetrics.class);
+
+    private static final String JMX_DOMAIN = "org.metafacture";
+    private static final double P50 = 50;
+    private static final double P90 = 90;
+    private static final double P99 = 99;
+    private static final double NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<Object, StageMetrics> stagesByModule = new IdentityHashMap<>();
+    private final List<StageMetrics> stages = new ArrayList<>();
+    private final List<ObjectName> registeredBeans = new ArrayList<>();
+    private final long startTime = System.nanoTime();
+
+    private String snapshotFile;
+    private int snapshotInterval = DEFAULT_SNAPSHOT_INTERVAL;
+    private boolean jmx;
+
+    private ScheduledExecutorService scheduler;
+    private boolean closed;
+
+    /**
+     * Creates an instance of {@link FlowMetrics}.
+     */
+    public FlowMetrics() {
+    }
+
+    /**
+     * Sets the file to which JSON snapshots of the metrics are written. The
+     * file is replaced atomically with every snapshot.
+     * <p>
+     * <strong>Default value: {@code null}</strong> (no snapshots)
+     *
+     * @param snapshotFile the name of the snapshot file
+     */
+    public void setSnapshotFile(final String snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Gets the file to which JSON snapshots of the metrics are written.
+     *
+     * @return the name of the snapshot file or null
+     */
+    public String getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * Sets the interval between two snapshots in seconds. A final snapshot
+     * is always written when the metrics are closed.
+     * <p>
+     * <strong>Default value: {@value #DEFAULT_SNAPSHOT_INTERVAL}</strong>
+     *
+     * @param snapshotInterval the snapshot interval in seconds
+     */
+    public void setSnapshotInterval(final int snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Gets the interval between two snapshots in seconds.
+     *
+     * @return the snapshot interval in seconds
+     */
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * Flags whether the stages are published as MXBeans on the platform
+     * MBean server. Must be set before the stages are registered.
+     * <p>
+     * <strong>Default value: false</strong>
+     *
+     * @param jmx true if the stages should be published
+     */
+    public void setJmx(final boolean jmx) {
+        this.jmx = jmx;
+    }
+
+    /**
+     * Checks whether the stages are published as MXBeans.
+     *
+     * @return true if the stages are published
+     */
+    public boolean isJmx() {
+        return jmx;
+    }
+
+    /**
+     * Registers a module as a stage of the flow. Registering a module more
+     * than once returns the same metrics.
+     *
+     * @param module the module
+     * @param name   the name of the stage, e.g. its flux command
+     * @return the metrics of the stage
+     */
+    public synchronized StageMetrics register(final Receiver module, final String name) {
+        StageMetrics stage = stagesByModule.get(module);
+        if (stage == null) {
+            stage = new StageMetrics(stages.size() + "-" + name, module);
+            stagesByModule.put(module, stage);
+            stages.add(stage);
+            if (jmx) {
+                registerBean(stage);
+            }
+        }
+        return stage;
+    }
+
+    /**
+     * Wraps a module in a proxy which records the metrics of the module. The
+     * proxy implements all public interfaces of the module. Modules which
+     * have not been registered before are registered under their class name.
+     *
+     * @param module the module
+     * @return the instrumented module
+     */
+    public Receiver instrument(final Receiver module) {
+        final StageMetrics stage = register(module, module.getClass().getSimpleName());
+        return (Receiver) Proxy.newProxyInstance(module.getClass().getClassLoader(),
+                publicInterfaces(module.getClass()), new InstrumentingHandler(module, stage));
+    }
+
+    /**
+     * Gets the metrics of all registered stages in the order of their
+     * registration.
+     *
+     * @return the stage metrics
+     */
+    public synchronized List<StageMetrics> getStages() {
+        return Collections.unmodifiableList(new ArrayList<>(stages));
+    }
+
+    /**
+     * Starts writing snapshots if a snapshot file is set.
+     */
+    public synchronized void start() {
+        if (snapshotFile != null && scheduler == null && !closed) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread thread = new Thread(r, "flow-metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::writeSnapshotQuietly, snapshotInterval, snapshotInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Writes a final snapshot, logs a summary of all stages and unregisters
+     * the MXBeans.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+        }
+
+        try {
+            if (snapshotFile != null) {
+                writeSnapshot();
+            }
+            logSummary();
+        }
+        finally {
+            unregisterBeans();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the metrics as JSON.
+     *
+     * @param writer the writer to write the snapshot to
+     * @throws IOException if writing fails
+     */
+    public void writeSnapshot(final Writer writer) throws IOException {
+        writer.write("{\"timestamp\":");
+        writer.write(Long.toString(System.currentTimeMillis()));
+        writer.write(",\"elapsedMillis\":");
+        writer.write(Double.toString((System.nanoTime() - startTime) / NANOS_PER_MILLI));
+        writer.write(",\"stages\":[");
+
+        boolean first = true;
+        for (final StageMetrics stage : getStages()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writeStage(writer, stage);
+        }
+
+        writer.write("]}\n");
+    }
+
+    private void writeStage(final Writer writer, final StageMetrics stage) throws IOException {
+        final LatencyHistogram latency = stage.getLatency();
+
+        writer.write("{\"name\":");
+        writeString(writer, stage.getName());
+        writer.write(",\"type\":");
+        writeString(writer, stage.getType());
+        writeField(writer, "events", stage.getEvents());
+        writeField(writer, "records", stage.getRecords());
+        writeField(writer, "errors", stage.getErrors());
+        writeField(writer, "timeMillis", stage.getTimeMillis());
+        writeField(writer, "recordsPerSecond", stage.getRecordsPerSecond());
+        writeField(writer, "eventsPerSecond", stage.getEventsPerSecond());
+        writer.write(",\"latencyMicros\":{\"p50\":");
+        writer.write(Double.toString(latency.getValueAtPercentile(P50) / NANOS_PER_MICRO));
+        writeField(writer, "p90", latency.getValueAtPercentile(P90) / NANOS_PER_MICRO);
+        writeField(writer, "p99", latency.getValueAtPercentile(P99) / NANOS_PER_MICRO);
+        writeField(writer, "max", latency.getMax() / NANOS_PER_MICRO);
+        writer.write('}');
+        writeField(writer, "queueSize", stage.getQueueSize());
+        writer.write('}');
+    }
+
+    private static void writeField(final Writer writer, final String name, final Number value) throws IOException {
+        writer.write(",\"");
+        writer.write(name);
+        writer.write("\":");
+        writer.write(value.toString());
+    }
+
+    private static void writeString(final Writer writer, final String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            }
+            else if (c < ' ') {
+                writer.write(String.format("\\u%04x", (int) c));
+            }
+            else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+
+    private void writeSnapshot() throws IOException {
+        final Path target = Paths.get(snapshotFile).toAbsolutePath();
+        final Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writeSnapshot(writer);
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeSnapshotQuietly() {
+        try {
+            writeSnapshot();
+        }
+        catch (final IOException e) {
+            LOG.warn("Could not write metrics snapshot to {}", snapshotFile, e);
+        }
+    }
+
+    private void logSummary() {
+        for (final StageMetrics stage : getStages()) {
+            LOG.externalInfo(String.format("%s: Events: %d; Records: %d; Errors: %d; Time: %.1f ms; " +
+                        "Records/s: %.1f; Latency p50/p99/max: %.1f/%.1f/%.1f us",
+                        stage.getName(), stage.getEvents(), stage.getRecords(), stage.getErrors(), stage.getTimeMillis(),
+                        stage.getRecordsPerSecond(), stage.getLatencyMedianMicros(), stage.getLatency99Micros(),
+                        stage.getLatencyMaxMicros()));
+        }
+    }
+
+    private void registerBean(final StageMetrics stage) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName name = new ObjectName(JMX_DOMAIN + ":type=Stage,name=" + ObjectName.quote(stage.getName()));
+            server.registerMBean(stage, name);
+            registeredBeans.add(name);
+        }
+        catch (final JMException e) {
+            throw new MetafactureException("Could not register metrics of stage " + stage.getName(), e);
+        }
+    }
+
+    private synchronized void unregisterBeans() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (final ObjectName name : registeredBeans) {
+            try {
+                server.unregisterMBean(name);
+            }
+            catch (final JMException e) {
+                LOG.warn("Could not unregister {}", name, e);
+            }
+        }
+        registeredBeans.clear();
+    }
+
+    private static Class<?>[] publicInterfaces(final Class<?> type) {
+        final Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            collectInterfaces(c, interfaces);
+        }
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+    private static void collectInterfaces(final Class<?> type, final Set<Class<?>> interfaces) {
+        for (final Class<?> i : type.getInterfaces()) {
+            if (Modifier.isPublic(i.getModifiers()) && interfaces.add(i)) {
+                collectInterfaces(i, interfaces);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Forwards the calls of a proxy to a module and updates the metrics of the
+ * module's stage. The time spent in nested calls to other instrumented
+ * stages on the same thread is subtracted, so that each stage is only
+ * charged for its own work.
+ *
+ */
+final class InstrumentingHandler implements InvocationHandler {
+
+    private static final ThreadLocal<CallStack> CALL_STACK = ThreadLocal.withInitial(CallStack::new);
+
+    private final Object module;
+    private final StageMetrics metrics;
+
+    InstrumentingHandler(final Object module, final StageMetrics metrics) {
+        this.module = module;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invoke(method, args);
+        }
+
+        final CallStack callStack = CALL_STACK.get();
+        callStack.enter();
+        final long start = System.nanoTime();
+        try {
+            return invoke(method, args);
+        }
+        catch (final Throwable e) { // checkstyle-disable-line IllegalCatch
+            if (callStack.isNew(e)) {
+                metrics.error();
+            }
+            throw e;
+        }
+        finally {
+            final long now = System.nanoTime();
+            final long elapsed = now - start;
+            final long duration = elapsed - callStack.exit(elapsed);
+
+            switch (method.getName()) {
+                case "process":
+                    metrics.object(duration, now);
+                    break;
+                case "startRecord":
+                    metrics.startRecord(duration, now);
+                    break;
+                case "endRecord":
+                    metrics.endRecord(duration, now);
+                    break;
+                default:
+                    metrics.event(duration, now);
+                    break;
+            }
+        }
+    }
+
+    private Object invoke(final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(module, args);
+        }
+        catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The nested calls of instrumented stages on a thread.
+     */
+    private static final class CallStack {
+
+        private static final int INITIAL_DEPTH = 16;
+
+        private long[] nestedTimes = new long[INITIAL_DEPTH];
+        private int depth;
+        private Throwable lastError;
+
+        CallStack() {
+        }
+
+        void enter() {
+            if (depth == nestedTimes.length) {
+                nestedTimes = Arrays.copyOf(nestedTimes, 2 * depth);
+            }
+            nestedTimes[depth] = 0;
+            ++depth;
+        }
+
+        long exit(final long elapsed) {
+            --depth;
+            final long nestedTime = nestedTimes[depth];
+            if (depth > 0) {
+                nestedTimes[depth - 1] += elapsed;
+            }
+            return nestedTime;
+        }
+
+        boolean isNew(final Throwable error) {
+            if (error == lastError) {
+                return false;
+            }
+            lastError = error;
+            return true;
+        }
+
+    }
+
+}
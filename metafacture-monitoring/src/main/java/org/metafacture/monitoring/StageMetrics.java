@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.monitoring;
+
+import org.metafacture.framework.Queueing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histogram of a single stage of an instrumented flow
+ * (see {@link FlowMetrics}).
+ * <p>
+ * Times are measured per stage exclusive of the time spent in the stages
+ * the stage passes its output to. A record of an object receiver is a call
+ * to {@code process}; a record of a stream receiver comprises all events
+ * from {@code startRecord} to {@code endRecord}.
+ *
+ */
+public final class StageMetrics implements StageMetricsMXBean {
+
+    private static final double MEDIAN = 50;
+    private static final double P99 = 99;
+    private static final double NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final String name;
+    private final String type;
+    private final Queueing queue;
+
+    private final LongAdder events = new LongAdder();
+    private final LongAdder records = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder time = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong firstEvent = new AtomicLong();
+    private volatile long lastEvent;
+
+    // Modules are not thread-safe, so a stage is never called concurrently:
+    private long recordTime;
+
+    StageMetrics(final String name, final Object module) {
+        this.name = name;
+        type = module.getClass().getName();
+        queue = module instanceof Queueing ? (Queueing) module : null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public long getEvents() {
+        return events.sum();
+    }
+
+    @Override
+    public long getRecords() {
+        return records.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getTimeMillis() {
+        return time.sum() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getRecordsPerSecond() {
+        return rate(records.sum());
+    }
+
+    @Override
+    public double getEventsPerSecond() {
+        return rate(events.sum());
+    }
+
+    @Override
+    public double getLatencyMedianMicros() {
+        return latency.getValueAtPercentile(MEDIAN) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getLatency99Micros() {
+        return latency.getValueAtPercentile(P99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getLatencyMaxMicros() {
+        return latency.getMax() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queue != null ? queue.getQueueSize() : -1;
+    }
+
+    /**
+     * Returns the histogram of the time the stage itself spent on a record.
+     *
+     * @return the latency histogram
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    void event(final long duration, final long now) {
+        count(duration, now);
+        recordTime += duration;
+    }
+
+    void object(final long duration, final long now) {
+        count(duration, now);
+        records.increment();
+        latency.record(duration);
+    }
+
+    void startRecord(final long duration, final long now) {
+        count(duration, now);
+        records.increment();
+        recordTime = duration;
+    }
+
+    void endRecord(final long duration, final long now) {
+        count(duration, now);
+        latency.record(recordTime + duration);
+        recordTime = 0;
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    private void count(final long duration, final long now) {
+        events.increment();
+        time.add(duration);
+        firstEvent.compareAndSet(0, now - duration);
+        lastEvent = now;
+    }
+
+    private double rate(final long count) {
+        final long elapsed = lastEvent - firstEvent.get();
+        return elapsed > 0 ? count * NANOS_PER_SECOND / elapsed : 0;
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.monitoring;
+
+/**
+ * Management interface of {@link StageMetrics} for monitoring a running flow
+ * via JMX.
+ *
+ */
+public interface StageMetricsMXBean {
+
+    /**
+     * Returns the name of the stage.
+     *
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Returns the class name of the module of the stage.
+     *
+     * @return the class name
+     */
+    String getType();
+
+    /**
+     * Returns the number of calls the stage received.
+     *
+     * @return the number of events
+     */
+    long getEvents();
+
+    /**
+     * Returns the number of records or objects the stage received.
+     *
+     * @return the number of records
+     */
+    long getRecords();
+
+    /**
+     * Returns the number of errors raised by the stage.
+     *
+     * @return the number of errors
+     */
+    long getErrors();
+
+    /**
+     * Returns the time spent in the stage itself, excluding the time spent
+     * in the following stages.
+     *
+     * @return the cumulative time in milliseconds
+     */
+    double getTimeMillis();
+
+    /**
+     * Returns the number of records per second since the stage received its
+     * first event.
+     *
+     * @return the record rate
+     */
+    double getRecordsPerSecond();
+
+    /**
+     * Returns the number of events per second since the stage received its
+     * first event.
+     *
+     * @return the event rate
+     */
+    double getEventsPerSecond();
+
+    /**
+     * Returns the median time the stage itself spent on a record.
+     *
+     * @return the median latency in microseconds
+     */
+    double getLatencyMedianMicros();
+
+    /**
+     * Returns the 99th percentile of the time the stage itself spent on a
+     * record.
+     *
+     * @return the 99th percentile of the latency in microseconds
+     */
+    double getLatency99Micros();
+
+    /**
+     * Returns the maximum time the stage itself spent on a record.
+     *
+     * @return the maximum latency in microseconds
+     */
+    double getLatencyMaxMicros();
+
+    /**
+     * Returns the number of elements waiting in the queue of the stage.
+     *
+     * @return the queue size or -1 if the stage has no queue
+     */
+    int getQueueSize();
+
+}
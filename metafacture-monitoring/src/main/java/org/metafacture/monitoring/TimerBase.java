@@ -21,7 +21,15 @@
 import org.metafacture.framework.Receiver;
 import org.metafacture.framework.Sender;
 
+import java.util.concurrent.TimeUnit;
+
 /**
+ * Base class of the timers. By default, the duration of every execution is
+ * logged. In histogram mode, the durations are aggregated into a
+ * {@link LatencyHistogram} and only a summary with percentiles is logged at
+ * intervals and when the stream is closed. Together with sampling this
+ * keeps the overhead low enough to leave timers in production flows.
+ *
  * @author Christoph Böhme
  *
  * @param <R>
@@ -31,11 +39,23 @@
 
     private static final MetafactureLogger LOG = new MetafactureLogger(TimerBase.class);
 
+    private static final double P50 = 50;
+    private static final double P95 = 95;
+    private static final double P99 = 99;
+
     private final String logPrefix;
 
+    private boolean histogramMode;
+    private int sampleRate = 1;
+    private long reportInterval;
+
     private long count;
+    private long measuredCount;
     private long cumulativeDuration;
     private long startTime;
+    private boolean measuring;
+    private LatencyHistogram histogram;
+    private long lastReport;
 
     private R receiver;
 
@@ -43,6 +63,82 @@ protected TimerBase(final String logPrefix) {
         this.logPrefix = logPrefix;
     }
 
+    /**
+     * Flags whether the durations are aggregated into a histogram instead of
+     * being logged individually. In histogram mode, the number of
+     * executions, the average duration and the 50th, 95th and 99th
+     * percentiles as well as the maximum duration are logged when the stream
+     * is closed and, if a {@link #setReportInterval(int) report interval} is
+     * set, at regular intervals.
+     * <p>
+     * <strong>Default value: false</strong>
+     *
+     * @param histogramMode true if the durations should be aggregated
+     */
+    public final void setHistogram(final boolean histogramMode) {
+        this.histogramMode = histogramMode;
+        histogram = histogramMode ? new LatencyHistogram() : null;
+    }
+
+    /**
+     * Checks whether the durations are aggregated into a histogram.
+     *
+     * @return true if the durations are aggregated
+     */
+    public final boolean getHistogram() {
+        return histogramMode;
+    }
+
+    /**
+     * Sets the rate at which executions are measured. With a rate of N,
+     * only every Nth execution is measured; the other executions are only
+     * counted.
+     * <p>
+     * <strong>Default value: 1</strong> (measure every execution)
+     *
+     * @param sampleRate the sample rate
+     */
+    public final void setSampleRate(final int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sample rate must be at least 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Gets the rate at which executions are measured.
+     *
+     * @return the sample rate
+     */
+    public final int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Sets the interval in seconds at which a summary is logged in histogram
+     * mode. The summaries cover all executions since the start of the
+     * stream. The interval is checked whenever an execution is measured, so
+     * no additional thread is needed.
+     * <p>
+     * <strong>Default value: 0</strong> (log a summary only when the stream
+     * is closed)
+     *
+     * @param reportInterval the report interval in seconds
+     */
+    public final void setReportInterval(final int reportInterval) {
+        this.reportInterval = TimeUnit.SECONDS.toNanos(reportInterval);
+    }
+
+    /**
+     * Gets the interval in seconds at which a summary is logged in histogram
+     * mode.
+     *
+     * @return the report interval in seconds
+     */
+    public final int getReportInterval() {
+        return (int) TimeUnit.NANOSECONDS.toSeconds(reportInterval);
+    }
+
     @Override
     public final <S extends R> S setReceiver(final S newReceiver) {
         receiver = newReceiver;
@@ -61,7 +157,12 @@ public final R getReceiver() {
     @Override
     public final void resetStream() {
         count = 0;
+        measuredCount = 0;
         cumulativeDuration = 0;
+        measuring = false;
+        if (histogramMode) {
+            histogram = new LatencyHistogram();
+        }
         if (receiver != null) {
             receiver.resetStream();
         }
@@ -69,24 +170,32 @@ public final void resetStream() {
 
     @Override
     public final void closeStream() {
-        final long averageDuration;
-        if (count > 0) {
-            averageDuration = cumulativeDuration / count;
+        if (histogramMode) {
+            logSummary();
         }
         else {
-            averageDuration = 0;
+            final long averageDuration;
+            if (measuredCount > 0) {
+                averageDuration = cumulativeDuration / measuredCount;
+            }
+            else {
+                averageDuration = 0;
+            }
+            LOG.externalInfo(logPrefix + String.format("Executions: %d; Cumulative duration: %s; Average duration: %s",
+                        Long.valueOf(count), TimeUtil.formatDuration(cumulativeDuration), TimeUtil.formatDuration(averageDuration)));
         }
-        LOG.externalInfo(logPrefix + String.format("Executions: %d; Cumulative duration: %s; Average duration: %s",
-                    Long.valueOf(count), TimeUtil.formatDuration(cumulativeDuration), TimeUtil.formatDuration(averageDuration)));
-        startMeasurement();
+        final long closeStart = System.nanoTime();
         if (receiver != null) {
             receiver.closeStream();
         }
-        stopMeasurement("Time to close stream: ");
+        LOG.externalInfo(logPrefix + "Time to close stream:  " + TimeUtil.formatDuration(System.nanoTime() - closeStart));
     }
 
     protected final void startMeasurement() {
-        startTime = System.nanoTime();
+        measuring = count % sampleRate == 0;
+        if (measuring) {
+            startTime = System.nanoTime();
+        }
     }
 
     protected final void stopMeasurement() {
@@ -94,12 +203,41 @@ protected final void stopMeasurement() {
     }
 
     protected final void stopMeasurement(final String prefix) {
-        final long duration = System.nanoTime() - startTime;
-
         count += 1;
+        if (!measuring) {
+            return;
+        }
+        measuring = false;
+
+        final long now = System.nanoTime();
+        final long duration = now - startTime;
+
+        measuredCount += 1;
         cumulativeDuration += duration;
 
-        LOG.externalInfo(logPrefix + String.format(prefix + " %2$s", Long.valueOf(count), TimeUtil.formatDuration(duration)));
+        if (histogramMode) {
+            histogram.record(duration);
+            if (reportInterval > 0 && now - lastReport >= reportInterval) {
+                if (lastReport != 0) {
+                    logSummary();
+                }
+                lastReport = now;
+            }
+        }
+        else {
+            LOG.externalInfo(logPrefix + String.format(prefix + " %2$s", Long.valueOf(count), TimeUtil.formatDuration(duration)));
+        }
+    }
+
+    private void logSummary() {
+        final long averageDuration = measuredCount > 0 ? cumulativeDuration / measuredCount : 0;
+        LOG.externalInfo(logPrefix + String.format("Executions: %d; Measured: %d; Average duration: %s; " +
+                    "p50: %s; p95: %s; p99: %s; Max: %s", Long.valueOf(count), Long.valueOf(measuredCount),
+                    TimeUtil.formatDuration(averageDuration),
+                    TimeUtil.formatDuration(histogram.getValueAtPercentile(P50)),
+                    TimeUtil.formatDuration(histogram.getValueAtPercentile(P95)),
+                    TimeUtil.formatDuration(histogram.getValueAtPercentile(P99)),
+                    TimeUtil.formatDuration(histogram.getMax())));
     }
 
 }
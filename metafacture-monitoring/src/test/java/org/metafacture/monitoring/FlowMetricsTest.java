@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.StreamReceiver;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+import org.metafacture.framework.helpers.DefaultStreamReceiver;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for class {@link FlowMetrics}.
+ *
+ */
+public final class FlowMetricsTest {
+
+    private static final long SLEEP_MILLIS = 20;
+
+    public FlowMetricsTest() {
+    }
+
+    @Test
+    public void shouldCountObjectsAndEvents() throws IOException {
+        try (FlowMetrics metrics = new FlowMetrics()) {
+            final Forwarder forwarder = new Forwarder(false);
+            final CountingReceiver receiver = new CountingReceiver();
+            forwarder.setReceiver(receiver);
+
+            metrics.register(forwarder, "forward");
+            final ObjectReceiver<String> first = instrument(metrics, forwarder);
+
+            first.process("a");
+            first.process("b");
+            first.closeStream();
+
+            assertEquals(2, receiver.count);
+            assertTrue(receiver.closed);
+
+            final StageMetrics stage = metrics.getStages().get(0);
+            assertEquals("0-forward", stage.getName());
+            assertEquals(Forwarder.class.getName(), stage.getType());
+            assertEquals(3, stage.getEvents());
+            assertEquals(2, stage.getRecords());
+            assertEquals(2, stage.getLatency().getCount());
+            assertEquals(-1, stage.getQueueSize());
+        }
+    }
+
+    @Test
+    public void shouldCountStreamRecords() throws IOException {
+        try (FlowMetrics metrics = new FlowMetrics()) {
+            final StreamReceiver receiver = (StreamReceiver) metrics.instrument(new DefaultStreamReceiver());
+
+            receiver.startRecord("1");
+            receiver.literal("a", "b");
+            receiver.startEntity("c");
+            receiver.endEntity();
+            receiver.endRecord();
+
+            final StageMetrics stage = metrics.getStages().get(0);
+            assertEquals(5, stage.getEvents());
+            assertEquals(1, stage.getRecords());
+            assertEquals(1, stage.getLatency().getCount());
+        }
+    }
+
+    @Test
+    public void shouldMeasureTimeExclusiveOfDownstreamStages() throws IOException {
+        try (FlowMetrics metrics = new FlowMetrics()) {
+            final Forwarder forwarder = new Forwarder(false);
+            final ObjectReceiver<String> first = instrument(metrics, forwarder);
+            forwarder.setReceiver(instrument(metrics, new SleepingReceiver()));
+
+            first.process("a");
+
+            final List<StageMetrics> stages = metrics.getStages();
+            assertTrue(stages.get(0).getTimeMillis() < SLEEP_MILLIS);
+            assertTrue(stages.get(1).getTimeMillis() >= SLEEP_MILLIS);
+        }
+    }
+
+    @Test
+    public void shouldCountErrorOnlyOnceWhenPropagated() throws IOException {
+        try (FlowMetrics metrics = new FlowMetrics()) {
+            final Forwarder forwarder = new Forwarder(true);
+            final ObjectReceiver<String> first = instrument(metrics, forwarder);
+            forwarder.setReceiver(instrument(metrics, new Forwarder(true)));
+
+            try {
+                first.process("a");
+                fail("Expected exception");
+            }
+            catch (final MetafactureException e) {
+                assertEquals("failed", e.getMessage());
+            }
+
+            final List<StageMetrics> stages = metrics.getStages();
+            assertEquals(0, stages.get(0).getErrors());
+            assertEquals(1, stages.get(1).getErrors());
+        }
+    }
+
+    @Test
+    public void shouldReturnSameMetricsForSameModule() throws IOException {
+        try (FlowMetrics metrics = new FlowMetrics()) {
+            final Forwarder forwarder = new Forwarder(false);
+
+            assertSame(metrics.register(forwarder, "a"), metrics.register(forwarder, "b"));
+            assertEquals(1, metrics.getStages().size());
+        }
+    }
+
+    @Test
+    public void shouldWriteJsonSnapshot() throws IOException {
+        try (FlowMetrics metrics = new FlowMetrics()) {
+            final Forwarder forwarder = new Forwarder(false);
+            metrics.register(forwarder, "forward \"x\"");
+            final ObjectReceiver<String> first = instrument(metrics, forwarder);
+            first.process("a");
+
+            final StringWriter writer = new StringWriter();
+            metrics.writeSnapshot(writer);
+            final String snapshot = writer.toString();
+
+            assertTrue(snapshot, snapshot.startsWith("{\"timestamp\":"));
+            assertTrue(snapshot, snapshot.contains("\"stages\":[{\"name\":\"0-forward \\\"x\\\"\""));
+            assertTrue(snapshot, snapshot.contains(",\"events\":1,\"records\":1,\"errors\":0,"));
+            assertTrue(snapshot, snapshot.contains(",\"latencyMicros\":{\"p50\":"));
+            assertTrue(snapshot, snapshot.endsWith(",\"queueSize\":-1}]}\n"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectReceiver<String> instrument(final FlowMetrics metrics, final ObjectReceiver<String> module) {
+        return (ObjectReceiver<String>) metrics.instrument(module);
+    }
+
+    /**
+     * Passes objects on or fails.
+     */
+    public static final class Forwarder extends DefaultObjectPipe<String, ObjectReceiver<String>> {
+
+        private final boolean fail;
+
+        public Forwarder(final boolean fail) {
+            this.fail = fail;
+        }
+
+        @Override
+        public void process(final String obj) {
+            if (getReceiver() != null) {
+                getReceiver().process(obj);
+            }
+            if (fail) {
+                throw new MetafactureException("failed");
+            }
+        }
+
+    }
+
+    /**
+     * Counts objects.
+     */
+    public static final class CountingReceiver implements ObjectReceiver<String> {
+
+        private int count;
+        private boolean closed;
+
+        public CountingReceiver() {
+        }
+
+        @Override
+        public void process(final String obj) {
+            ++count;
+        }
+
+        @Override
+        public void resetStream() {
+        }
+
+        @Override
+        public void closeStream() {
+            closed = true;
+        }
+
+    }
+
+    /**
+     * Sleeps on every object.
+     */
+    public static final class SleepingReceiver extends DefaultObjectPipe<String, ObjectReceiver<String>> {
+
+        public SleepingReceiver() {
+        }
+
+        @Override
+        public void process(final String obj) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(SLEEP_MILLIS);
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
+}
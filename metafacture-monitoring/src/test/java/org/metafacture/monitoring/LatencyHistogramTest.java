@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests for class {@link LatencyHistogram}.
+ *
+ */
+public final class LatencyHistogramTest {
+
+    public LatencyHistogramTest() {
+    }
+
+    @Test
+    public void shouldReturnZeroIfNothingWasRecorded() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean(), 0.0);
+    }
+
+    @Test
+    public void shouldCountSmallValuesExactly() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; ++i) {
+            histogram.record(i);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(9, histogram.getValueAtPercentile(90));
+        assertEquals(10, histogram.getValueAtPercentile(100));
+        assertEquals(5.5, histogram.getMean(), 0.0);
+    }
+
+    @Test
+    public void shouldReturnPercentilesWithinPrecision() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; ++i) {
+            histogram.record(i * 1000L);
+        }
+
+        assertWithinPrecision(500_000, histogram.getValueAtPercentile(50));
+        assertWithinPrecision(990_000, histogram.getValueAtPercentile(99));
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void shouldMapValuesToBucketsContainingThem() {
+        for (long value = 0; value < 100_000; value += 7) {
+            assertInBucket(value);
+        }
+        assertInBucket(Long.MAX_VALUE);
+    }
+
+    private static void assertWithinPrecision(final long expected, final long actual) {
+        assertTrue("expected about " + expected + " but was " + actual,
+                actual >= expected && actual <= expected + expected / 8);
+    }
+
+    private static void assertInBucket(final long value) {
+        final int bucket = LatencyHistogram.bucketOf(value);
+        assertTrue(value <= LatencyHistogram.upperBoundOf(bucket));
+        assertTrue(bucket == 0 || value > LatencyHistogram.upperBoundOf(bucket - 1));
+    }
+
+}
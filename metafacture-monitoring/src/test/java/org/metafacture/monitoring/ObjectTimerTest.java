@@ -82,6 +82,33 @@ public void shouldLogWithPrefix() {
         assertLog(logger, prefix, 4);
     }
 
+    @Test
+    public void shouldLogOnlySummaryInHistogramMode() {
+        objectTimer.setHistogram(true);
+
+        objectTimer.process("");
+        objectTimer.process("");
+        objectTimer.process("");
+        objectTimer.process("");
+        objectTimer.closeStream();
+
+        assertHistogramLog(logger, 4, 4);
+    }
+
+    @Test
+    public void shouldMeasureOnlySampledExecutions() {
+        objectTimer.setHistogram(true);
+        objectTimer.setSampleRate(2);
+
+        objectTimer.process("");
+        objectTimer.process("");
+        objectTimer.process("");
+        objectTimer.process("");
+        objectTimer.closeStream();
+
+        assertHistogramLog(logger, 4, 2);
+    }
+
     /**
      * A module with a slow process method.
      */
@@ -92,6 +92,41 @@ public void shouldLogWithPrefix() {
         assertLog(logger, prefix, 4);
     }
 
+    @Test
+    public void shouldLogOnlySummaryInHistogramMode() {
+        streamTimer.setHistogram(true);
+
+        streamTimer.startRecord("");
+        streamTimer.endRecord();
+        streamTimer.startRecord("");
+        streamTimer.endRecord();
+        streamTimer.startRecord("");
+        streamTimer.endRecord();
+        streamTimer.startRecord("");
+        streamTimer.endRecord();
+        streamTimer.closeStream();
+
+        assertHistogramLog(logger, 4, 4);
+    }
+
+    @Test
+    public void shouldMeasureOnlySampledExecutions() {
+        streamTimer.setHistogram(true);
+        streamTimer.setSampleRate(2);
+
+        streamTimer.startRecord("");
+        streamTimer.endRecord();
+        streamTimer.startRecord("");
+        streamTimer.endRecord();
+        streamTimer.startRecord("");
+        streamTimer.endRecord();
+        streamTimer.startRecord("");
+        streamTimer.endRecord();
+        streamTimer.closeStream();
+
+        assertHistogramLog(logger, 4, 2);
+    }
+
     /**
      * A module with a slow process method.
      */
@@ -70,4 +70,15 @@ public static void assertLog(final Logger logger, final String prefix, final int
         Mockito.verifyNoMoreInteractions(logger);
     }
 
+    public static void assertHistogramLog(final Logger logger, final int executions, final int measured) {
+        final InOrder ordered = Mockito.inOrder(logger);
+
+        ordered.verify(logger).info(Mockito.matches("Executions: " + executions + "; Measured: " + measured +
+                    "; Average duration: \\d+.*s; p50: \\d+.*s; p95: \\d+.*s; p99: \\d+.*s; Max: \\d+.*s"), NO_ARGS);
+        ordered.verify(logger).info(Mockito.matches("Time to close stream:  \\d+.+s"), NO_ARGS);
+
+        ordered.verifyNoMoreInteractions();
+        Mockito.verifyNoMoreInteractions(logger);
+    }
+
 }
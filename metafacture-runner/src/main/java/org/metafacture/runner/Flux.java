@@ -19,6 +19,7 @@
 import org.metafacture.commons.ResourceUtil;
 import org.metafacture.flux.FluxCompiler;
 import org.metafacture.flux.parser.FluxProgramm;
+import org.metafacture.monitoring.FlowMetrics;
 import org.metafacture.runner.util.DirectoryClassLoader;
 
 import org.antlr.runtime.RecognitionException;
@@ -40,6 +41,9 @@ public final class Flux {
 
     public static final String PLUGINS_DIR_PROPERTY = "flux.pluginsdir";
     public static final String PROVIDED_DIR_PROPERTY = "flux.provideddir";
+    public static final String METRICS_FILE_PROPERTY = "flux.metrics.file";
+    public static final String METRICS_INTERVAL_PROPERTY = "flux.metrics.interval";
+    public static final String METRICS_JMX_PROPERTY = "flux.metrics.jmx";
 
     private static final Pattern VAR_PATTERN = Pattern.compile("([^=]*)=(.*)");
     private static final String SCRIPT_HOME = "FLUX_DIR";
@@ -83,12 +87,30 @@ public static void main(final String[] args) throws IOException, RecognitionExce
             }
 
             // run parser and builder
-            try (InputStream inputStream = ResourceUtil.getStream(fluxFile)) {
-                FluxCompiler.compile(inputStream, vars).start();
+            try (InputStream inputStream = ResourceUtil.getStream(fluxFile); FlowMetrics metrics = createMetrics()) {
+                final FluxProgramm program = FluxCompiler.compile(inputStream, vars, metrics);
+                if (metrics != null) {
+                    metrics.start();
+                }
+                program.start();
             }
         }
     }
 
+    private static FlowMetrics createMetrics() {
+        final String file = System.getProperty(METRICS_FILE_PROPERTY);
+        final boolean jmx = Boolean.getBoolean(METRICS_JMX_PROPERTY);
+        if (file == null && !jmx) {
+            return null;
+        }
+
+        final FlowMetrics metrics = new FlowMetrics();
+        metrics.setSnapshotFile(file);
+        metrics.setSnapshotInterval(Integer.getInteger(METRICS_INTERVAL_PROPERTY, FlowMetrics.DEFAULT_SNAPSHOT_INTERVAL));
+        metrics.setJmx(jmx);
+        return metrics;
+    }
+
     private static void loadCustomJars() {
         final DirectoryClassLoader dirClassLoader = new DirectoryClassLoader(getClassLoader());
 
@@ -22,17 +22,35 @@
 import org.metafacture.framework.objects.Triple;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 /**
+ * Base class for sorting triples. Triples are collected in memory and sorted.
+ * If memory runs low or a configured run limit is reached, the sorted triples
+ * are written to a temporary file (a "run") in a compact binary format. When
+ * the stream is closed, the runs are merged. If there are more runs than the
+ * merge fan-in, groups of runs are first merged into intermediate runs so that
+ * only a bounded number of files is open at any time.
+ * <p>
+ * In parallel mode, full buffers are handed over to a background thread which
+ * sorts them on the fork-join pool and writes the run file while new triples
+ * are collected in a fresh buffer. At most one run is pending at a time.
+ * Intermediate merges of independent groups of runs are executed
+ * concurrently as well.
+ *
  * @author markus geipel
  *
  */
@@ -72,11 +90,24 @@ public int order(final int indicator) {
         public abstract int order(int indicator);
     }
 
-    private final List<Triple> buffer = new ArrayList<>();
+    public static final int DEFAULT_MERGE_FAN_IN = 64;
+
+    private static final int ESTIMATED_TRIPLE_OVERHEAD = 96;
+    private static final int BYTES_PER_MEGABYTE = 1024 * 1024;
+
     private final List<File> tempFiles = new ArrayList<>();
+    private List<Triple> buffer = new ArrayList<>();
     private Compare compare = Compare.SUBJECT;
     private Order order = Order.INCREASING;
     private boolean numeric;
+    private int maxRunSize;
+    private long maxRunBytes;
+    private long bufferBytes;
+    private boolean compressRuns;
+    private int mergeFanIn = DEFAULT_MERGE_FAN_IN;
+    private boolean parallel;
+    private ExecutorService executor;
+    private Future<?> pendingRun;
     private volatile boolean memoryLow;
 
     /**
@@ -107,6 +138,70 @@ protected final void setSortNumeric(final boolean newNumeric) {
         numeric = newNumeric;
     }
 
+    /**
+     * Sets the maximum number of triples kept in memory before they are
+     * written to a run file. A value of 0 disables the limit so that runs are
+     * only written if memory runs low.
+     *
+     * @param newMaxRunSize the maximum number of triples per run
+     */
+    protected final void setMaxRunSize(final int newMaxRunSize) {
+        if (newMaxRunSize < 0) {
+            throw new IllegalArgumentException("maxRunSize must not be negative");
+        }
+        maxRunSize = newMaxRunSize;
+    }
+
+    /**
+     * Sets the approximate amount of memory in megabytes which the buffered
+     * triples may occupy before they are written to a run file. The size of
+     * a triple is estimated from the lengths of its strings. A value of 0
+     * disables the limit.
+     *
+     * @param megabytes the maximum memory per run in megabytes
+     */
+    protected final void setMaxRunMemory(final int megabytes) {
+        if (megabytes < 0) {
+            throw new IllegalArgumentException("maxRunMemory must not be negative");
+        }
+        maxRunBytes = (long) megabytes * BYTES_PER_MEGABYTE;
+    }
+
+    /**
+     * Flags whether run files are gzip compressed. Compression reduces disk
+     * usage and I/O at the cost of CPU time.
+     *
+     * @param newCompressRuns true if run files should be compressed
+     */
+    protected final void setCompressRuns(final boolean newCompressRuns) {
+        compressRuns = newCompressRuns;
+    }
+
+    /**
+     * Sets the maximum number of run files which are merged at once.
+     * <p>
+     * <strong>Default value: {@value #DEFAULT_MERGE_FAN_IN}</strong>
+     *
+     * @param newMergeFanIn the maximum number of files merged at once
+     */
+    protected final void setMergeFanIn(final int newMergeFanIn) {
+        if (newMergeFanIn < 2) {
+            throw new IllegalArgumentException("mergeFanIn must be at least 2");
+        }
+        mergeFanIn = newMergeFanIn;
+    }
+
+    /**
+     * Flags whether runs are sorted and written in the background and
+     * intermediate merges are run concurrently. The order of the sorted
+     * triples is the same in both modes.
+     *
+     * @param newParallel true if runs should be processed in parallel
+     */
+    protected final void setSortParallel(final boolean newParallel) {
+        parallel = newParallel;
+    }
+
     @Override
     public final void process(final Triple namedValue) {
         if (memoryLow) {
@@ -115,64 +210,146 @@ public final void process(final Triple namedValue) {
                     nextBatch();
                 }
             }
-            catch (final IOException e) {
-                throw new MetafactureException("Error writing to temp file after sorting", e);
-            }
             finally {
                 memoryLow = false;
             }
         }
         buffer.add(namedValue);
+        bufferBytes += estimateSize(namedValue);
+
+        if (maxRunSize > 0 && buffer.size() >= maxRunSize ||
+                maxRunBytes > 0 && bufferBytes >= maxRunBytes) {
+            nextBatch();
+        }
     }
 
-    private void nextBatch() throws IOException {
-        Collections.sort(buffer, createComparator());
-        final File tempFile = File.createTempFile("sort", "namedValues", null);
-        tempFile.deleteOnExit();
+    private static long estimateSize(final Triple triple) {
+        return ESTIMATED_TRIPLE_OVERHEAD + 2L * (triple.getSubject().length() +
+                triple.getPredicate().length() + triple.getObject().length());
+    }
+
+    private void nextBatch() {
+        final Comparator<Triple> comparator = createComparator();
+
+        try {
+            final File tempFile = TripleRunWriter.createTempFile();
+            tempFiles.add(tempFile);
+
+            if (parallel) {
+                awaitPendingRun();
 
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(tempFile))) {
-            for (final Triple triple : buffer) {
-                triple.write(out);
+                final List<Triple> run = buffer;
+                buffer = new ArrayList<>(run.size());
+
+                pendingRun = getExecutor().submit(() -> {
+                    final Triple[] triples = run.toArray(new Triple[0]);
+                    run.clear();
+                    Arrays.parallelSort(triples, comparator);
+                    writeRun(Arrays.asList(triples), tempFile);
+                    return null;
+                });
+            }
+            else {
+                Collections.sort(buffer, comparator);
+                writeRun(buffer, tempFile);
+                buffer.clear();
             }
         }
+        catch (final IOException e) {
+            throw new MetafactureException("Error writing to temp file after sorting", e);
+        }
+
+        bufferBytes = 0;
+    }
+
+    private void writeRun(final List<Triple> triples, final File file) throws IOException {
+        try (TripleRunWriter writer = new TripleRunWriter(file, compressRuns)) {
+            for (final Triple triple : triples) {
+                writer.write(triple);
+            }
+        }
+    }
+
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+                final Thread thread = new Thread(r, "triple-sort");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    private void shutdownExecutor() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void awaitPendingRun() throws IOException {
+        if (pendingRun != null) {
+            final Future<?> run = pendingRun;
+            pendingRun = null;
+            await(run);
+        }
+    }
 
-        buffer.clear();
-        tempFiles.add(tempFile);
+    private static void await(final Future<?> future) throws IOException {
+        try {
+            future.get();
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException("Interrupted while waiting for triple sort", e);
+        }
+        catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new MetafactureException(cause);
+        }
     }
 
     @Override
     public final void onCloseStream() {
         if (tempFiles.isEmpty()) {
-            Collections.sort(buffer, createComparator());
+            final List<Triple> sorted;
+            if (parallel) {
+                final Triple[] triples = buffer.toArray(new Triple[0]);
+                Arrays.parallelSort(triples, createComparator());
+                sorted = Arrays.asList(triples);
+            }
+            else {
+                Collections.sort(buffer, createComparator());
+                sorted = buffer;
+            }
 
-            for (final Triple triple : buffer) {
+            for (final Triple triple : sorted) {
                 sortedTriple(triple);
             }
 
             onFinished();
         }
         else {
-            final Comparator<Triple> comparator = createComparator();
-            final PriorityQueue<SortedTripleFileFacade> queue = new PriorityQueue<>(11, (o1, o2) -> comparator.compare(o1.peek(), o2.peek()));
+            if (!buffer.isEmpty()) {
+                nextBatch();
+            }
 
             try {
-                nextBatch();
+                awaitPendingRun();
 
-                for (final File file : tempFiles) {
-                    queue.add(new SortedTripleFileFacade(file));
+                while (tempFiles.size() > mergeFanIn) {
+                    mergePass();
                 }
 
-                while (queue.size() > 0) {
-                    final SortedTripleFileFacade sortedFileFacade = queue.poll();
-                    final Triple triple = sortedFileFacade.pop();
-                    sortedTriple(triple);
-                    if (sortedFileFacade.isEmpty()) {
-                        sortedFileFacade.close();
-                    }
-                    else {
-                        queue.add(sortedFileFacade);
-                    }
-                }
+                merge(tempFiles, this::sortedTriple);
+                tempFiles.clear();
 
                 onFinished();
             }
@@ -180,15 +357,104 @@ public final void onCloseStream() {
                 throw new MetafactureException("Error merging temp files", e);
             }
             finally {
-                for (final SortedTripleFileFacade sortedFileFacade : queue) {
-                    sortedFileFacade.close();
-                }
+                shutdownExecutor();
             }
         }
 
         MemoryWarningSystem.removeListener(this);
     }
 
+    private void mergePass() throws IOException {
+        final List<File> mergedFiles = new ArrayList<>();
+        final List<Future<?>> merges = new ArrayList<>();
+        boolean completed = false;
+
+        try {
+            for (int i = 0; i < tempFiles.size(); i += mergeFanIn) {
+                final List<File> group = new ArrayList<>(tempFiles.subList(i, Math.min(i + mergeFanIn, tempFiles.size())));
+                if (group.size() == 1) {
+                    mergedFiles.add(group.get(0));
+                    continue;
+                }
+
+                final File mergedFile = TripleRunWriter.createTempFile();
+                mergedFiles.add(mergedFile);
+
+                if (parallel) {
+                    merges.add(getExecutor().submit(() -> {
+                        mergeInto(group, mergedFile);
+                        return null;
+                    }));
+                }
+                else {
+                    mergeInto(group, mergedFile);
+                }
+            }
+
+            for (final Future<?> merge : merges) {
+                await(merge);
+            }
+            completed = true;
+        }
+        finally {
+            // On failure, all files are kept so that they are deleted on reset:
+            if (completed) {
+                tempFiles.clear();
+            }
+            for (final File file : mergedFiles) {
+                if (!tempFiles.contains(file)) {
+                    tempFiles.add(file);
+                }
+            }
+        }
+    }
+
+    private void mergeInto(final List<File> files, final File mergedFile) throws IOException {
+        try (TripleRunWriter writer = new TripleRunWriter(mergedFile, compressRuns)) {
+            merge(files, writer::write);
+        }
+    }
+
+    private void merge(final List<File> files, final TripleConsumer consumer) throws IOException {
+        // Ties are broken by the position of the run to keep the sort stable:
+        final Map<SortedTripleFileFacade, Integer> runIndices = new IdentityHashMap<>();
+        final Comparator<Triple> comparator = createComparator();
+        final PriorityQueue<SortedTripleFileFacade> queue = new PriorityQueue<>(Math.max(1, files.size()), (o1, o2) -> {
+            final int result = comparator.compare(o1.peek(), o2.peek());
+            return result != 0 ? result : Integer.compare(runIndices.get(o1), runIndices.get(o2));
+        });
+
+        try {
+            for (final File file : files) {
+                final SortedTripleFileFacade sortedFileFacade = new SortedTripleFileFacade(file, compressRuns);
+                if (sortedFileFacade.isEmpty()) {
+                    sortedFileFacade.close();
+                }
+                else {
+                    runIndices.put(sortedFileFacade, runIndices.size());
+                    queue.add(sortedFileFacade);
+                }
+            }
+
+            while (queue.size() > 0) {
+                final SortedTripleFileFacade sortedFileFacade = queue.poll();
+                final Triple triple = sortedFileFacade.pop();
+                consumer.accept(triple);
+                if (sortedFileFacade.isEmpty()) {
+                    sortedFileFacade.close();
+                }
+                else {
+                    queue.add(sortedFileFacade);
+                }
+            }
+        }
+        finally {
+            for (final SortedTripleFileFacade sortedFileFacade : queue) {
+                sortedFileFacade.close();
+            }
+        }
+    }
+
     protected void onFinished() {
         // nothing to do
     }
@@ -249,7 +515,14 @@ private static Comparator<Triple> createComparator(final Compare compare, final
 
     @Override
     public final void onResetStream() {
-        buffer.clear();
+        if (pendingRun != null) {
+            pendingRun.cancel(true);
+            pendingRun = null;
+        }
+        shutdownExecutor();
+
+        buffer = new ArrayList<>();
+        bufferBytes = 0;
 
         for (final File file : tempFiles) {
             if (file.exists()) {
@@ -260,4 +533,14 @@ public final void onResetStream() {
         tempFiles.clear();
     }
 
+    /**
+     * Receives the triples of a merge.
+     */
+    @FunctionalInterface
+    private interface TripleConsumer {
+
+        void accept(Triple triple) throws IOException;
+
+    }
+
 }
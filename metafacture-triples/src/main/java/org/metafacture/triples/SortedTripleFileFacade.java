@@ -20,22 +20,34 @@
 import org.metafacture.framework.objects.Triple;
 
 import java.io.BufferedInputStream;
-import java.io.EOFException;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 
 /**
  * A SortedTripleFileFacade created with a file. Reads a Triple from the file.
+ * The file must have been written in the binary run format used by
+ * {@link AbstractTripleSort}.
  *
  * @author markus geipel
  *
  */
 public final class SortedTripleFileFacade {
-    public static final int BUFFERSIZE = 2048;
-    private final ObjectInputStream in;
+    public static final int BUFFERSIZE = 64 * 1024;
+
+    private static final Triple.ObjectType[] OBJECT_TYPES = Triple.ObjectType.values();
+    private static final int VARINT_PAYLOAD_MASK = 0x7f;
+    private static final int VARINT_CONTINUATION_BIT = 0x80;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int INITIAL_STRING_BUFFER_SIZE = 256;
+
+    private final DataInputStream in;
     private final File file;
+    private byte[] stringBuffer = new byte[INITIAL_STRING_BUFFER_SIZE];
     private Triple triple;
     private boolean empty;
 
@@ -47,8 +59,29 @@ public final class SortedTripleFileFacade {
      * @throws IOException if Triple can't be loaded
      */
     public SortedTripleFileFacade(final File file) throws IOException {
+        this(file, false);
+    }
+
+    /**
+     * Constructs a SortedTripleFileFacade with a file which may be gzip
+     * compressed. Reads a Triple from the file.
+     *
+     * @param file       the File to load Triples from
+     * @param compressed true if the file is gzip compressed
+     * @throws IOException if Triple can't be loaded
+     */
+    public SortedTripleFileFacade(final File file, final boolean compressed) throws IOException {
         this.file = file;
-        in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file), BUFFERSIZE));
+        final InputStream fileStream = new FileInputStream(file);
+        try {
+            in = new DataInputStream(compressed ?
+                    new GZIPInputStream(fileStream, BUFFERSIZE) :
+                    new BufferedInputStream(fileStream, BUFFERSIZE));
+        }
+        catch (final IOException e) {
+            fileStream.close();
+            throw e;
+        }
         next();
     }
 
@@ -62,18 +95,45 @@ public boolean isEmpty() {
     }
 
     private void next() throws IOException {
-        try {
-            triple = Triple.read(in);
-            empty = false;
-        }
-        catch (final EOFException e) {
+        final int firstByte = in.read();
+        if (firstByte < 0) {
             empty = true;
             triple = null;
         }
+        else {
+            final String subject = readString(firstByte);
+            final String predicate = readString(in.readUnsignedByte());
+            final String object = readString(in.readUnsignedByte());
+            final int objectType = in.readUnsignedByte();
+            if (objectType >= OBJECT_TYPES.length) {
+                throw new IOException("Cannot read triple: invalid object type " + objectType);
+            }
+            triple = new Triple(subject, predicate, object, OBJECT_TYPES[objectType]);
+            empty = false;
+        }
+    }
+
+    private String readString(final int firstByte) throws IOException {
+        int length = firstByte & VARINT_PAYLOAD_MASK;
+        int currentByte = firstByte;
+        int shift = 0;
+        while ((currentByte & VARINT_CONTINUATION_BIT) != 0) {
+            shift += VARINT_PAYLOAD_BITS;
+            currentByte = in.readUnsignedByte();
+            length |= (currentByte & VARINT_PAYLOAD_MASK) << shift;
+        }
+        if (length < 0) {
+            throw new IOException("Cannot read triple: invalid string length");
+        }
+        if (length > stringBuffer.length) {
+            stringBuffer = new byte[Math.max(length, 2 * stringBuffer.length)];
+        }
+        in.readFully(stringBuffer, 0, length);
+        return new String(stringBuffer, 0, length, StandardCharsets.UTF_8);
     }
 
     /**
-     * Closes the {@link ObjectInputStream} and deletes the {@link #file} if it
+     * Closes the input stream and deletes the {@link #file} if it
      * exists.
      */
     public void close() {
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.triples;
+
+import org.metafacture.framework.objects.Triple;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a sorted run of triples to a temporary file. Each triple is stored
+ * as three length-prefixed UTF-8 strings followed by the ordinal of its
+ * object type. Lengths are written as variable-length integers (seven bits
+ * per byte). The files are read by {@link SortedTripleFileFacade}.
+ *
+ */
+final class TripleRunWriter implements Closeable {
+
+    public static final int BUFFERSIZE = 64 * 1024;
+
+    private static final int VARINT_PAYLOAD_MASK = 0x7f;
+    private static final int VARINT_CONTINUATION_BIT = 0x80;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+
+    private final DataOutputStream out;
+
+    /**
+     * Creates a writer for the given file.
+     *
+     * @param file     the file to write to. It is overwritten.
+     * @param compress true if the file should be gzip compressed
+     * @throws IOException if the file cannot be opened
+     */
+    TripleRunWriter(final File file, final boolean compress) throws IOException {
+        final OutputStream fileStream = new FileOutputStream(file);
+        try {
+            out = new DataOutputStream(compress ?
+                    new GZIPOutputStream(fileStream, BUFFERSIZE) :
+                    new BufferedOutputStream(fileStream, BUFFERSIZE));
+        }
+        catch (final IOException e) {
+            fileStream.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a temporary file which is deleted when the JVM exits.
+     *
+     * @return the temporary file
+     * @throws IOException if the file cannot be created
+     */
+    static File createTempFile() throws IOException {
+        final File tempFile = File.createTempFile("sort", "namedValues", null);
+        tempFile.deleteOnExit();
+        return tempFile;
+    }
+
+    /**
+     * Appends a triple to the run.
+     *
+     * @param triple the triple to write
+     * @throws IOException if writing fails
+     */
+    void write(final Triple triple) throws IOException {
+        writeString(triple.getSubject());
+        writeString(triple.getPredicate());
+        writeString(triple.getObject());
+        out.writeByte(triple.getObjectType().ordinal());
+    }
+
+    private void writeString(final String string) throws IOException {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        while ((length & ~VARINT_PAYLOAD_MASK) != 0) {
+            out.writeByte(length & VARINT_PAYLOAD_MASK | VARINT_CONTINUATION_BIT);
+            length >>>= VARINT_PAYLOAD_BITS;
+        }
+        out.writeByte(length);
+        out.write(bytes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+}
@@ -27,7 +27,7 @@
  * @author markus geipel
  *
  */
-@Description("Sorts triples. Several options can be combined, e.g. `by=\"object\",numeric=\"true\",order=\"decreasing\"` will numerically sort the Object of the triples in decreasing order (given that all Objects are indeed of numeric type).")
+@Description("Sorts triples. Several options can be combined, e.g. `by=\"object\",numeric=\"true\",order=\"decreasing\"` will numerically sort the Object of the triples in decreasing order (given that all Objects are indeed of numeric type). Large inputs are sorted in runs which are written to temporary files and merged; `runsize`, `runmemory`, `compress` and `fanin` control the runs, `parallel` sorts and writes them in the background.")
 @In(Triple.class)
 @Out(Triple.class)
 @FluxCommand("sort-triples")
@@ -71,4 +71,58 @@ public void setNumeric(final boolean numeric) {
         setSortNumeric(numeric);
     }
 
+    /**
+     * Sets the maximum number of triples which are sorted in memory before
+     * they are written to a temporary file. If set to 0 (the default),
+     * triples are only written to disk if memory runs low.
+     *
+     * @param runSize the maximum number of triples per sorted run
+     */
+    public void setRunSize(final int runSize) {
+        setMaxRunSize(runSize);
+    }
+
+    /**
+     * Sets the approximate amount of memory in megabytes which triples may
+     * occupy before they are written to a temporary file. If set to 0 (the
+     * default), the memory used is not limited.
+     *
+     * @param runMemory the maximum memory per sorted run in megabytes
+     */
+    public void setRunMemory(final int runMemory) {
+        setMaxRunMemory(runMemory);
+    }
+
+    /**
+     * Flags whether temporary files should be gzip compressed.
+     *
+     * @param compressRuns true if temporary files should be compressed
+     */
+    public void setCompress(final boolean compressRuns) {
+        setCompressRuns(compressRuns);
+    }
+
+    /**
+     * Sets the maximum number of temporary files which are merged at once.
+     * If more files were written, they are merged in several passes.
+     * <p>
+     * <strong>Default value: {@value AbstractTripleSort#DEFAULT_MERGE_FAN_IN}</strong>
+     *
+     * @param fanIn the maximum number of files merged at once
+     */
+    public void setFanIn(final int fanIn) {
+        setMergeFanIn(fanIn);
+    }
+
+    /**
+     * Flags whether sorted runs are written by background threads so that
+     * reading triples does not stop while a run is sorted and written.
+     * Intermediate merges are also run concurrently.
+     *
+     * @param parallel true if runs should be processed in parallel
+     */
+    public void setParallel(final boolean parallel) {
+        setSortParallel(parallel);
+    }
+
 }
@@ -306,6 +306,92 @@ public void shouldNotSortNumericallyByTriple() {
         );
     }
 
+    @Test
+    public void shouldSortStablyInRuns() {
+        assertSort(
+                t -> {
+                    t.setRunSize(2);
+                },
+                "s0 p1 o2",
+                "s2 p1 o0",
+                "s0 p1 o1",
+                "s1 p0 o2",
+                "s0 p2 o1",
+                //
+                "s0 p1 o2",
+                "s0 p1 o1",
+                "s0 p2 o1",
+                "s1 p0 o2",
+                "s2 p1 o0"
+        );
+    }
+
+    @Test
+    public void shouldSortInCompressedRuns() {
+        assertSort(
+                t -> {
+                    t.setRunSize(1);
+                    t.setCompress(true);
+                    t.setBy(AbstractTripleSort.Compare.OBJECT);
+                },
+                "s0 p1 o2",
+                "s2 p1 ö0",
+                "s0 p1 o1",
+                "s1 p0 o2",
+                "s0 p2 o1",
+                //
+                "s0 p1 o1",
+                "s0 p2 o1",
+                "s0 p1 o2",
+                "s1 p0 o2",
+                "s2 p1 ö0"
+        );
+    }
+
+    @Test
+    public void shouldMergeRunsInSeveralPasses() {
+        assertSort(
+                t -> {
+                    t.setRunSize(1);
+                    t.setFanIn(2);
+                    t.setOrder(AbstractTripleSort.Order.DECREASING);
+                },
+                "s0 p1 o2",
+                "s2 p1 o0",
+                "s0 p1 o1",
+                "s1 p0 o2",
+                "s0 p2 o1",
+                //
+                "s2 p1 o0",
+                "s1 p0 o2",
+                "s0 p1 o2",
+                "s0 p1 o1",
+                "s0 p2 o1"
+        );
+    }
+
+    @Test
+    public void shouldSortInParallelRuns() {
+        assertSort(
+                t -> {
+                    t.setRunSize(2);
+                    t.setFanIn(2);
+                    t.setParallel(true);
+                },
+                "s0 p1 o2",
+                "s2 p1 o0",
+                "s0 p1 o1",
+                "s1 p0 o2",
+                "s0 p2 o1",
+                //
+                "s0 p1 o2",
+                "s0 p1 o1",
+                "s0 p2 o1",
+                "s1 p0 o2",
+                "s2 p1 o0"
+        );
+    }
+
     public void assertSort(final Consumer<TripleSort> consumer, final String... triples) {
         final BiConsumer<Integer, Consumer<Triple>> processor = (i, c) -> {
             final int j = triples.length / 2;
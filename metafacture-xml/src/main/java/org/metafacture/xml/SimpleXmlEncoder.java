@@ -27,6 +27,7 @@
 import org.metafacture.framework.annotations.Out;
 import org.metafacture.framework.helpers.DefaultStreamPipe;
 import org.metafacture.framework.helpers.DefaultXmlPipe;
+import org.metafacture.framework.helpers.DirectSinkWriter;
 
 import java.io.IOException;
 import java.io.StringReader;
@@ -72,6 +73,7 @@ public final class SimpleXmlEncoder extends DefaultStreamPipe<ObjectReceiver<Str
     private static final String DEFAULT = "__default";
 
     private final StringBuilder builder = new StringBuilder();
+    private final DirectSinkWriter output = new DirectSinkWriter();
 
     private String attributeMarker = ATTRIBUTE_MARKER;
     private String rootTag = DefaultXmlPipe.DEFAULT_ROOT_TAG;
@@ -253,6 +255,20 @@ public String getAttributeMarker() {
         return attributeMarker;
     }
 
+    /**
+     * Flags whether to write records directly to the output of the receiver
+     * instead of passing them on as strings. This only has an effect if the
+     * receiver supports it, e.g. when writing to a file.
+     * <p>
+     * <strong>Default value: false</strong>
+     *
+     * @param directSink true if records should be written directly
+     * @see org.metafacture.framework.DirectSink
+     */
+    public void setDirectSink(final boolean directSink) {
+        output.setDirectSink(directSink);
+    }
+
     @Override
     public void startRecord(final String identifier) {
         if (separateRoots) {
@@ -330,7 +346,7 @@ protected void onCloseStream() {
     }
 
     private void sendAndClearData() {
-        getReceiver().process(builder.toString());
+        output.send(getReceiver(), builder);
         builder.delete(0, builder.length());
     }
 
@@ -32,7 +32,10 @@
 import org.metafacture.mangling.StreamFlattener;
 import org.metafacture.metafix.api.FixRegistry;
 import org.metafacture.metafix.fix.Expression;
+import org.metafacture.metafix.fix.Fix;
 import org.metafacture.metamorph.api.Maps;
+import org.metafacture.metamorph.api.helpers.AbstractReadOnlyMap;
+import org.metafacture.metamorph.maps.FileMap;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -42,6 +45,7 @@
 import java.net.MalformedURLException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -50,12 +54,21 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 /**
  * Transforms a data stream sent via the {@link StreamReceiver} interface. Uses
  * {@link RecordTransformer} to transform records based on a Fix DSL description.
+ * <p>
+ * Records can be transformed on several threads (see
+ * {@link #setParallelism(int)}). The records are still built and emitted on
+ * the calling thread and in their original order.
  *
  * @author Markus Michael Geipel (Metamorph)
  * @author Christoph Böhme (Metamorph)
@@ -95,8 +108,19 @@ public class Metafix implements StreamPipe<StreamReceiver>, Maps {
     private final Map<String, RecordTransformer> macros = new HashMap<>();
     private final Map<String, String> pathCache = new HashMap<>();
     private final Map<String, String> vars = new HashMap<>();
+    private final AtomicInteger exceptionCount = new AtomicInteger();
     private final RecordTransformer recordTransformer;
     private final StreamFlattener flattener = new StreamFlattener();
+    private final Metafix parent;
+    private final Fix fix;
+
+    private final Deque<Future<Record>> pendingRecords = new ArrayDeque<>();
+    private final Deque<String> pendingIdentifiers = new ArrayDeque<>();
+    private final List<Metafix> workers = new ArrayList<>();
+    private final ThreadLocal<Metafix> worker = ThreadLocal.withInitial(this::createWorker);
+    private Map<String, Map<String, String>> sharedMaps;
+    private ExecutorService executor;
+    private int parallelism = 1;
 
     private List<Value> entities = new ArrayList<>();
     private Record currentRecord = new Record();
@@ -108,7 +132,6 @@ public class Metafix implements StreamPipe<StreamReceiver>, Maps {
     private boolean repeatedFieldsToEntities;
     private boolean strictnessHandlesProcessExceptions;
     private int entityCount;
-    private int exceptionCount;
 
     /**
      * Creates an instance of {@link Metafix}.
@@ -133,6 +156,8 @@ public Metafix(final Map<String, String> vars) {
      *                 and returns the Fix variables as a Map, or {@code null}
      */
     public Metafix(final Function<Metafix, Map<String, String>> function) {
+        parent = null;
+        fix = null;
         init(function);
         recordTransformer = null;
     }
@@ -170,15 +195,19 @@ public Metafix(final String fixDef, final Map<String, String> vars) throws IOExc
      * @throws IOException if an I/O error occurs
      */
     public Metafix(final String fixDef, final Function<Metafix, Map<String, String>> function) throws IOException {
+        parent = null;
         init(function);
 
         if (isFixFile(fixDef)) {
             fixFile = fixDef;
-            recordTransformer = getRecordTransformer(fixDef);
+            fix = FixStandaloneSetup.parseFix(fixDef);
+            recordTransformer = new RecordTransformer(this, fix);
+            fixCache.put(fixDef, recordTransformer);
         }
         else {
             try (Reader reader = new StringReader(fixDef)) {
-                recordTransformer = getRecordTransformer(reader);
+                fix = FixStandaloneSetup.parseFix(reader);
+                recordTransformer = new RecordTransformer(this, fix);
             }
         }
     }
@@ -210,8 +239,36 @@ public Metafix(final Reader fixDef, final Map<String, String> vars) {
      *                 and returns the Fix variables as a Map, or {@code null}
      */
     public Metafix(final Reader fixDef, final Function<Metafix, Map<String, String>> function) {
+        parent = null;
         init(function);
-        recordTransformer = getRecordTransformer(fixDef);
+        fix = FixStandaloneSetup.parseFix(fixDef);
+        recordTransformer = new RecordTransformer(this, fix);
+    }
+
+    /**
+     * Creates a worker which transforms records for a parallel Metafix
+     * instance. The worker has its own variables and macros and its own copy
+     * of the maps of the parallel instance; read-only maps are shared (see
+     * {@link #shareMaps()}). Fix commands are looked up in the registry of
+     * the parallel instance.
+     *
+     * @param parent the parallel Metafix instance
+     */
+    private Metafix(final Metafix parent) {
+        this.parent = parent;
+        init(m -> parent.vars);
+        parent.maps.forEach((name, map) -> {
+            final Map<String, String> sharedMap = parent.sharedMaps.get(name);
+            maps.put(name, sharedMap != null ? sharedMap : new HashMap<>(map));
+        });
+        fixFile = parent.fixFile;
+        strictness = parent.strictness;
+        strictnessHandlesProcessExceptions = parent.strictnessHandlesProcessExceptions;
+        fix = parent.fix;
+        recordTransformer = new RecordTransformer(this, fix);
+        if (fixFile != null) {
+            fixCache.put(fixFile, recordTransformer);
+        }
     }
 
     private void init(final Function<Metafix, Map<String, String>> function) {
@@ -313,10 +370,6 @@ public RecordTransformer getRecordTransformer(final String fixDef) {
         return fixCache.computeIfAbsent(fixDef, k -> new RecordTransformer(this, FixStandaloneSetup.parseFix(k)));
     }
 
-    private RecordTransformer getRecordTransformer(final Reader fixDef) {
-        return new RecordTransformer(this, FixStandaloneSetup.parseFix(fixDef));
-    }
-
     /**
      * Registers a record transformer as Fix macro under the given name.
      *
@@ -354,12 +407,13 @@ public List<Expression> getExpressions() {
     }
 
     /**
-     * Returns the Fix registry.
+     * Returns the Fix registry. Workers of a parallel instance return the
+     * registry of the parallel instance.
      *
      * @return the Fix registry
      */
     public FixRegistry getRegistry() {
-        return registry;
+        return parent != null ? parent.registry : registry;
     }
 
     @Override
@@ -383,15 +437,105 @@ public void endRecord() {
         }
         flattener.endRecord();
         LOG.debug("End record, walking Fix: {}", currentRecord);
-        recordTransformer.transform(currentRecord);
-        if (!currentRecord.getReject()) {
-            outputStreamReceiver.startRecord(recordIdentifier);
+
+        if (parallelism > 1) {
+            submitRecord(currentRecord, recordIdentifier);
+        }
+        else {
+            recordTransformer.transform(currentRecord);
+            emitRecord(currentRecord, recordIdentifier);
+        }
+    }
+
+    private void emitRecord(final Record record, final String identifier) {
+        if (!record.getReject()) {
+            outputStreamReceiver.startRecord(identifier);
             LOG.debug("Sending results to {}", outputStreamReceiver);
-            currentRecord.forEach(this::emit);
+            record.forEach(this::emit);
             outputStreamReceiver.endRecord();
         }
     }
 
+    private void submitRecord(final Record record, final String identifier) {
+        if (executor == null) {
+            shareMaps();
+            executor = Executors.newFixedThreadPool(parallelism, r -> {
+                final Thread thread = new Thread(r, "metafix");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        pendingRecords.addLast(executor.submit(() -> {
+            worker.get().recordTransformer.transform(record);
+            return record;
+        }));
+        pendingIdentifiers.addLast(identifier);
+
+        while (!pendingRecords.isEmpty() && (pendingRecords.size() > 2 * parallelism || pendingRecords.peekFirst().isDone())) {
+            emitNextRecord();
+        }
+    }
+
+    private void emitNextRecord() {
+        final Future<Record> future = pendingRecords.removeFirst();
+        final String identifier = pendingIdentifiers.removeFirst();
+
+        final Record record;
+        try {
+            record = future.get();
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
+        }
+        catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MetafactureException(cause);
+        }
+
+        emitRecord(record, identifier);
+    }
+
+    private void emitPendingRecords() {
+        while (!pendingRecords.isEmpty()) {
+            emitNextRecord();
+        }
+    }
+
+    /**
+     * Determines which maps the workers share. Read-only maps, such as file
+     * maps, are shared, so that they are only loaded once. Since most of
+     * them are not thread-safe, they are accessed under a lock; file maps
+     * are thread-safe and accessed without one. All other maps are copied
+     * for each worker, since workers may modify them.
+     */
+    private void shareMaps() {
+        sharedMaps = new HashMap<>();
+        maps.forEach((name, map) -> {
+            if (map instanceof FileMap) {
+                sharedMaps.put(name, map);
+            }
+            else if (map instanceof AbstractReadOnlyMap) {
+                sharedMaps.put(name, Collections.synchronizedMap(map));
+            }
+        });
+    }
+
+    private Metafix createWorker() {
+        final Metafix newWorker = new Metafix(this);
+        synchronized (workers) {
+            workers.add(newWorker);
+        }
+        return newWorker;
+    }
+
     private void emit(final String field, final Value value) {
         Value.asList(value, array -> {
             final boolean isMulti = repeatedFieldsToEntities && array.size() > 1 || isArrayName(field);
@@ -480,11 +624,34 @@ public void literal(final String name, final String value) {
 
     @Override
     public void resetStream() {
+        emitPendingRecords();
         outputStreamReceiver.resetStream();
     }
 
     @Override
     public void closeStream() {
+        try {
+            emitPendingRecords();
+        }
+        finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+
+        synchronized (workers) {
+            for (final Metafix w : workers) {
+                w.closeResources();
+            }
+            workers.clear();
+        }
+        closeResources();
+
+        outputStreamReceiver.closeStream();
+    }
+
+    private void closeResources() {
         for (final Closeable closeable : resources) {
             try {
                 closeable.close();
@@ -493,8 +660,6 @@ public void closeStream() {
                 throw new UncheckedIOException(e);
             }
         }
-
-        outputStreamReceiver.closeStream();
     }
 
     /**
@@ -518,6 +683,47 @@ public StreamReceiver getStreamReceiver() {
         return outputStreamReceiver;
     }
 
+    /**
+     * Gets the parallel Metafix instance this instance transforms records
+     * for.
+     *
+     * @return the parallel Metafix instance or null if this instance is not
+     *         a worker
+     */
+    public Metafix getParent() {
+        return parent;
+    }
+
+    /**
+     * Sets the number of threads on which records are transformed. Each
+     * thread has its own copy of the Fix with its own variables, maps and
+     * macros; expressions such as {@code put_filemap} or {@code once} are
+     * therefore executed once per thread. Maps which have been put into this
+     * instance before the first record are available to all threads. Records are emitted in their
+     * original order. Side effects of the Fix, such as output of
+     * {@code print_record}, may occur out of order.
+     * <p>
+     * <strong>Default value: 1</strong> (records are transformed on the
+     * calling thread)
+     *
+     * @param parallelism the number of threads
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism > 1 && fix == null) {
+            throw new IllegalStateException("Parallel transformation requires a Fix definition");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Gets the number of threads on which records are transformed.
+     *
+     * @return the number of threads
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
     /**
      * Gets the Fix variables.
      *
@@ -654,19 +860,20 @@ private boolean maxEntityCountExceeded() {
      * @param record    the current record
      */
     public void handleException(final MetafactureException exception, final Record record) {
-        ++exceptionCount;
+        // Workers count towards the limit of their parallel instance
+        final int count = (parent != null ? parent : this).exceptionCount.incrementAndGet();
 
-        if (maxExceptionCountExceeded()) {
+        if (maxExceptionCountExceeded(count)) {
             LOG.info("Maximum number of exceptions exceeded: {}/{} (Current exception: {})",
-                    exceptionCount, MAX_EXCEPTION_COUNT, getExceptionCause(exception).getSimpleName());
+                    count, MAX_EXCEPTION_COUNT, getExceptionCause(exception).getSimpleName());
         }
         else {
             strictness.handle(exception, record);
         }
     }
 
-    private boolean maxExceptionCountExceeded() {
-        return MAX_EXCEPTION_COUNT >= 0 && exceptionCount > MAX_EXCEPTION_COUNT;
+    private boolean maxExceptionCountExceeded(final int count) {
+        return MAX_EXCEPTION_COUNT >= 0 && count > MAX_EXCEPTION_COUNT;
     }
 
     private Class<?> getExceptionCause(final Throwable exception) {
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metafix;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Shared cache of compiled regular expressions used by Fix functions and
+ * conditionals. Fix expressions are evaluated for every record, but their
+ * patterns rarely change, so compiling them once avoids repeated work.
+ * Patterns which contain variables are cached per resolved value.
+ * <p>
+ * The cache is bounded; it is cleared when it grows beyond
+ * {@value #MAX_SIZE} entries.
+ */
+public final class PatternCache {
+
+    public static final int MAX_SIZE = 1024;
+
+    private static final Map<String, Pattern> CACHE = new ConcurrentHashMap<>();
+
+    private PatternCache() {
+        throw new AssertionError("No instances allowed");
+    }
+
+    /**
+     * Gets the compiled pattern for the given regular expression.
+     *
+     * @param regex the regular expression
+     * @return the compiled pattern
+     */
+    public static Pattern get(final String regex) {
+        Pattern pattern = CACHE.get(regex);
+
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+
+            if (CACHE.size() >= MAX_SIZE) {
+                CACHE.clear();
+            }
+
+            CACHE.put(regex, pattern);
+        }
+
+        return pattern;
+    }
+
+}
@@ -37,6 +37,7 @@
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -44,6 +45,7 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -64,6 +66,7 @@ public class RecordTransformer { // checkstyle-disable-line ClassFanOutComplexit
     private final List<Map<String, String>> vars = new ArrayList<>(Collections.nCopies(Vars.values().length, null));
     private final Metafix metafix;
     private final RecordTransformer parent;
+    private final Map<String, String> varsView = new VarsView();
 
     private String parentExceptionMessage;
     private Supplier<String> currentMessageSupplier;
@@ -317,6 +320,46 @@ private Map<String, String> getVars() {
         return mergedVars;
     }
 
+    private Map<String, String> findVars(final Object name) {
+        for (int i = vars.size() - 1; i >= 0; --i) {
+            final Map<String, String> map = vars.get(i);
+
+            if (map != null && map.containsKey(name)) {
+                return map;
+            }
+        }
+
+        return parent != null ? parent.findVars(name) : null;
+    }
+
+    /**
+     * Read-only view of the variables visible to a transformer. Unlike
+     * {@link #getVars()}, looking up a variable does not copy the variables
+     * of all enclosing transformers.
+     */
+    private final class VarsView extends AbstractMap<String, String> {
+
+        private VarsView() {
+        }
+
+        @Override
+        public String get(final Object key) {
+            final Map<String, String> map = findVars(key);
+            return map != null ? map.get(key) : null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return findVars(key) != null;
+        }
+
+        @Override
+        public Set<Map.Entry<String, String>> entrySet() {
+            return Collections.unmodifiableMap(getVars()).entrySet();
+        }
+
+    }
+
     private abstract static class AbstractResolvable<T> {
 
         protected boolean isResolvable(final String value) {
@@ -331,6 +374,11 @@ protected String resolveVars(final String value, final Map<String, String> vars)
 
     }
 
+    /**
+     * Parameters of a Fix expression. Parameters without variables are
+     * resolved once when the Fix is built; the same immutable list is passed
+     * to the function for every record.
+     */
     private static class Params extends AbstractResolvable<List<String>> {
 
         private final List<String> list;
@@ -338,7 +386,7 @@ private static class Params extends AbstractResolvable<List<String>> {
         private final boolean resolve;
 
         private Params(final List<String> list, final RecordTransformer recordTransformer) {
-            this.list = list;
+            this.list = Collections.unmodifiableList(new ArrayList<>(list));
             this.recordTransformer = recordTransformer;
 
             resolve = list.stream().anyMatch(this::isResolvable);
@@ -348,7 +396,7 @@ private Params(final List<String> list, final RecordTransformer recordTransforme
         protected List<String> resolve() {
             if (resolve) {
                 final List<String> resolvedList = new ArrayList<>(list.size());
-                final Map<String, String> vars = recordTransformer.getVars();
+                final Map<String, String> vars = recordTransformer.varsView;
 
                 for (final String entry : list) {
                     resolvedList.add(resolveVars(entry, vars));
@@ -363,15 +411,21 @@ protected List<String> resolve() {
 
     }
 
+    /**
+     * Options of a Fix expression. Options without variables are resolved
+     * once when the Fix is built; the same immutable map is passed to the
+     * function for every record.
+     */
     private static class Options extends AbstractResolvable<Map<String, String>> {
 
-        private final Map<String, String> map = new LinkedHashMap<>();
+        private final Map<String, String> map;
         private final RecordTransformer recordTransformer;
         private final boolean resolve;
 
         private Options(final org.metafacture.metafix.fix.Options options, final RecordTransformer recordTransformer) {
             this.recordTransformer = recordTransformer;
 
+            final Map<String, String> tempMap = new LinkedHashMap<>();
             boolean resolveTemp = false;
 
             if (options != null) {
@@ -382,7 +436,7 @@ private Options(final org.metafacture.metafix.fix.Options options, final RecordT
                     final String key = keys.get(i);
                     final String value = values.get(i);
 
-                    map.put(key, value);
+                    tempMap.put(key, value);
 
                     if (!resolveTemp && (isResolvable(key) || isResolvable(value))) {
                         resolveTemp = true;
@@ -390,6 +444,7 @@ private Options(final org.metafacture.metafix.fix.Options options, final RecordT
                 }
             }
 
+            map = Collections.unmodifiableMap(tempMap);
             resolve = resolveTemp;
         }
 
@@ -397,7 +452,7 @@ private Options(final org.metafacture.metafix.fix.Options options, final RecordT
         protected Map<String, String> resolve() {
             if (resolve) {
                 final Map<String, String> resolvedMap = new LinkedHashMap<>(map.size());
-                final Map<String, String> vars = recordTransformer.getVars();
+                final Map<String, String> vars = recordTransformer.varsView;
 
                 for (final Map.Entry<String, String> entry : map.entrySet()) {
                     resolvedMap.put(resolveVars(entry.getKey(), vars), resolveVars(entry.getValue(), vars));
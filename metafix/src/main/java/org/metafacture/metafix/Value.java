@@ -55,13 +55,18 @@ public class Value implements JsonValue { // checkstyle-disable-line ClassDataAb
     public static final String FIELD_PATH_SEPARATOR = ".";
     /*package-private*/ static final String FIELD_PATH_SEPARATOR_PATTERN = Pattern.quote(FIELD_PATH_SEPARATOR);
 
+    private static final Pattern TRAILING_DIGITS_PATTERN = Pattern.compile("\\d+$");
+
     private final Array array;
     private final Hash hash;
     private final String string;
 
     private final Type type;
 
+    // A trailing array index is kept apart from the rest of the path, so that
+    // it can be updated without rebuilding strings (see updatePathIndex()).
     private String path;
+    private int pathIndex;
 
     private Value(final Type type, final Array array, final Hash hash, final String string) {
         final boolean hasValue = array != null || hash != null || string != null;
@@ -419,7 +424,7 @@ public void toJson(final JsonGenerator jsonGenerator) {
      * @return the path
      */
     public String getPath() {
-        return path;
+        return pathIndex > 0 ? appendToPath(path, String.valueOf(pathIndex)) : path;
     }
 
     /**
@@ -431,23 +436,47 @@ public String getPath() {
      */
     public Value withPathSet(final String p) {
         this.path = p;
+        this.pathIndex = 0;
         return this;
     }
 
     private Value withPathAppend(final int i) {
-        return withPathAppend(String.valueOf(i));
+        this.path = getPath();
+        this.pathIndex = i;
+        return this;
     }
 
     private Value withPathAppend(final String field) {
-        return withPathSet(path == null || path.isEmpty() ? field : path + FIELD_PATH_SEPARATOR + field);
+        return withPathSet(appendToPath(getPath(), field));
+    }
+
+    private static String appendToPath(final String p, final String field) {
+        return p == null || p.isEmpty() ? field : p + FIELD_PATH_SEPARATOR + field;
+    }
+
+    /**
+     * Replaces the index at the end of the path. Does nothing if the path
+     * does not end with an index.
+     */
+    private void updatePathIndex(final int i) {
+        if (pathIndex > 0) {
+            pathIndex = i;
+        }
+        else if (path != null && !path.isEmpty() && Character.isDigit(path.charAt(path.length() - 1))) {
+            withPathSet(TRAILING_DIGITS_PATTERN.matcher(path).replaceAll(String.valueOf(i)));
+        }
     }
 
     /*package-private*/ Value copy() {
-        return extractType((m, c) -> m
+        final Value copy = extractType((m, c) -> m
                 .ifArray(oldArray -> c.accept(Value.newArray(newArray -> oldArray.forEach(v -> newArray.add(v)))))
                 .ifHash(oldHash -> c.accept(Value.newHash(newHash -> oldHash.forEach((k, v) -> newHash.put(k, v)))))
                 .ifString(s -> c.accept(new Value(s)))
                 .orElseThrow());
+
+        copy.path = path;
+        copy.pathIndex = pathIndex;
+        return copy;
     }
 
     private void retainFields(final Collection<String> fields) {
@@ -640,8 +669,7 @@ public void add(final Value value) {
 
         private void updateIndexesInPathsAfter(final int start) {
             for (int index = start + 1; index < list.size(); index = index + 1) {
-                final Value value = list.get(index);
-                value.withPathSet(value.getPath().replaceAll("\\d+$", String.valueOf(index + 1)));
+                list.get(index).updatePathIndex(index + 1);
             }
         }
 
@@ -118,7 +118,8 @@ default void withWriter(final Map<String, String> options, final UnaryOperator<S
     default void withWriter(final Metafix metafix, final Record record, final Map<String, String> options, final Map<Metafix, LongAdder> scopedCounter, final Consumer<Consumer<String>> consumer) {
         final Value idValue = record.get(options.getOrDefault("id", StandardEventNames.ID));
 
-        final LongAdder counter = scopedCounter.computeIfAbsent(metafix, k -> new LongAdder());
+        final Metafix scope = metafix.getParent() != null ? metafix.getParent() : metafix;
+        final LongAdder counter = scopedCounter.computeIfAbsent(scope, k -> new LongAdder());
         counter.increment();
 
         final UnaryOperator<String> formatter = s -> String.format(s,
@@ -17,6 +17,7 @@
 package org.metafacture.metafix.api;
 
 import org.metafacture.metafix.Metafix;
+import org.metafacture.metafix.PatternCache;
 import org.metafacture.metafix.Record;
 import org.metafacture.metafix.Value;
 
@@ -38,7 +39,7 @@ public interface FixPredicate {
 
     BiPredicate<String, String> CONTAINS = String::contains;
     BiPredicate<String, String> EQUALS = String::equals;
-    BiPredicate<String, String> MATCHES = String::matches;
+    BiPredicate<String, String> MATCHES = (s, regex) -> PatternCache.get(regex).matcher(s).matches();
 
     Predicate<String> IS_TRUE = s -> "true".equals(s) || "1".equals(s);
     Predicate<String> IS_FALSE = s -> "false".equals(s) || "0".equals(s);
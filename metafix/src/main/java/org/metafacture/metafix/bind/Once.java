@@ -22,11 +22,11 @@
 import org.metafacture.metafix.RecordTransformer;
 import org.metafacture.metafix.api.FixContext;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Executes the statements only once (when the bind is first encountered),
@@ -35,7 +35,7 @@
 @FixCommand("once")
 public class Once implements FixContext {
 
-    private static final Map<Metafix, Set<String>> EXECUTED = new HashMap<>();
+    private static final Map<Metafix, Set<String>> EXECUTED = new ConcurrentHashMap<>();
 
     /**
      * Creates an instance of {@link Once}.
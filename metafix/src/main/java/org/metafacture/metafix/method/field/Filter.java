@@ -18,6 +18,7 @@
 
 import org.metafacture.metafix.FixCommand;
 import org.metafacture.metafix.Metafix;
+import org.metafacture.metafix.PatternCache;
 import org.metafacture.metafix.Record;
 import org.metafacture.metafix.Value;
 import org.metafacture.metafix.api.FixFunction;
@@ -42,7 +43,7 @@ public Filter() {
 
     @Override
     public void apply(final Metafix metafix, final Record record, final List<String> params, final Map<String, String> options) {
-        final Pattern search = Pattern.compile(params.get(1));
+        final Pattern search = PatternCache.get(params.get(1));
         final boolean invert = getBoolean(options, "invert");
 
         final Predicate<Value> predicate = s -> search.matcher(s.asString()).find();
@@ -28,6 +28,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
@@ -40,7 +41,7 @@
 @FixCommand("lookup")
 public class Lookup implements FixFunction {
 
-    private static final Map<Metafix, LongAdder> SCOPED_COUNTER = new HashMap<>();
+    private static final Map<Metafix, LongAdder> SCOPED_COUNTER = new ConcurrentHashMap<>();
 
     /**
      * Creates an instance of {@link Lookup}.
@@ -89,8 +90,9 @@ public void apply(final Metafix metafix, final Record record, final List<String>
         });
 
         if (printUnknown) {
-            options.putIfAbsent("append", "true");
-            withWriter(metafix, record, options, SCOPED_COUNTER, consumer);
+            final Map<String, String> writerOptions = new HashMap<>(options);
+            writerOptions.putIfAbsent("append", "true");
+            withWriter(metafix, record, writerOptions, SCOPED_COUNTER, consumer);
         }
         else {
             consumer.accept(null);
@@ -18,11 +18,13 @@
 
 import org.metafacture.metafix.FixCommand;
 import org.metafacture.metafix.Metafix;
+import org.metafacture.metafix.PatternCache;
 import org.metafacture.metafix.Record;
 import org.metafacture.metafix.api.FixFunction;
 
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Replaces a regular expression pattern in field values with a replacement
@@ -40,10 +42,10 @@ public ReplaceAll() {
 
     @Override
     public void apply(final Metafix metafix, final Record record, final List<String> params, final Map<String, String> options) {
-        final String search = params.get(1);
+        final Pattern search = PatternCache.get(params.get(1));
         final String replace = params.get(2);
 
-        record.transform(params.get(0), s -> s.replaceAll(search, replace));
+        record.transform(params.get(0), s -> search.matcher(s).replaceAll(replace));
     }
 
 }
@@ -18,6 +18,7 @@
 
 import org.metafacture.metafix.FixCommand;
 import org.metafacture.metafix.Metafix;
+import org.metafacture.metafix.PatternCache;
 import org.metafacture.metafix.Record;
 import org.metafacture.metafix.Value;
 import org.metafacture.metafix.api.FixFunction;
@@ -43,7 +44,7 @@ public SplitField() {
     @Override
     public void apply(final Metafix metafix, final Record record, final List<String> params, final Map<String, String> options) {
         final String splitChar = params.size() > 1 ? params.get(1) : "\\s+";
-        final Pattern splitPattern = Pattern.compile(splitChar);
+        final Pattern splitPattern = PatternCache.get(splitChar);
 
         final Function<String, Value> splitFunction = s ->
             newArray(Arrays.stream(splitPattern.split(s)).map(Value::new));
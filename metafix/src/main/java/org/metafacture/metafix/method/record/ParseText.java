@@ -18,6 +18,7 @@
 
 import org.metafacture.metafix.FixCommand;
 import org.metafacture.metafix.Metafix;
+import org.metafacture.metafix.PatternCache;
 import org.metafacture.metafix.Record;
 import org.metafacture.metafix.Value;
 import org.metafacture.metafix.api.FixFunction;
@@ -45,9 +46,9 @@ public ParseText() {
     @Override
     public void apply(final Metafix metafix, final Record record, final List<String> params, final Map<String, String> options) {
         final String field = params.get(0);
+        final Pattern p = PatternCache.get(params.get(1));
 
         record.getList(field, a -> a.forEach(v -> {
-            final Pattern p = Pattern.compile(params.get(1));
             final Matcher m = p.matcher(v.asString());
             if (m.matches()) {
                 record.remove(field);
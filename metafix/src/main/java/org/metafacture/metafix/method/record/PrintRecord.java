@@ -25,6 +25,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
@@ -33,7 +34,7 @@
 @FixCommand("print_record")
 public class PrintRecord implements FixFunction {
 
-    private static final Map<Metafix, LongAdder> SCOPED_COUNTER = new HashMap<>();
+    private static final Map<Metafix, LongAdder> SCOPED_COUNTER = new ConcurrentHashMap<>();
 
     /**
      * Creates an instance of {@link PrintRecord}.
@@ -46,11 +47,13 @@ public void apply(final Metafix metafix, final Record record, final List<String>
         final boolean internal = getBoolean(options, "internal");
         final boolean pretty = getBoolean(options, "pretty");
 
+        final Map<String, String> writerOptions = new HashMap<>(options);
+
         if (!params.isEmpty()) {
-            options.put("prefix", params.get(0));
+            writerOptions.put("prefix", params.get(0));
         }
 
-        withWriter(metafix, record, options, SCOPED_COUNTER, c -> {
+        withWriter(metafix, record, writerOptions, SCOPED_COUNTER, c -> {
             if (internal) {
                 if (pretty) {
                     record.forEach((f, v) -> c.accept(f + "=" + v));
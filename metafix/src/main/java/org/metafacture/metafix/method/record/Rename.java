@@ -18,6 +18,7 @@
 
 import org.metafacture.metafix.FixCommand;
 import org.metafacture.metafix.Metafix;
+import org.metafacture.metafix.PatternCache;
 import org.metafacture.metafix.Record;
 import org.metafacture.metafix.Value;
 import org.metafacture.metafix.api.FixFunction;
@@ -25,6 +26,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 
 /**
  * Replaces a regular expression pattern in subfield names of a field. Does
@@ -41,10 +43,10 @@ public Rename() {
 
     @Override
     public void apply(final Metafix metafix, final Record record, final List<String> params, final Map<String, String> options) {
-        final String search = params.get(1);
+        final Pattern search = PatternCache.get(params.get(1));
         final String replace = params.get(2);
 
-        final UnaryOperator<String> operator = s -> s.replaceAll(search, replace);
+        final UnaryOperator<String> operator = s -> search.matcher(s).replaceAll(replace);
 
         record.transform(params.get(0), (m, c) -> m
                 .ifArray(a -> c.accept(renameArray(a, operator)))
@@ -56,6 +56,7 @@ public void apply(final Metafix metafix, final Record record, final List<String>
         withOption(options, "encoding", fileMap::setEncoding);
         withOption(options, "expected_columns", fileMap::setExpectedColumns, this::getInteger);
         withOption(options, "ignore_pattern", fileMap::setIgnorePattern);
+        withOption(options, "index_file", path -> fileMap.setIndexFile(metafix.resolvePath(path)));
         withOption(options, "key_column", fileMap::setKeyColumn, this::getInteger);
         withOption(options, "value_column", fileMap::setValueColumn, this::getInteger);
 
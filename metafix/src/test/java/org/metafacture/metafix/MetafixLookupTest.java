@@ -25,15 +25,19 @@
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.github.tomakehurst.wiremock.matching.UrlPattern;
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -518,6 +522,18 @@ public void shouldLookupInSeparateExternalFileMapWithNameAndOptions() {
         );
     }
 
+    @Test
+    public void shouldLookupInSeparateExternalFileMapWithIndexFile(@TempDir final Path tempDir) {
+        final Path indexFile = tempDir.resolve("map.idx");
+
+        assertMap(
+                "put_filemap('" + TSV_MAP + "', 'testMap', sep_char: '\t', index_file: '" + indexFile + "')",
+                LOOKUP + " 'testMap')"
+        );
+
+        Assertions.assertTrue(Files.isRegularFile(indexFile));
+    }
+
     @Test
     public void shouldDefineMultipleSeparateMaps() {
         assertMap(
@@ -16,15 +16,19 @@
 
 package org.metafacture.metafix;
 
+import org.metafacture.framework.helpers.DefaultStreamReceiver;
 import org.metafacture.metafix.api.FixFunction;
 import org.metafacture.metafix.api.FixRegistry;
 import org.metafacture.metafix.bind.ListAs;
 import org.metafacture.metafix.bind.Once;
+import org.metafacture.metafix.method.field.Lookup;
 import org.metafacture.metamorph.api.Maps;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -333,7 +337,97 @@ public void shouldRegisterCommandInConstructor() {
         Assertions.assertTrue(registry.isRegisteredCommand(name));
     }
 
+    @Test
+    public void shouldTransformRecordsInParallelInOrder() throws IOException {
+        final List<String> output = new ArrayList<>();
+
+        final Metafix metafix = new Metafix("put_var('suffix', '!')\npaste('out', 'in', '~$[suffix]', join_char: '')");
+        metafix.setParallelism(4);
+        metafix.setReceiver(new DefaultStreamReceiver() {
+
+            @Override
+            public void startRecord(final String identifier) {
+                output.add(identifier);
+            }
+
+            @Override
+            public void literal(final String name, final String value) {
+                output.add(name + "=" + value);
+            }
+
+        });
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            metafix.startRecord(String.valueOf(i));
+            metafix.literal("in", "v" + i);
+            metafix.endRecord();
+
+            expected.add(String.valueOf(i));
+            expected.add("in=v" + i);
+            expected.add("out=v" + i + "!");
+        }
+        metafix.closeStream();
+
+        Assertions.assertEquals(expected, output);
+    }
+
+    @Test
+    public void shouldLookupInPutMapInParallel() throws IOException {
+        final Metafix metafix = new Metafix("lookup('in', '" + MAP_NAME + "')");
+        metafix.putMap(MAP_NAME, Collections.singletonMap(KEY, VALUE));
+
+        assertParallelLookup(metafix);
+    }
+
+    @Test
+    public void shouldLookupInPutValueInParallel() throws IOException {
+        final Metafix metafix = new Metafix("lookup('in', '" + MAP_NAME + "')");
+        metafix.putValue(MAP_NAME, KEY, VALUE);
+
+        assertParallelLookup(metafix);
+    }
+
+    @Test
+    public void shouldUseRegisteredCommandInParallel() throws IOException {
+        final Metafix metafix = new Metafix("test_lookup('in', '" + MAP_NAME + "')", m -> {
+            m.getRegistry().registerCommand("test_lookup", Lookup.class);
+            m.putValue(MAP_NAME, KEY, VALUE);
+            return null;
+        });
+
+        assertParallelLookup(metafix);
+    }
+
+    @Test
+    public void shouldRequireFixDefinitionForParallelism() {
+        Assertions.assertThrows(IllegalStateException.class, () -> new Metafix().setParallelism(2));
+    }
+
     @FixCommand("test_command")
+    private void assertParallelLookup(final Metafix metafix) {
+        final List<String> output = new ArrayList<>();
+
+        metafix.setParallelism(4);
+        metafix.setReceiver(new DefaultStreamReceiver() {
+
+            @Override
+            public void literal(final String name, final String value) {
+                output.add(name + "=" + value);
+            }
+
+        });
+
+        for (int i = 0; i < 100; ++i) {
+            metafix.startRecord(String.valueOf(i));
+            metafix.literal("in", KEY);
+            metafix.endRecord();
+        }
+        metafix.closeStream();
+
+        Assertions.assertEquals(Collections.nCopies(100, "in=" + VALUE), output);
+    }
+
     private static class TestCommand1 implements FixFunction {
 
         private TestCommand1() {
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metafix;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+public class PatternCacheTest {
+
+    public PatternCacheTest() {
+    }
+
+    @Test
+    public void shouldReuseCompiledPattern() {
+        final Pattern pattern = PatternCache.get("^a+b$");
+
+        Assertions.assertEquals("^a+b$", pattern.pattern());
+        Assertions.assertSame(pattern, PatternCache.get("^a+b$"));
+    }
+
+    @Test
+    public void shouldCompilePatternsBeyondMaximumSize() {
+        for (int i = 0; i <= PatternCache.MAX_SIZE; ++i) {
+            Assertions.assertEquals("x" + i, PatternCache.get("x" + i).pattern());
+        }
+    }
+
+}
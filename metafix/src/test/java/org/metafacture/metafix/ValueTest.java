@@ -17,6 +17,7 @@
 package org.metafacture.metafix;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 public class ValueTest {
@@ -29,8 +30,105 @@ public void shouldSatisfyEqualsContract() {
         EqualsVerifier.forClass(Value.class)
             .withPrefabValues(Value.class, Value.newArray(), Value.newHash())
             .withPrefabValues(Value.Hash.class, Value.newHash().asHash(), Value.newHash(h -> h.put("k", new Value("v"))).asHash())
-            .withIgnoredFields("path")
+            .withIgnoredFields("path", "pathIndex")
             .verify();
     }
 
+    @Test
+    public void shouldRenumberPathsOnRepeatedInsertsAtFront() {
+        final Value.Array array = Value.newArray().asArray();
+
+        for (int i = 0; i < 10; ++i) {
+            array.add(0, new Value("v" + i).withPathSet("field"));
+
+            for (int j = 0; j < array.size(); ++j) {
+                Assertions.assertEquals("field." + (j + 1), array.get(j).getPath());
+            }
+        }
+
+        Assertions.assertEquals("v9", array.get(0).asString());
+        Assertions.assertEquals("v0", array.get(9).asString());
+    }
+
+    @Test
+    public void shouldRenumberPathsOfNestedArraysAndHashes() {
+        final Value.Array array = Value.newArray().asArray();
+
+        final Value hash = Value.newHash().withPathSet("outer");
+        array.add(hash);
+        hash.asHash().put("key", new Value("h").withPathSet(hash.getPath()));
+
+        final Value inner = Value.newArray().withPathSet("outer");
+        array.add(inner);
+        inner.asArray().add(new Value("a").withPathSet(inner.getPath()));
+        inner.asArray().add(0, new Value("b").withPathSet(inner.getPath()));
+
+        Assertions.assertEquals("outer.1", hash.getPath());
+        Assertions.assertEquals("outer.1.key", hash.asHash().get("key").getPath());
+        Assertions.assertEquals("outer.2", inner.getPath());
+        Assertions.assertEquals("outer.2.1", inner.asArray().get(0).getPath());
+        Assertions.assertEquals("outer.2.2", inner.asArray().get(1).getPath());
+
+        array.add(0, new Value("first").withPathSet("outer"));
+
+        Assertions.assertEquals("outer.1", array.get(0).getPath());
+        Assertions.assertEquals("outer.2", hash.getPath());
+        Assertions.assertEquals("outer.3", inner.getPath());
+
+        // Only the paths of the array's own elements are renumbered
+        Assertions.assertEquals("outer.1.key", hash.asHash().get("key").getPath());
+        Assertions.assertEquals("outer.2.1", inner.asArray().get(0).getPath());
+        Assertions.assertEquals("outer.2.2", inner.asArray().get(1).getPath());
+
+        inner.asArray().add(0, new Value("c").withPathSet(inner.getPath()));
+
+        Assertions.assertEquals("outer.3.1", inner.asArray().get(0).getPath());
+        Assertions.assertEquals("outer.2.2", inner.asArray().get(1).getPath());
+        Assertions.assertEquals("outer.2.3", inner.asArray().get(2).getPath());
+    }
+
+    @Test
+    public void shouldRenumberExplicitlySetPathsEndingInDigits() {
+        final Value.Array array = Value.newArray().asArray();
+
+        final Value index = new Value("index").withPathSet("field.7");
+        final Value digits = new Value("digits").withPathSet("field42");
+        final Value letters = new Value("letters").withPathSet("field");
+        array.add(index, false);
+        array.add(digits, false);
+        array.add(letters, false);
+
+        array.add(0, new Value("first").withPathSet("field"));
+
+        Assertions.assertEquals("field.1", array.get(0).getPath());
+        Assertions.assertEquals("field.2", index.getPath());
+        Assertions.assertEquals("field3", digits.getPath());
+        Assertions.assertEquals("field", letters.getPath());
+
+        array.add(0, new Value("second").withPathSet("field"));
+
+        Assertions.assertEquals("field.3", index.getPath());
+        Assertions.assertEquals("field4", digits.getPath());
+    }
+
+    @Test
+    public void shouldKeepPathOnCopy() {
+        final Value string = new Value("v").withPathSet("a.b");
+        Assertions.assertEquals("a.b", string.copy().getPath());
+
+        final Value hash = Value.newHash(h -> h.put("k", new Value("v"))).withPathSet("a.2");
+        Assertions.assertEquals("a.2", hash.copy().getPath());
+
+        final Value.Array array = Value.newArray().asArray();
+        final Value element = new Value("e").withPathSet("a");
+        array.add(element);
+
+        final Value copy = element.copy();
+        Assertions.assertEquals("a.1", copy.getPath());
+
+        array.add(0, copy);
+        Assertions.assertEquals("a.1.1", copy.getPath());
+        Assertions.assertEquals("a.2", element.getPath());
+    }
+
 }
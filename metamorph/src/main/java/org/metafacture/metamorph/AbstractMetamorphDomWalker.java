@@ -55,7 +55,10 @@ public enum AttributeName {
         CLASS("class"),
         DEFAULT("default"),
         ENTITY_MARKER("entityMarker"),
-        FLUSH_WITH("flushWith");
+        FLUSH_WITH("flushWith"),
+        CACHE_SIZE("cacheSize"),
+        CACHE_TTL("cacheTtl"),
+        CACHE_MISSES("cacheMisses");
 
         private final String string;
 
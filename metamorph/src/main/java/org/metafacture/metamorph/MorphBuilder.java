@@ -26,6 +26,7 @@
 import org.metafacture.metamorph.api.Maps;
 import org.metafacture.metamorph.api.MorphBuildException;
 import org.metafacture.metamorph.api.NamedValuePipe;
+import org.metafacture.metamorph.maps.CachingMap;
 import org.metafacture.metamorph.xml.Location;
 
 import org.w3c.dom.Node;
@@ -90,6 +91,9 @@ protected void handleInternalMap(final Node mapNode) {
     protected void handleMapClass(final Node mapNode) {
         final Map<String, String> attributes = resolvedAttributeMap(mapNode);
         final String mapName = resolveVars(attributes.remove(AttributeName.NAME.getString()));
+        final String cacheSize = attributes.remove(AttributeName.CACHE_SIZE.getString());
+        final String cacheTtl = attributes.remove(AttributeName.CACHE_TTL.getString());
+        final String cacheMisses = attributes.remove(AttributeName.CACHE_MISSES.getString());
         final Map<String, String> map;
         if (mapNode.getLocalName().equals(JAVAMAP)) {
             final String className = resolvedAttribute(mapNode, AttributeName.CLASS);
@@ -105,7 +109,20 @@ else if (getMapFactory().containsKey(mapNode.getLocalName())) {
             throw new MorphBuildException("Map " + mapNode.getLocalName() + NOT_FOUND);
         }
 
-        metamorph.putMap(mapName, map);
+        if (cacheSize != null) {
+            final CachingMap cachingMap = new CachingMap(map);
+            cachingMap.setCacheSize(Integer.parseInt(cacheSize));
+            if (cacheTtl != null) {
+                cachingMap.setCacheTtl(Integer.parseInt(cacheTtl));
+            }
+            if (cacheMisses != null) {
+                cachingMap.setCacheMisses(Boolean.parseBoolean(cacheMisses));
+            }
+            metamorph.putMap(mapName, cachingMap);
+        }
+        else {
+            metamorph.putMap(mapName, map);
+        }
     }
 
     @Override
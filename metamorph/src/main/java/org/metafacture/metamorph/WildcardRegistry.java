@@ -19,17 +19,34 @@
 import org.metafacture.commons.tries.SimpleRegexTrie;
 import org.metafacture.commons.tries.WildcardTrie;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implements {@link Registry} with a {@link WildcardTrie}.
+ * <p>
+ * Matching a path against the trie is comparatively expensive. Since the
+ * number of distinct paths in a stream is usually small, the matches for
+ * each path are memoized, so that repeated lookups cost a single hash lookup.
+ * The cache is bounded to {@value #MAX_CACHED_PATHS} paths and cleared
+ * whenever a new path pattern is registered.
  *
  * @param <T> type of the values this registry stores
  * @author Markus Michael Geipel
  */
 final class WildcardRegistry<T> implements Registry<T> {
 
+    static final int MAX_CACHED_PATHS = 10000;
+
     private final SimpleRegexTrie<T> trie = new SimpleRegexTrie<T>();
+    private final Map<String, List<T>> cache = new LinkedHashMap<String, List<T>>() {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, List<T>> eldest) {
+            return size() > MAX_CACHED_PATHS;
+        }
+    };
 
     WildcardRegistry() {
     }
@@ -37,12 +54,17 @@
     @Override
     public void register(final String path, final T value) {
         trie.put(path, value);
-
+        cache.clear();
     }
 
     @Override
     public List<T> get(final String path) {
-        return trie.get(path);
+        List<T> matchingData = cache.get(path);
+        if (matchingData == null) {
+            matchingData = Collections.unmodifiableList(trie.get(path));
+            cache.put(path, matchingData);
+        }
+        return matchingData;
     }
 
 }
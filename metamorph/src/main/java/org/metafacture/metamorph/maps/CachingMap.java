@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph.maps;
+
+import org.metafacture.framework.MetafactureLogger;
+import org.metafacture.metamorph.api.helpers.AbstractReadOnlyMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A map which caches the results of another map. This is useful in front of
+ * maps with expensive lookups such as {@link SqlMap} or {@link RestMap}.
+ * <p>
+ * The cache holds at most {@link #setCacheSize(int) cacheSize} entries and
+ * evicts the least recently used entry if it is full. Entries expire after
+ * {@link #setCacheTtl(int) cacheTtl} seconds if a time-to-live is set. Keys
+ * which are not found in the wrapped map are cached as well unless
+ * {@link #setCacheMisses(boolean)} is set to false.
+ * <p>
+ * In a Metamorph definition, the cache is enabled by adding a
+ * {@code cacheSize} attribute to a map, e.g.:
+ * <pre>{@code <sqlmap name="authors" cacheSize="10000" cacheTtl="3600" ... />}</pre>
+ */
+public final class CachingMap extends AbstractReadOnlyMap<String, String> implements Closeable {
+
+    public static final int DEFAULT_CACHE_SIZE = 10000;
+
+    private static final MetafactureLogger LOG = new MetafactureLogger(CachingMap.class);
+
+    private final Map<String, String> map;
+    private final LongSupplier clock;
+
+    private int cacheSize = DEFAULT_CACHE_SIZE;
+    private long ttlNanos;
+    private boolean cacheMisses = true;
+
+    private Map<String, CacheEntry> cache;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates an instance of {@link CachingMap} for the given map.
+     *
+     * @param map the map whose lookups are cached
+     */
+    public CachingMap(final Map<String, String> map) {
+        this(map, System::nanoTime);
+    }
+
+    /**
+     * Creates an instance of {@link CachingMap} with a custom clock.
+     *
+     * @param map   the map whose lookups are cached
+     * @param clock the source of the current time in nanoseconds
+     */
+    CachingMap(final Map<String, String> map, final LongSupplier clock) {
+        this.map = map;
+        this.clock = clock;
+        createCache();
+    }
+
+    /**
+     * Sets the maximum number of cached keys.
+     * <p>
+     * <strong>Default value: {@value #DEFAULT_CACHE_SIZE}</strong>
+     *
+     * @param cacheSize the maximum number of entries in the cache
+     */
+    public void setCacheSize(final int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("cacheSize must be positive");
+        }
+        this.cacheSize = cacheSize;
+        createCache();
+    }
+
+    /**
+     * Gets the maximum number of cached keys.
+     *
+     * @return the maximum number of entries in the cache
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the number of seconds after which cached entries expire. A value
+     * of 0 (the default) means that entries do not expire.
+     *
+     * @param cacheTtl the time-to-live of cache entries in seconds
+     */
+    public void setCacheTtl(final int cacheTtl) {
+        if (cacheTtl < 0) {
+            throw new IllegalArgumentException("cacheTtl must not be negative");
+        }
+        ttlNanos = TimeUnit.SECONDS.toNanos(cacheTtl);
+    }
+
+    /**
+     * Flags whether keys without a value in the wrapped map are cached.
+     * <p>
+     * <strong>Default value: true</strong>
+     *
+     * @param cacheMisses true if missing values should be cached
+     */
+    public void setCacheMisses(final boolean cacheMisses) {
+        this.cacheMisses = cacheMisses;
+    }
+
+    /**
+     * Gets the number of lookups which were answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups which were passed on to the wrapped map.
+     *
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the wrapped map.
+     *
+     * @return the map whose lookups are cached
+     */
+    public Map<String, String> getMap() {
+        return map;
+    }
+
+    @Override
+    public String get(final Object key) {
+        final String stringKey = key.toString();
+        final CacheEntry entry = cache.get(stringKey);
+        if (entry != null && (ttlNanos == 0 || clock.getAsLong() - entry.created < ttlNanos)) {
+            ++hits;
+            return entry.value;
+        }
+
+        ++misses;
+        final String value = map.get(stringKey);
+        if (value != null || cacheMisses) {
+            cache.put(stringKey, new CacheEntry(value, ttlNanos == 0 ? 0 : clock.getAsLong()));
+        }
+        else if (entry != null) {
+            cache.remove(stringKey);
+        }
+        return value;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return map.keySet();
+    }
+
+    @Override
+    public void close() throws IOException {
+        LOG.debug("Cache of {}: {} hits, {} misses", map.getClass().getSimpleName(), hits, misses);
+        cache.clear();
+        if (map instanceof Closeable) {
+            ((Closeable) map).close();
+        }
+    }
+
+    private void createCache() {
+        final int maxSize = cacheSize;
+        cache = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) { // checkstyle-disable-line MagicNumber
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CacheEntry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * A cached value together with the time it was looked up.
+     */
+    private static final class CacheEntry {
+
+        private final String value;
+        private final long created;
+
+        CacheEntry(final String value, final long created) {
+            this.value = value;
+            this.created = created;
+        }
+
+    }
+
+}
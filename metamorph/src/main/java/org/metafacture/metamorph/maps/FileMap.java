@@ -23,6 +23,7 @@
 
 import java.io.BufferedReader;
 import java.io.Closeable;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -31,12 +32,15 @@
 import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -60,6 +64,13 @@
  * <p><strong>Important:</strong> Otherwise, all lines that are not split into
  * the expected number of parts by the separator are ignored!
  *
+ * <p>By setting an {@link #setIndexFile indexFile}, the map is compiled into
+ * an indexed binary file instead of being loaded onto the heap. Later runs
+ * memory-map this file, which takes almost no time regardless of the size of
+ * the map, and processes which use the same file share its pages.
+ *
+ * <p>Once configured, the map can be read by several threads concurrently.
+ *
  * @author Markus Michael Geipel
  */
 public final class FileMap extends AbstractReadOnlyMap<String, String> implements Closeable {
@@ -67,11 +78,14 @@ public final class FileMap extends AbstractReadOnlyMap<String, String> implement
     private final FileOpener fileOpener = new FileOpener();
     private final Map<String, String> map = new HashMap<>();
 
+    private MappedMapFile mappedMap;
+    private String indexFile;
+
     private ArrayList<String> filenames = new ArrayList<>();
     private Matcher ignoreMatcher;
     private Pattern split = Pattern.compile("\t", Pattern.LITERAL);
     private boolean allowEmptyValues;
-    private boolean isUninitialized = true;
+    private volatile boolean isUninitialized = true;
     private int expectedColumns;
     private int keyColumn;
     private int valueColumn = 1;
@@ -82,8 +96,16 @@ public final class FileMap extends AbstractReadOnlyMap<String, String> implement
     public FileMap() {
     }
 
-    private void init() {
-        loadFiles();
+    private synchronized void init() {
+        if (!isUninitialized) {
+            return;
+        }
+        if (indexFile != null) {
+            loadIndexFile();
+        }
+        else {
+            loadFiles();
+        }
         isUninitialized = false;
     }
 
@@ -166,11 +188,72 @@ public void setDecompressConcatenated(final boolean decompressConcatenated) {
         fileOpener.setDecompressConcatenated(decompressConcatenated);
     }
 
+    /**
+     * Sets a file in which the map is stored in an indexed binary format. If
+     * the file does not exist yet or was compiled from other map files or with
+     * other options, it is compiled from the map files. Otherwise, it is
+     * memory-mapped and the map files are not read at all.
+     * <p>
+     * Changes of map files are detected by their size and modification time.
+     * Changes of map resources and URLs are not detected; delete the index
+     * file to recompile the map.
+     * <p>
+     * <strong>Default value: null</strong> (the map is loaded onto the heap)
+     *
+     * @param indexFile the name of the index file
+     */
+    public void setIndexFile(final String indexFile) {
+        this.indexFile = indexFile;
+    }
+
     private void loadFiles() {
-        filenames.forEach(this::loadFile);
+        filenames.forEach(file -> loadFile(file, map::put));
     }
 
-    private void loadFile(final String file) {
+    private void loadIndexFile() {
+        final Path path = Paths.get(indexFile);
+        final String fingerprint = getFingerprint();
+
+        try {
+            mappedMap = MappedMapFile.open(path, fingerprint);
+            if (mappedMap == null) {
+                try (MappedMapFileWriter writer = new MappedMapFileWriter(path, fingerprint)) {
+                    filenames.forEach(file -> loadFile(file, writer::put));
+                    writer.commit();
+                }
+                mappedMap = MappedMapFile.open(path, fingerprint);
+            }
+        }
+        catch (final IOException e) {
+            throw new MorphExecutionException("filemap: cannot compile index file", e);
+        }
+
+        if (mappedMap == null) {
+            throw new MorphExecutionException("filemap: index file was modified concurrently: " + indexFile);
+        }
+    }
+
+    /**
+     * Describes the map files and the options which affect the contents of
+     * the map, so that outdated index files are recompiled.
+     */
+    private String getFingerprint() {
+        final StringJoiner fingerprint = new StringJoiner("\n");
+
+        for (final String file : filenames) {
+            final File localFile = new File(file);
+            fingerprint.add(localFile.isFile() ? file + ' ' + localFile.length() + ' ' + localFile.lastModified() : file);
+        }
+
+        return fingerprint
+            .add(split.pattern())
+            .add(ignoreMatcher != null ? ignoreMatcher.pattern().pattern() : "")
+            .add(keyColumn + " " + valueColumn + " " + expectedColumns + " " + allowEmptyValues)
+            .add(fileOpener.getEncoding() + " " + fileOpener.getCompression() + " " + fileOpener.getDecompressConcatenated())
+            .toString();
+    }
+
+    private void loadFile(final String file, final EntryConsumer consumer) {
         try (
                 InputStream stream = openStream(file);
                 Reader reader = fileOpener.open(stream);
@@ -190,7 +273,7 @@ private void loadFile(final String file) {
                     continue;
                 }
 
-                map.put(parts[keyColumn], parts[valueColumn]);
+                consumer.accept(parts[keyColumn], parts[valueColumn]);
             }
         }
         catch (final IOException | UncheckedIOException e) {
@@ -281,6 +364,9 @@ public String get(final Object key) {
         if (isUninitialized) {
             init();
         }
+        if (mappedMap != null) {
+            return key instanceof String ? mappedMap.get((String) key) : null;
+        }
         return map.get(key);
     }
 
@@ -289,13 +375,33 @@ public Set<String> keySet() {
         if (isUninitialized) {
             init();
         }
-        return Collections.unmodifiableSet(map.keySet());
+        return mappedMap != null ? mappedMap.keySet() : Collections.unmodifiableSet(map.keySet());
     }
 
     @Override
     public void close() throws IOException {
         map.clear();
+        if (mappedMap != null) {
+            mappedMap.close();
+            mappedMap = null;
+        }
         fileOpener.closeStream();
     }
 
+    /**
+     * Receives the entries read from the map files.
+     */
+    private interface EntryConsumer {
+
+        /**
+         * Receives an entry.
+         *
+         * @param key   the key
+         * @param value the value
+         * @throws IOException if the entry cannot be stored
+         */
+        void accept(String key, String value) throws IOException;
+
+    }
+
 }
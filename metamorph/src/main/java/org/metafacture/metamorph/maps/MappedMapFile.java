@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.metamorph.maps;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A read-only map of strings which is memory-mapped from a file written by
+ * {@link MappedMapFileWriter}. Opening the file does not read the entries;
+ * the pages are loaded on demand by the operating system, and the page cache
+ * is shared by all processes which map the same file.
+ * <p>
+ * The file starts with a header which contains a fingerprint of the data the
+ * map was compiled from. It is followed by a bucket table, which maps the top
+ * bits of a key hash to a range in the entry table, by the entry table of key
+ * hashes and record offsets, and by the records of UTF-8 encoded keys and
+ * values. Looking up a key thus touches the bucket table, usually one entry
+ * and one record.
+ *
+ */
+final class MappedMapFile implements AutoCloseable {
+
+    static final long MAGIC = 0x4d46_4d41_5000_0001L; // "MFMAP", version 1
+
+    static final int ENTRY_SIZE = 2 * Long.BYTES;
+
+    private static final int SEGMENT_SIZE = 1 << 30;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf2_9ce4_8422_2325L;
+    private static final long FNV_PRIME = 0x100_0000_01b3L;
+    private static final long MIX_MULTIPLIER1 = 0xff51_afd7_ed55_8ccdL;
+    private static final long MIX_MULTIPLIER2 = 0xc4ce_b9fe_1a85_ec53L;
+    private static final int MIX_SHIFT = 33;
+    private static final int BYTE_MASK = 0xff;
+
+    private final ByteBuffer[] segments;
+    private final long bucketTable;
+    private final long entryTable;
+    private final int bucketBits;
+    private final int entryCount;
+
+    private MappedMapFile(final ByteBuffer[] segments, final long bucketTable, final int bucketBits, final int entryCount) {
+        this.segments = segments;
+        this.bucketTable = bucketTable;
+        this.bucketBits = bucketBits;
+        this.entryCount = entryCount;
+        entryTable = bucketTable + ((1L << bucketBits) + 1) * Integer.BYTES;
+    }
+
+    /**
+     * Maps a map file into memory.
+     *
+     * @param file        the map file
+     * @param fingerprint the fingerprint of the data which the map is
+     *                    expected to be compiled from
+     * @return the map, or null if the file does not exist or has a different
+     *         fingerprint
+     * @throws IOException if the file cannot be read
+     */
+    static MappedMapFile open(final Path file, final String fingerprint) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final ByteBuffer[] segments = new ByteBuffer[(int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int i = 0; i < segments.length; ++i) {
+                final long start = (long) i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start));
+            }
+
+            final MappedMapFile map = new MappedMapFile(segments, 0, 0, 0);
+            if (size < Long.BYTES + Integer.BYTES || map.getLong(0) != MAGIC) {
+                return null;
+            }
+
+            final byte[] expected = fingerprint.getBytes(StandardCharsets.UTF_8);
+            final int length = map.getInt(Long.BYTES);
+            long position = Long.BYTES + Integer.BYTES;
+            if (length != expected.length || !Arrays.equals(map.getBytes(position, length), expected)) {
+                return null;
+            }
+            position += length;
+
+            final int bucketBits = map.getInt(position);
+            final int entryCount = map.getInt(position + Integer.BYTES);
+            return new MappedMapFile(segments, position + 2 * Integer.BYTES, bucketBits, entryCount);
+        }
+    }
+
+    /**
+     * Gets the header of a map file.
+     *
+     * @param fingerprint the fingerprint of the data which the map is
+     *                    compiled from
+     * @return the header up to the bucket table
+     */
+    static byte[] header(final String fingerprint) {
+        final byte[] bytes = fingerprint.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Long.BYTES + Integer.BYTES + bytes.length)
+            .putLong(MAGIC)
+            .putInt(bytes.length)
+            .put(bytes)
+            .array();
+    }
+
+    /**
+     * Gets the bucket of a key hash.
+     *
+     * @param hash       the key hash
+     * @param bucketBits the number of bits which select the bucket
+     * @return the bucket
+     */
+    static int bucket(final long hash, final int bucketBits) {
+        return bucketBits == 0 ? 0 : (int) (hash >>> (Long.SIZE - bucketBits));
+    }
+
+    /**
+     * Calculates the hash of a UTF-8 encoded key. The hash must not change
+     * between versions of the file format.
+     *
+     * @param key the UTF-8 encoded key
+     * @return the hash
+     */
+    static long hash(final byte[] key) {
+        long h = FNV_OFFSET_BASIS;
+        for (final byte b : key) {
+            h = (h ^ (b & BYTE_MASK)) * FNV_PRIME;
+        }
+        // Spread the bits of short keys into the top bits, which select the bucket
+        h = (h ^ h >>> MIX_SHIFT) * MIX_MULTIPLIER1;
+        h = (h ^ h >>> MIX_SHIFT) * MIX_MULTIPLIER2;
+        return h ^ h >>> MIX_SHIFT;
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key the key
+     * @return the value, or null if the map does not contain the key
+     */
+    String get(final String key) {
+        final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        final long hash = hash(bytes);
+        final int bucket = bucket(hash, bucketBits);
+
+        final int end = getInt(bucketTable + (bucket + 1L) * Integer.BYTES);
+        for (int i = getInt(bucketTable + (long) bucket * Integer.BYTES); i < end; ++i) {
+            final long entry = entryTable + (long) i * ENTRY_SIZE;
+            if (getLong(entry) == hash) {
+                final long record = getLong(entry + Long.BYTES);
+                final int keyLength = getInt(record);
+                if (keyLength == bytes.length && equalsAt(record + Integer.BYTES, bytes)) {
+                    final long value = record + Integer.BYTES + keyLength;
+                    return new String(getBytes(value + Integer.BYTES, getInt(value)), StandardCharsets.UTF_8);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets a view of the keys.
+     *
+     * @return the keys
+     */
+    KeySet keySet() {
+        return new KeySet();
+    }
+
+    @Override
+    public void close() {
+        // The mapping is released when the buffers are garbage collected
+        Arrays.fill(segments, null);
+    }
+
+    private String getKey(final int index) {
+        final long record = getLong(entryTable + (long) index * ENTRY_SIZE + Long.BYTES);
+        return new String(getBytes(record + Integer.BYTES, getInt(record)), StandardCharsets.UTF_8);
+    }
+
+    private int getInt(final long position) {
+        final int offset = (int) (position % SEGMENT_SIZE);
+        if (offset <= SEGMENT_SIZE - Integer.BYTES) {
+            return segments[(int) (position / SEGMENT_SIZE)].getInt(offset);
+        }
+        return ByteBuffer.wrap(getBytes(position, Integer.BYTES)).getInt();
+    }
+
+    private long getLong(final long position) {
+        final int offset = (int) (position % SEGMENT_SIZE);
+        if (offset <= SEGMENT_SIZE - Long.BYTES) {
+            return segments[(int) (position / SEGMENT_SIZE)].getLong(offset);
+        }
+        return ByteBuffer.wrap(getBytes(position, Long.BYTES)).getLong();
+    }
+
+    private boolean equalsAt(final long position, final byte[] bytes) {
+        for (int i = 0; i < bytes.length; ++i) {
+            final long current = position + i;
+            if (segments[(int) (current / SEGMENT_SIZE)].get((int) (current % SEGMENT_SIZE)) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] getBytes(final long position, final int length) {
+        final byte[] bytes = new byte[length];
+
+        int copied = 0;
+        while (copied < length) {
+            final long current = position + copied;
+            final int offset = (int) (current % SEGMENT_SIZE);
+            final int count = Math.min(length - copied, SEGMENT_SIZE - offset);
+            // Duplicate the buffer since its position is not thread-safe
+            final ByteBuffer segment = segments[(int) (current / SEGMENT_SIZE)].duplicate();
+            segment.position(offset);
+            segment.get(bytes, copied, count);
+            copied += count;
+        }
+
+        return bytes;
+    }
+
+    /**
+     * An unmodifiable view of the keys of a {@link MappedMapFile}.
+     */
+    final class KeySet extends AbstractSet<String> {
+
+        private KeySet() {
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < entryCount;
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final String key = getKey(index);
+                    ++index;
+                    return key;
+                }
+
+            };
+        }
+
+        @Override
+        public int size() {
+            return entryCount;
+        }
+
+        @Override
+        public boolean contains(final Object key) {
+            return key instanceof String && get((String) key) != null;
+        }
+
+    }
+
+}
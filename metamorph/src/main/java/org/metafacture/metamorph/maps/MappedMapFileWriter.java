@@ -0,0 +1,245 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.metafacture.metamorph.maps;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Compiles the entries of a map into a file which can be memory-mapped with
+ * {@link MappedMapFile}. The records are written to a temporary file as they
+ * are added; only their hashes and offsets are kept on the heap. If a key is
+ * added more than once, the last value wins.
+ * <p>
+ * The map file is written next to the target file and then moved into place,
+ * so that processes which compile the same map concurrently do not see
+ * partially written files.
+ *
+ */
+final class MappedMapFileWriter implements AutoCloseable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path target;
+    private final String fingerprint;
+    private final Path recordFile;
+    private final DataOutputStream records;
+
+    private long[] hashes = new long[INITIAL_CAPACITY];
+    private long[] offsets = new long[INITIAL_CAPACITY];
+    private int count;
+    private long recordSize;
+
+    /**
+     * Creates a writer for a map file.
+     *
+     * @param target      the map file
+     * @param fingerprint the fingerprint of the data which the map is
+     *                    compiled from
+     * @throws IOException if the temporary file cannot be created
+     */
+    MappedMapFileWriter(final Path target, final String fingerprint) throws IOException {
+        this.target = target.toAbsolutePath();
+        this.fingerprint = fingerprint;
+        recordFile = Files.createTempFile(this.target.getParent(), this.target.getFileName().toString(), TEMP_SUFFIX);
+        records = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(recordFile), BUFFER_SIZE));
+    }
+
+    /**
+     * Adds an entry to the map.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws IOException if the entry cannot be written
+     */
+    void put(final String key, final String value) throws IOException {
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+
+        if (count == hashes.length) {
+            final int capacity = (int) Math.min(2L * count, Integer.MAX_VALUE - 1);
+            if (capacity == count) {
+                throw new IOException("Too many entries for a map file");
+            }
+            hashes = Arrays.copyOf(hashes, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+        }
+
+        hashes[count] = MappedMapFile.hash(keyBytes);
+        offsets[count] = recordSize;
+        ++count;
+
+        records.writeInt(keyBytes.length);
+        records.write(keyBytes);
+        records.writeInt(valueBytes.length);
+        records.write(valueBytes);
+        recordSize += 2 * Integer.BYTES + keyBytes.length + valueBytes.length;
+    }
+
+    /**
+     * Writes the map file and moves it into place.
+     *
+     * @throws IOException if the map file cannot be written
+     */
+    void commit() throws IOException {
+        records.close();
+
+        final int bucketBits = Integer.numberOfTrailingZeros(Integer.highestOneBit(Math.max(count, 1)));
+        final int[] bucketStarts = new int[(1 << bucketBits) + 1];
+        final int[] entries = sortByBucket(bucketBits, bucketStarts);
+        final int entryCount = removeDuplicates(entries, bucketStarts);
+
+        final byte[] header = MappedMapFile.header(fingerprint);
+        final long recordStart = header.length + 2L * Integer.BYTES +
+            (long) bucketStarts.length * Integer.BYTES + (long) entryCount * MappedMapFile.ENTRY_SIZE;
+
+        final Path mapFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), TEMP_SUFFIX);
+        try {
+            try (OutputStream stream = Files.newOutputStream(mapFile);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE))) {
+                out.write(header);
+                out.writeInt(bucketBits);
+                out.writeInt(entryCount);
+                for (final int start : bucketStarts) {
+                    out.writeInt(start);
+                }
+                for (int i = 0; i < entryCount; ++i) {
+                    out.writeLong(hashes[entries[i]]);
+                    out.writeLong(recordStart + offsets[entries[i]]);
+                }
+                Files.copy(recordFile, out);
+            }
+            Files.move(mapFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(mapFile);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            records.close();
+        }
+        finally {
+            Files.deleteIfExists(recordFile);
+        }
+    }
+
+    /**
+     * Sorts the entries by bucket, keeping entries of the same bucket in the
+     * order in which they were added.
+     */
+    private int[] sortByBucket(final int bucketBits, final int[] bucketStarts) {
+        for (int i = 0; i < count; ++i) {
+            ++bucketStarts[MappedMapFile.bucket(hashes[i], bucketBits) + 1];
+        }
+        for (int b = 1; b < bucketStarts.length; ++b) {
+            bucketStarts[b] += bucketStarts[b - 1];
+        }
+
+        final int[] next = Arrays.copyOf(bucketStarts, bucketStarts.length - 1);
+        final int[] entries = new int[count];
+        for (int i = 0; i < count; ++i) {
+            final int bucket = MappedMapFile.bucket(hashes[i], bucketBits);
+            entries[next[bucket]] = i;
+            ++next[bucket];
+        }
+
+        return entries;
+    }
+
+    /**
+     * Removes all but the last entry of each key and updates the bucket
+     * starts accordingly.
+     *
+     * @return the number of remaining entries
+     */
+    private int removeDuplicates(final int[] entries, final int[] bucketStarts) throws IOException {
+        int kept = 0;
+
+        try (FileChannel channel = FileChannel.open(recordFile, StandardOpenOption.READ)) {
+            int start = 0;
+            for (int b = 0; b < bucketStarts.length - 1; ++b) {
+                final int end = bucketStarts[b + 1];
+                bucketStarts[b] = kept;
+
+                for (int i = start; i < end; ++i) {
+                    if (!isOverwritten(channel, entries, i, end)) {
+                        entries[kept] = entries[i];
+                        ++kept;
+                    }
+                }
+
+                start = end;
+            }
+        }
+
+        bucketStarts[bucketStarts.length - 1] = kept;
+        return kept;
+    }
+
+    private boolean isOverwritten(final FileChannel channel, final int[] entries, final int index, final int end) throws IOException {
+        final int entry = entries[index];
+        byte[] key = null;
+
+        for (int j = index + 1; j < end; ++j) {
+            if (hashes[entries[j]] == hashes[entry]) {
+                if (key == null) {
+                    key = readKey(channel, offsets[entry]);
+                }
+                if (Arrays.equals(key, readKey(channel, offsets[entries[j]]))) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static byte[] readKey(final FileChannel channel, final long offset) throws IOException {
+        final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(channel, length, offset);
+
+        final ByteBuffer key = ByteBuffer.allocate(length.getInt(0));
+        readFully(channel, key, offset + Integer.BYTES);
+
+        return key.array();
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of map records");
+            }
+        }
+    }
+
+}
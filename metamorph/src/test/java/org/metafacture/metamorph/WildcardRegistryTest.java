@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+/**
+ * Tests for class {@link WildcardRegistry}.
+ *
+ */
+public final class WildcardRegistryTest {
+
+    public WildcardRegistryTest() {
+    }
+
+    @Test
+    public void shouldReturnSameMatchesForRepeatedPaths() {
+        final WildcardRegistry<String> registry = new WildcardRegistry<>();
+        registry.register("a.*", "x");
+
+        Assert.assertEquals(Arrays.asList("x"), registry.get("a.b"));
+        Assert.assertSame(registry.get("a.b"), registry.get("a.b"));
+        Assert.assertEquals(Collections.emptyList(), registry.get("b.a"));
+    }
+
+    @Test
+    public void shouldInvalidateCachedMatchesOnRegister() {
+        final WildcardRegistry<String> registry = new WildcardRegistry<>();
+        registry.register("a.*", "x");
+        Assert.assertEquals(Arrays.asList("x"), registry.get("a.b"));
+
+        registry.register("a.?", "y");
+        Assert.assertEquals(new HashSet<>(Arrays.asList("x", "y")), new HashSet<>(registry.get("a.b")));
+    }
+
+    @Test
+    public void shouldMatchPathsBeyondCacheSize() {
+        final WildcardRegistry<String> registry = new WildcardRegistry<>();
+        registry.register("a*", "x");
+
+        for (int i = 0; i <= WildcardRegistry.MAX_CACHED_PATHS; ++i) {
+            registry.get("a" + i);
+        }
+        Assert.assertEquals(Arrays.asList("x"), registry.get("a0"));
+    }
+
+}
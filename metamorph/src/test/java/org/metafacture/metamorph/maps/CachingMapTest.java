@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 hbz NRW
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph.maps;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for class {@link CachingMap}.
+ *
+ */
+public final class CachingMapTest {
+
+    private final Map<String, Integer> lookups = new HashMap<>();
+
+    private long now;
+    private CachingMap cachingMap;
+
+    public CachingMapTest() {
+    }
+
+    @Before
+    public void setup() {
+        final Map<String, String> map = new HashMap<String, String>() {
+            @Override
+            public String get(final Object key) {
+                lookups.merge(key.toString(), 1, Integer::sum);
+                return super.get(key);
+            }
+        };
+        map.put("a", "A");
+        map.put("b", "B");
+
+        cachingMap = new CachingMap(map, () -> now);
+    }
+
+    @Test
+    public void shouldLookupEachKeyOnlyOnce() {
+        Assert.assertEquals("A", cachingMap.get("a"));
+        Assert.assertEquals("A", cachingMap.get("a"));
+        Assert.assertEquals("B", cachingMap.get("b"));
+
+        Assert.assertEquals(Integer.valueOf(1), lookups.get("a"));
+        Assert.assertEquals(1, cachingMap.getHits());
+        Assert.assertEquals(2, cachingMap.getMisses());
+    }
+
+    @Test
+    public void shouldCacheMissingValues() {
+        Assert.assertNull(cachingMap.get("c"));
+        Assert.assertNull(cachingMap.get("c"));
+
+        Assert.assertEquals(Integer.valueOf(1), lookups.get("c"));
+    }
+
+    @Test
+    public void shouldNotCacheMissingValuesIfDisabled() {
+        cachingMap.setCacheMisses(false);
+        Assert.assertNull(cachingMap.get("c"));
+        Assert.assertNull(cachingMap.get("c"));
+
+        Assert.assertEquals(Integer.valueOf(2), lookups.get("c"));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedKeys() {
+        cachingMap.setCacheSize(2);
+        cachingMap.get("a");
+        cachingMap.get("b");
+        cachingMap.get("a");
+        cachingMap.get("c");
+        cachingMap.get("a");
+        cachingMap.get("b");
+
+        Assert.assertEquals(Integer.valueOf(1), lookups.get("a"));
+        Assert.assertEquals(Integer.valueOf(2), lookups.get("b"));
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterTtl() {
+        cachingMap.setCacheTtl(10);
+        cachingMap.get("a");
+        now += TimeUnit.SECONDS.toNanos(9);
+        cachingMap.get("a");
+        now += TimeUnit.SECONDS.toNanos(1);
+        cachingMap.get("a");
+
+        Assert.assertEquals(Integer.valueOf(2), lookups.get("a"));
+    }
+
+}
@@ -22,10 +22,15 @@
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
 import java.util.function.Consumer;
 
 /**
@@ -51,6 +56,9 @@ public final class FileMapTest {
     @Rule
     public final MockitoRule mockitoRule = MockitoJUnit.rule();
 
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Mock
     private StreamReceiver receiver;
 
@@ -368,6 +376,80 @@ public void shouldNotLoadFileWithTooManyExpectedColumns() {
         });
     }
 
+    @Test
+    public void shouldLookupValuesInIndexedFileMap() throws IOException {
+        final File indexFile = tempFolder.newFolder().toPath().resolve("map.idx").toFile();
+
+        TestHelpers.assertMorph(receiver, buildMorph("lookup in", "indexFile=\"" + indexFile + "\""),
+                i -> {
+                    i.startRecord("1");
+                    i.literal("1", "gw");
+                    i.literal("1", "fj");
+                    i.literal("1", "bla");
+                    i.endRecord();
+                },
+                o -> {
+                    o.get().startRecord("1");
+                    o.get().literal("1", "Germany");
+                    o.get().literal("1", "Fiji");
+                    o.get().endRecord();
+                }
+        );
+
+        Assert.assertTrue(indexFile.isFile());
+    }
+
+    @Test
+    public void shouldLoadFileIntoIndexFile() throws IOException {
+        final String indexFile = tempFolder.newFolder().toPath().resolve("map.idx").toString();
+
+        assertMap(379, i -> {
+            i.setIndexFile(indexFile);
+
+            Assert.assertEquals("Puerto Rico", i.get("pr"));
+            Assert.assertNull(i.get("zz"));
+            Assert.assertTrue(i.keySet().contains("pr"));
+        });
+    }
+
+    @Test
+    public void shouldReuseIndexFile() throws IOException {
+        final File indexFile = tempFolder.newFolder().toPath().resolve("map.idx").toFile();
+        final FileTime lastModified = FileTime.fromMillis(0);
+
+        assertMap(379, i -> i.setIndexFile(indexFile.toString()));
+        Files.setLastModifiedTime(indexFile.toPath(), lastModified);
+
+        assertMap(379, i -> {
+            i.setIndexFile(indexFile.toString());
+
+            Assert.assertEquals("Puerto Rico", i.get("pr"));
+        });
+        Assert.assertEquals(lastModified, Files.getLastModifiedTime(indexFile.toPath()));
+    }
+
+    @Test
+    public void shouldRecompileIndexFileWithOtherOptions() throws IOException {
+        final String indexFile = tempFolder.newFolder().toPath().resolve("map.idx").toString();
+
+        assertMap(379, i -> i.setIndexFile(indexFile));
+
+        assertMap(380, i -> {
+            i.setIndexFile(indexFile);
+            i.setAllowEmptyValues(true);
+
+            Assert.assertEquals("", i.get("zz"));
+        });
+    }
+
+    @Test
+    public void shouldNotLeaveTemporaryFilesWhenCompilingIndexFile() throws IOException {
+        final File folder = tempFolder.newFolder();
+
+        assertMap(379, i -> i.setIndexFile(new File(folder, "map.idx").toString()));
+        Assert.assertArrayEquals(new String[]{"map.idx"}, folder.list());
+    }
+
     private void assertMap(final int size, final Consumer<FileMap> consumer) {
         final FileMap fileMap = new FileMap();
         fileMap.setFile(MAPS + "file-map-test-columns.txt");
@@ -69,4 +69,32 @@ public void shouldLookupValuesInJavaBackedMap() {
         );
     }
 
+    @Test
+    public void shouldLookupValuesInCachedJavaBackedMap() {
+        TestHelpers.assertMorph(receiver,
+                "<rules>" +
+                "  <data source='1'>" +
+                "    <lookup in='map1' />" +
+                "  </data>" +
+                "</rules>" +
+                "<maps>" +
+                "  <javamap name='map1' class='org.metafacture.metamorph.maps.FileMap' files='org/metafacture/metamorph/maps/java-map-test.txt' cacheSize='1' cacheTtl='60' />" +
+                "</maps>",
+                i -> {
+                    i.startRecord("1");
+                    i.literal("1", "gw");
+                    i.literal("1", "fj");
+                    i.literal("1", "gw");
+                    i.endRecord();
+                },
+                o -> {
+                    o.get().startRecord("1");
+                    o.get().literal("1", "Germany");
+                    o.get().literal("1", "Fiji");
+                    o.get().literal("1", "Germany");
+                    o.get().endRecord();
+                }
+        );
+    }
+
 }